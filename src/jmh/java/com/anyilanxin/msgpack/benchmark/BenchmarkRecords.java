@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+
+import com.anyilanxin.msgpack.UnpackedObject;
+import com.anyilanxin.msgpack.property.ArrayProperty;
+import com.anyilanxin.msgpack.property.BinaryProperty;
+import com.anyilanxin.msgpack.property.BooleanProperty;
+import com.anyilanxin.msgpack.property.EnumProperty;
+import com.anyilanxin.msgpack.property.IntegerProperty;
+import com.anyilanxin.msgpack.property.LongProperty;
+import com.anyilanxin.msgpack.property.ObjectProperty;
+import com.anyilanxin.msgpack.property.StringProperty;
+import com.anyilanxin.msgpack.value.IntegerValue;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/** POJO-like record shapes shared by the benchmarks. */
+public final class BenchmarkRecords {
+  private static final DirectBuffer PAYLOAD = new UnsafeBuffer(new byte[256]);
+
+  private BenchmarkRecords() {}
+
+  /** Creates a populated record of the given shape and encodes it into a fresh buffer. */
+  public static DirectBuffer encode(final Shape shape) {
+    final UnpackedObject record = shape.create();
+    shape.populate(record);
+
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[record.getLength()]);
+    record.write(buffer, 0);
+    return buffer;
+  }
+
+  public enum Shape {
+    SMALL(SmallRecord::new),
+    MEDIUM(MediumRecord::new),
+    NESTED(NestedRecord::new);
+
+    private final Supplier<? extends UnpackedObject> factory;
+
+    Shape(final Supplier<? extends UnpackedObject> factory) {
+      this.factory = factory;
+    }
+
+    public UnpackedObject create() {
+      return factory.get();
+    }
+
+    void populate(final UnpackedObject record) {
+      switch (this) {
+        case SMALL -> ((SmallRecord) record).populate(1);
+        case MEDIUM -> ((MediumRecord) record).populate(1);
+        case NESTED -> ((NestedRecord) record).populate(4);
+      }
+    }
+  }
+
+  public enum State {
+    CREATED,
+    ACTIVATED,
+    COMPLETED
+  }
+
+  /** Three scalar properties, the typical shape of a small command. */
+  public static final class SmallRecord extends UnpackedObject {
+    private final LongProperty keyProp = new LongProperty("key");
+    private final IntegerProperty partitionProp = new IntegerProperty("partitionId");
+    private final StringProperty typeProp = new StringProperty("type");
+
+    public SmallRecord() {
+      super(3);
+      declareProperty(keyProp).declareProperty(partitionProp).declareProperty(typeProp);
+    }
+
+    void populate(final long key) {
+      keyProp.setValue(key);
+      partitionProp.setValue(3);
+      typeProp.setValue("service-task");
+    }
+  }
+
+  /** Twenty properties of mixed types including a binary payload and an integer array. */
+  public static final class MediumRecord extends UnpackedObject {
+    private final LongProperty keyProp = new LongProperty("key");
+    private final LongProperty scopeKeyProp = new LongProperty("scopeKey");
+    private final LongProperty processKeyProp = new LongProperty("processDefinitionKey");
+    private final LongProperty instanceKeyProp = new LongProperty("processInstanceKey");
+    private final LongProperty parentKeyProp = new LongProperty("parentElementInstanceKey", -1);
+    private final LongProperty timestampProp = new LongProperty("timestamp");
+    private final IntegerProperty versionProp = new IntegerProperty("version");
+    private final IntegerProperty retriesProp = new IntegerProperty("retries", 3);
+    private final IntegerProperty partitionProp = new IntegerProperty("partitionId");
+    private final StringProperty bpmnProcessIdProp = new StringProperty("bpmnProcessId");
+    private final StringProperty elementIdProp = new StringProperty("elementId");
+    private final StringProperty tenantIdProp = new StringProperty("tenantId", "<default>");
+    private final StringProperty workerProp = new StringProperty("worker", "");
+    private final StringProperty errorMessageProp = new StringProperty("errorMessage", "");
+    private final EnumProperty<State> stateProp = new EnumProperty<>("state", State.class);
+    private final BooleanProperty interruptingProp = new BooleanProperty("interrupting", false);
+    private final BooleanProperty cancelledProp = new BooleanProperty("cancelled", false);
+    private final BinaryProperty variablesProp = new BinaryProperty("variables");
+    private final ArrayProperty<IntegerValue> flowScopesProp =
+        new ArrayProperty<>("flowScopes", IntegerValue::new);
+    private final LongProperty deadlineProp = new LongProperty("deadline", -1);
+
+    public MediumRecord() {
+      super(20);
+      declareProperty(keyProp)
+          .declareProperty(scopeKeyProp)
+          .declareProperty(processKeyProp)
+          .declareProperty(instanceKeyProp)
+          .declareProperty(parentKeyProp)
+          .declareProperty(timestampProp)
+          .declareProperty(versionProp)
+          .declareProperty(retriesProp)
+          .declareProperty(partitionProp)
+          .declareProperty(bpmnProcessIdProp)
+          .declareProperty(elementIdProp)
+          .declareProperty(tenantIdProp)
+          .declareProperty(workerProp)
+          .declareProperty(errorMessageProp)
+          .declareProperty(stateProp)
+          .declareProperty(interruptingProp)
+          .declareProperty(cancelledProp)
+          .declareProperty(variablesProp)
+          .declareProperty(flowScopesProp)
+          .declareProperty(deadlineProp);
+    }
+
+    void populate(final long key) {
+      keyProp.setValue(key);
+      scopeKeyProp.setValue(key + 1);
+      processKeyProp.setValue(2251799813685249L);
+      instanceKeyProp.setValue(2251799813685251L);
+      timestampProp.setValue(1_700_000_000_000L);
+      versionProp.setValue(7);
+      partitionProp.setValue(1);
+      bpmnProcessIdProp.setValue("order-fulfillment-process");
+      elementIdProp.setValue("ship-parcel");
+      workerProp.setValue("worker-7f3a");
+      stateProp.setValue(State.ACTIVATED);
+      interruptingProp.setValue(true);
+      variablesProp.setValue(PAYLOAD);
+      for (int i = 0; i < 8; i++) {
+        flowScopesProp.add().setValue(i * 1000);
+      }
+    }
+  }
+
+  /** A chain of records where every level holds a payload and an array of child records. */
+  public static final class NestedRecord extends UnpackedObject {
+    private final LongProperty keyProp = new LongProperty("key");
+    private final StringProperty nameProp = new StringProperty("name");
+    private final ArrayProperty<SmallRecord> childrenProp =
+        new ArrayProperty<>("children", SmallRecord::new);
+    private final ObjectProperty<Level> levelProp = new ObjectProperty<>("level", new Level());
+
+    public NestedRecord() {
+      super(4);
+      declareProperty(keyProp)
+          .declareProperty(nameProp)
+          .declareProperty(childrenProp)
+          .declareProperty(levelProp);
+    }
+
+    void populate(final int depth) {
+      keyProp.setValue(depth);
+      nameProp.setValue(wrapString("root"));
+      for (int i = 0; i < 4; i++) {
+        childrenProp.add().populate(i);
+      }
+      levelProp.getValue().populate(depth);
+    }
+  }
+
+  /** One level of {@link NestedRecord}; levels are linked through an array of at most one. */
+  public static final class Level extends UnpackedObject {
+    private final IntegerProperty depthProp = new IntegerProperty("depth");
+    private final StringProperty labelProp = new StringProperty("label");
+    private final ArrayProperty<SmallRecord> itemsProp =
+        new ArrayProperty<>("items", SmallRecord::new);
+    private final ArrayProperty<Level> nextProp = new ArrayProperty<>("next", Level::new);
+
+    public Level() {
+      super(4);
+      declareProperty(depthProp)
+          .declareProperty(labelProp)
+          .declareProperty(itemsProp)
+          .declareProperty(nextProp);
+    }
+
+    void populate(final int depth) {
+      depthProp.setValue(depth);
+      labelProp.setValue("level-" + depth);
+      for (int i = 0; i < 2; i++) {
+        itemsProp.add().populate(depth * 10L + i);
+      }
+      if (depth > 1) {
+        nextProp.add().populate(depth - 1);
+      }
+    }
+  }
+}
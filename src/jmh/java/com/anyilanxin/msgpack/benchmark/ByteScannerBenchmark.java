@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import com.anyilanxin.msgpack.util.ByteScanner;
+import com.anyilanxin.msgpack.util.Utf8Util;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the vectorized scanning with the word-wise fallback by adding {@code -jvmArgsAppend
+ * -Dcom.anyilanxin.msgpack.disableVectorization=true}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ByteScannerBenchmark {
+
+  @Param({"16", "256", "4096"})
+  public int length;
+
+  private DirectBuffer ascii;
+  private DirectBuffer text;
+
+  @Setup
+  public void setUp() {
+    ascii = new UnsafeBuffer("a".repeat(length).getBytes(StandardCharsets.UTF_8));
+    // mostly ASCII with a multi-byte character every 64 characters, as in typical payloads
+    final StringBuilder builder = new StringBuilder();
+    while (builder.length() < length) {
+      builder.append(builder.length() % 64 == 63 ? 'ü' : 'a');
+    }
+    text = new UnsafeBuffer(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  public int indexOfJsonEscape() {
+    return ByteScanner.indexOfJsonEscape(ascii, 0, ascii.capacity());
+  }
+
+  @Benchmark
+  public boolean validateAscii() {
+    return Utf8Util.isValidUtf8(ascii, 0, ascii.capacity());
+  }
+
+  @Benchmark
+  public boolean validateText() {
+    return Utf8Util.isValidUtf8(text, 0, text.capacity());
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+
+import com.anyilanxin.msgpack.UnpackedObject;
+import com.anyilanxin.msgpack.codegen.MsgPackObject;
+import com.anyilanxin.msgpack.property.BooleanProperty;
+import com.anyilanxin.msgpack.property.IntegerProperty;
+import com.anyilanxin.msgpack.property.LongProperty;
+import com.anyilanxin.msgpack.property.StringProperty;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares a class generated for {@link MsgPackObject} with the same declared properties. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedObjectBenchmark {
+
+  private final DeclaredJob declared = new DeclaredJob();
+  private final UnpackedJob generated = new UnpackedJob();
+  private DirectBuffer encoded;
+  private UnsafeBuffer writeBuffer;
+
+  @Setup
+  public void setUp() {
+    generated
+        .setKey(2251799813685249L)
+        .setProcessInstanceKey(2251799813685251L)
+        .setDeadline(1_700_000_000_000L)
+        .setRetries(3)
+        .setPartitionId(1)
+        .setType(wrapString("ship-parcel"))
+        .setWorker(wrapString("worker-7f3a"))
+        .setBpmnProcessId(wrapString("order-fulfillment-process"))
+        .setElementId(wrapString("ship-parcel-task"))
+        .setTenantId(wrapString("<default>"))
+        .setInterrupting(true);
+    encoded = new UnsafeBuffer(new byte[generated.getLength()]);
+    generated.write((UnsafeBuffer) encoded, 0);
+    writeBuffer = new UnsafeBuffer(new byte[encoded.capacity() * 2]);
+
+    declared.wrap(encoded);
+    generated.wrap(encoded);
+  }
+
+  @Benchmark
+  public UnpackedObject readDeclared() {
+    declared.reset();
+    declared.wrap(encoded);
+    return declared;
+  }
+
+  @Benchmark
+  public UnpackedObject readGenerated() {
+    generated.wrap(encoded);
+    return generated;
+  }
+
+  /** changes a property, so that the object is encoded rather than copied from its source */
+  @Benchmark
+  public int updateAndWriteDeclared() {
+    declared.setRetries(declared.getRetries() ^ 1);
+    final int length = declared.getLength();
+    declared.write(writeBuffer, 0);
+    return length;
+  }
+
+  @Benchmark
+  public int updateAndWriteGenerated() {
+    generated.setRetries(generated.retries() ^ 1);
+    final int length = generated.getLength();
+    generated.write(writeBuffer, 0);
+    return length;
+  }
+
+  @MsgPackObject
+  public interface Job {
+    long key();
+
+    long processInstanceKey();
+
+    long deadline();
+
+    int retries();
+
+    int partitionId();
+
+    DirectBuffer type();
+
+    DirectBuffer worker();
+
+    DirectBuffer bpmnProcessId();
+
+    DirectBuffer elementId();
+
+    DirectBuffer tenantId();
+
+    boolean interrupting();
+  }
+
+  public static final class DeclaredJob extends UnpackedObject {
+    private final LongProperty keyProp = new LongProperty("key");
+    private final LongProperty instanceKeyProp = new LongProperty("processInstanceKey");
+    private final LongProperty deadlineProp = new LongProperty("deadline");
+    private final IntegerProperty retriesProp = new IntegerProperty("retries");
+    private final IntegerProperty partitionProp = new IntegerProperty("partitionId");
+    private final StringProperty typeProp = new StringProperty("type");
+    private final StringProperty workerProp = new StringProperty("worker");
+    private final StringProperty bpmnProcessIdProp = new StringProperty("bpmnProcessId");
+    private final StringProperty elementIdProp = new StringProperty("elementId");
+    private final StringProperty tenantIdProp = new StringProperty("tenantId");
+    private final BooleanProperty interruptingProp = new BooleanProperty("interrupting");
+
+    public DeclaredJob() {
+      super(11);
+      declareProperty(keyProp)
+          .declareProperty(instanceKeyProp)
+          .declareProperty(deadlineProp)
+          .declareProperty(retriesProp)
+          .declareProperty(partitionProp)
+          .declareProperty(typeProp)
+          .declareProperty(workerProp)
+          .declareProperty(bpmnProcessIdProp)
+          .declareProperty(elementIdProp)
+          .declareProperty(tenantIdProp)
+          .declareProperty(interruptingProp);
+    }
+
+    int getRetries() {
+      return retriesProp.getValue();
+    }
+
+    void setRetries(final int retries) {
+      retriesProp.setValue(retries);
+    }
+  }
+}
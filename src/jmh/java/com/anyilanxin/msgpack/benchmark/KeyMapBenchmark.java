@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.LongKeyMapValue;
+import com.anyilanxin.msgpack.value.LongValue;
+import com.anyilanxin.msgpack.value.MapValue;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Decodes a map of 1000 integer keys and looks up every key, boxed keys compared to primitive. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyMapBenchmark {
+  private static final int SIZE = 1000;
+  private static final long FIRST_KEY = 2251799813685249L;
+
+  private final MsgPackReader reader = new MsgPackReader();
+  private final MapValue<LongValue, LongValue> boxedMap =
+      new MapValue<>(LongValue::new, LongValue::new);
+  private final LongKeyMapValue<LongValue> map = new LongKeyMapValue<>(LongValue::new);
+  private final LongValue lookupKey = new LongValue();
+
+  private DirectBuffer encoded;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < SIZE; i++) {
+      map.put(FIRST_KEY + i).setValue(i);
+    }
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[map.getEncodedLength()]);
+    final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+    map.write(writer);
+    encoded = buffer;
+  }
+
+  @Benchmark
+  public long readAndGetBoxed() {
+    reader.wrap(encoded, 0, encoded.capacity());
+    boxedMap.read(reader);
+
+    long sum = 0;
+    for (int i = 0; i < SIZE; i++) {
+      lookupKey.setValue(FIRST_KEY + i);
+      sum += boxedMap.get(lookupKey).getValue();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long readAndGetPrimitive() {
+    reader.wrap(encoded, 0, encoded.capacity());
+    map.read(reader);
+
+    long sum = 0;
+    for (int i = 0; i < SIZE; i++) {
+      sum += map.get(FIRST_KEY + i).getValue();
+    }
+    return sum;
+  }
+}
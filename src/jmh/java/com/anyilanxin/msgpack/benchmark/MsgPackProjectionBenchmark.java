@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import com.anyilanxin.msgpack.UnpackedObject;
+import com.anyilanxin.msgpack.benchmark.BenchmarkRecords.Shape;
+import com.anyilanxin.msgpack.spec.MsgPackPath;
+import com.anyilanxin.msgpack.spec.MsgPackPathFinder;
+import com.anyilanxin.msgpack.spec.MsgPackProjection;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackTape;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Extracts a few fields of the medium record, compared to a full decode. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MsgPackProjectionBenchmark {
+  private static final String[] PATHS = {
+    "key", "processInstanceKey", "bpmnProcessId", "elementId", "tenantId", "timestamp"
+  };
+
+  private final MsgPackReader reader = new MsgPackReader();
+  private final MsgPackPathFinder finder = new MsgPackPathFinder();
+  private final MsgPackTape tape = new MsgPackTape();
+  private final MsgPackTape indexedTape = new MsgPackTape();
+
+  private DirectBuffer encoded;
+  private UnpackedObject record;
+  private MsgPackProjection projection;
+  private MsgPackProjection.Result result;
+  private MsgPackPath[] paths;
+
+  @Setup
+  public void setUp() {
+    encoded = BenchmarkRecords.encode(Shape.MEDIUM);
+    record = Shape.MEDIUM.create();
+    projection = MsgPackProjection.compile(PATHS);
+    result = projection.newResult();
+    paths = new MsgPackPath[PATHS.length];
+    for (int i = 0; i < PATHS.length; i++) {
+      paths[i] = MsgPackPath.compile(PATHS[i]);
+    }
+    indexedTape.wrap(encoded, 0, encoded.capacity());
+  }
+
+  @Benchmark
+  public int project() {
+    reader.wrap(encoded, 0, encoded.capacity());
+    return projection.project(reader, result);
+  }
+
+  @Benchmark
+  public int findEachPath() {
+    int found = 0;
+    for (final MsgPackPath path : paths) {
+      if (finder.find(path, encoded, 0, encoded.capacity())) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int indexAndFindEachPath() {
+    tape.wrap(encoded, 0, encoded.capacity());
+    return findEachPath(tape);
+  }
+
+  @Benchmark
+  public int findEachPathOnIndexedTape() {
+    return findEachPath(indexedTape);
+  }
+
+  @Benchmark
+  public UnpackedObject wrap() {
+    record.reset();
+    record.wrap(encoded, 0, encoded.capacity());
+    return record;
+  }
+
+  private int findEachPath(final MsgPackTape tape) {
+    int found = 0;
+    for (final MsgPackPath path : paths) {
+      if (tape.find(path) != MsgPackTape.NONE) {
+        found++;
+      }
+    }
+    return found;
+  }
+}
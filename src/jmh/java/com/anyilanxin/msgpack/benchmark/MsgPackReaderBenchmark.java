@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import com.anyilanxin.msgpack.benchmark.BenchmarkRecords.Shape;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackToken;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MsgPackReaderBenchmark {
+  static final int VALUE_COUNT = 1024;
+
+  private final MsgPackReader reader = new MsgPackReader();
+
+  private DirectBuffer integers;
+  private DirectBuffer strings;
+
+  @Setup
+  public void setUp() {
+    final SplittableRandom random = new SplittableRandom(42);
+    final MsgPackWriter writer = new MsgPackWriter();
+
+    final UnsafeBuffer integerBuffer = new UnsafeBuffer(new byte[VALUE_COUNT * 9]);
+    writer.wrap(integerBuffer, 0);
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      // mix every integer width from fixint to int64
+      writer.writeInteger(random.nextLong() >> random.nextInt(64));
+    }
+    integers = new UnsafeBuffer(integerBuffer, 0, writer.getOffset());
+
+    final UnsafeBuffer stringBuffer = new UnsafeBuffer(new byte[VALUE_COUNT * 64]);
+    final UnsafeBuffer text = new UnsafeBuffer(new byte[40]);
+    writer.wrap(stringBuffer, 0);
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      writer.writeString(text, 0, random.nextInt(text.capacity()));
+    }
+    strings = new UnsafeBuffer(stringBuffer, 0, writer.getOffset());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public long readInteger() {
+    reader.wrap(integers, 0, integers.capacity());
+    long sum = 0;
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      sum += reader.readInteger();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public long readStringLength() {
+    reader.wrap(strings, 0, strings.capacity());
+    long sum = 0;
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      final int length = reader.readStringLength();
+      reader.skipBytes(length);
+      sum += length;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public void readToken(final Document document, final Blackhole blackhole) {
+    final DirectBuffer buffer = document.buffer;
+    reader.wrap(buffer, 0, buffer.capacity());
+    while (reader.hasNext()) {
+      final MsgPackToken token = reader.readToken();
+      blackhole.consume(token.getType());
+    }
+  }
+
+  @Benchmark
+  public int skipValues(final Document document) {
+    final DirectBuffer buffer = document.buffer;
+    reader.wrap(buffer, 0, buffer.capacity());
+    reader.skipValue();
+    return reader.getOffset();
+  }
+
+  /** skips a large array with the bulk fast paths for runs of fixints or floats */
+  @Benchmark
+  public int skipScalarArray(final ScalarArray array) {
+    final DirectBuffer buffer = array.buffer;
+    reader.wrap(buffer, 0, buffer.capacity());
+    reader.skipValue();
+    return reader.getOffset();
+  }
+
+  /** skips the same array item by item, as skipValues did before the bulk fast paths */
+  @Benchmark
+  public int skipScalarArrayItemByItem(final ScalarArray array) {
+    final DirectBuffer buffer = array.buffer;
+    reader.wrap(buffer, 0, buffer.capacity());
+    final int size = reader.readArrayHeader();
+    for (int i = 0; i < size; i++) {
+      reader.skipValue();
+    }
+    return reader.getOffset();
+  }
+
+  @State(Scope.Thread)
+  public static class ScalarArray {
+    static final int SIZE = 100_000;
+
+    @Param({"FIXINT", "FLOAT64", "MIXED"})
+    public String items;
+
+    DirectBuffer buffer;
+
+    @Setup
+    public void setUp() {
+      final SplittableRandom random = new SplittableRandom(42);
+      final UnsafeBuffer arrayBuffer = new UnsafeBuffer(new byte[5 + SIZE * 9]);
+      final MsgPackWriter writer = new MsgPackWriter().wrap(arrayBuffer, 0);
+      writer.writeArrayHeader(SIZE);
+      for (int i = 0; i < SIZE; i++) {
+        switch (items) {
+          case "FIXINT" -> writer.writeInteger(random.nextInt(-32, 128));
+          case "FLOAT64" -> writer.writeFloat(random.nextDouble());
+          // telemetry-like: mostly small counters with an occasional larger value
+          default ->
+              writer.writeInteger(random.nextInt(16) == 0 ? random.nextInt() : random.nextInt(100));
+        }
+      }
+      buffer = new UnsafeBuffer(arrayBuffer, 0, writer.getOffset());
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Document {
+    @Param({"SMALL", "MEDIUM", "NESTED"})
+    public Shape shape;
+
+    DirectBuffer buffer;
+
+    @Setup
+    public void setUp() {
+      buffer = BenchmarkRecords.encode(shape);
+    }
+  }
+}
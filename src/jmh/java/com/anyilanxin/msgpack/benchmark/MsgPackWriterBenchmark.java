@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import static com.anyilanxin.msgpack.benchmark.MsgPackReaderBenchmark.VALUE_COUNT;
+
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MsgPackWriterBenchmark {
+  private final MsgPackWriter writer = new MsgPackWriter();
+  private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[VALUE_COUNT * 64]);
+  private final UnsafeBuffer text = new UnsafeBuffer(new byte[40]);
+
+  private final long[] integers = new long[VALUE_COUNT];
+  private final double[] floats = new double[VALUE_COUNT];
+  private final int[] stringLengths = new int[VALUE_COUNT];
+
+  @Setup
+  public void setUp() {
+    final SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      integers[i] = random.nextLong() >> random.nextInt(64);
+      // half of the values are representable as float32
+      floats[i] = (i & 1) == 0 ? (float) random.nextDouble() : random.nextDouble();
+      stringLengths[i] = random.nextInt(text.capacity());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public int writeInteger() {
+    writer.wrap(buffer, 0);
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      writer.writeInteger(integers[i]);
+    }
+    return writer.getOffset();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public int writeString() {
+    writer.wrap(buffer, 0);
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      writer.writeString(text, 0, stringLengths[i]);
+    }
+    return writer.getOffset();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public int writeFloat() {
+    writer.wrap(buffer, 0);
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      writer.writeFloat(floats[i]);
+    }
+    return writer.getOffset();
+  }
+}
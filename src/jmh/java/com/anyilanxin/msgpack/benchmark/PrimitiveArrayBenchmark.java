@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.ArrayValue;
+import com.anyilanxin.msgpack.value.LongArrayValue;
+import com.anyilanxin.msgpack.value.LongValue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Decodes, sums and re-encodes an array of 100k integers, boxed per item compared to primitive. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveArrayBenchmark {
+  private static final int SIZE = 100_000;
+
+  private final MsgPackReader reader = new MsgPackReader();
+  private final MsgPackWriter writer = new MsgPackWriter();
+  private final ArrayValue<LongValue> boxedArray = new ArrayValue<>(SIZE, LongValue::new);
+  private final LongArrayValue array = new LongArrayValue(SIZE);
+
+  private DirectBuffer encoded;
+  private UnsafeBuffer writeBuffer;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    for (int i = 0; i < SIZE; i++) {
+      array.add(random.nextInt(1 << 20));
+    }
+    writeBuffer = new UnsafeBuffer(new byte[SIZE * 9 + 5]);
+    writer.wrap(writeBuffer, 0);
+    array.write(writer);
+    encoded = new UnsafeBuffer(writeBuffer, 0, writer.getOffset());
+
+    reader.wrap(encoded, 0, encoded.capacity());
+    boxedArray.read(reader);
+  }
+
+  @Benchmark
+  public long readBoxed() {
+    reader.wrap(encoded, 0, encoded.capacity());
+    boxedArray.read(reader);
+
+    long sum = 0;
+    for (final LongValue item : boxedArray) {
+      sum += item.getValue();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long readPrimitive() {
+    reader.wrap(encoded, 0, encoded.capacity());
+    array.read(reader);
+
+    long sum = 0;
+    for (int i = 0; i < array.size(); i++) {
+      sum += array.getLong(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int writeBoxed() {
+    boxedArray.get(0).setValue(1);
+    writer.wrap(writeBuffer, 0);
+    boxedArray.write(writer);
+    return writer.getOffset();
+  }
+
+  @Benchmark
+  public int writePrimitive() {
+    array.setLong(0, 1);
+    writer.wrap(writeBuffer, 0);
+    array.write(writer);
+    return writer.getOffset();
+  }
+}
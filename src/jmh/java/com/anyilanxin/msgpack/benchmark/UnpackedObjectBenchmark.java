@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.benchmark;
+
+import com.anyilanxin.msgpack.UnpackedObject;
+import com.anyilanxin.msgpack.benchmark.BenchmarkRecords.Shape;
+import com.anyilanxin.msgpack.buffer.BufferArena;
+import com.anyilanxin.msgpack.util.BufferUtil;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnpackedObjectBenchmark {
+
+  @Param({"SMALL", "MEDIUM", "NESTED"})
+  public Shape shape;
+
+  private DirectBuffer encoded;
+  private UnpackedObject record;
+  private UnpackedObject lazyRecord;
+  private UnsafeBuffer writeBuffer;
+  private ExpandableArrayBuffer expandableBuffer;
+  private final BufferArena arena = new BufferArena();
+
+  @Setup
+  public void setUp() {
+    encoded = BenchmarkRecords.encode(shape);
+    record = shape.create();
+    record.wrap(encoded, 0, encoded.capacity());
+    lazyRecord = shape.create();
+    lazyRecord.setLazyDecoding(true);
+    writeBuffer = new UnsafeBuffer(new byte[encoded.capacity() * 2]);
+    expandableBuffer = new ExpandableArrayBuffer();
+  }
+
+  @Benchmark
+  public UnpackedObject wrap() {
+    record.reset();
+    record.wrap(encoded, 0, encoded.capacity());
+    return record;
+  }
+
+  /** decodes a copy, as done for records that outlive the buffer they were received in */
+  @Benchmark
+  public UnpackedObject wrapCopy() {
+    record.reset();
+    final DirectBuffer copy = BufferUtil.cloneBuffer(encoded);
+    record.wrap(copy, 0, copy.capacity());
+    return record;
+  }
+
+  @Benchmark
+  public UnpackedObject wrapCopyIntoArena() {
+    arena.reset();
+    record.reset();
+    record.wrap(encoded, 0, encoded.capacity(), arena);
+    return record;
+  }
+
+  @Benchmark
+  public UnpackedObject wrapLazy() {
+    lazyRecord.reset();
+    lazyRecord.wrap(encoded, 0, encoded.capacity());
+    return lazyRecord;
+  }
+
+  @Benchmark
+  public int roundTripLazy() {
+    lazyRecord.reset();
+    lazyRecord.wrap(encoded, 0, encoded.capacity());
+    return lazyRecord.writeTo(expandableBuffer, 0);
+  }
+
+  @Benchmark
+  public int write() {
+    final int length = record.getLength();
+    record.write(writeBuffer, 0);
+    return length;
+  }
+
+  @Benchmark
+  public int writeSinglePass() {
+    return record.writeTo(expandableBuffer, 0);
+  }
+
+  @Benchmark
+  public int roundTrip() {
+    record.reset();
+    record.wrap(encoded, 0, encoded.capacity());
+    final int length = record.getLength();
+    record.write(writeBuffer, 0);
+    return length;
+  }
+}
@@ -16,19 +16,28 @@
  */
 package com.anyilanxin.msgpack;
 
+import com.anyilanxin.msgpack.buffer.BufferArena;
 import com.anyilanxin.msgpack.buffer.BufferReader;
 import com.anyilanxin.msgpack.buffer.BufferWriter;
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import com.anyilanxin.msgpack.value.ObjectValue;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public class UnpackedObject extends ObjectValue implements Recyclable, BufferReader, BufferWriter {
 
   protected final MsgPackReader reader = new MsgPackReader();
   protected final MsgPackWriter writer = new MsgPackWriter();
 
+  /** created on first use, most objects are never written as JSON */
+  private JsonWriter jsonWriter;
+
+  /** the copy of the encoded object, if it was wrapped by an arena */
+  private final UnsafeBuffer arenaSlot = new UnsafeBuffer(0, 0);
+
   public UnpackedObject(final int initialCapacity) {
     super(initialCapacity);
   }
@@ -37,6 +46,12 @@ public class UnpackedObject extends ObjectValue implements Recyclable, BufferRea
     wrap(buff, 0, buff.capacity());
   }
 
+  /**
+   * Decodes the object from the buffer. As long as the object is not changed, it is written by
+   * copying the decoded bytes, and strings, binaries and undeclared properties refer to them. The
+   * bytes must therefore stay unchanged until the object is reset or changed, even if it only has
+   * scalar properties; to reuse the buffer right away, wrap it with a {@link BufferArena}.
+   */
   @Override
   public void wrap(final DirectBuffer buff, final int offset, final int length) {
     reader.wrap(buff, offset, length);
@@ -52,6 +67,16 @@ public class UnpackedObject extends ObjectValue implements Recyclable, BufferRea
     }
   }
 
+  /**
+   * Copies the encoded object into the arena and decodes the copy. The decoded strings, binaries
+   * and undeclared properties then refer to the arena rather than to the given buffer, which can be
+   * reused right away. The object is valid until the arena is reset.
+   */
+  public void wrap(
+      final DirectBuffer buff, final int offset, final int length, final BufferArena arena) {
+    wrap(arena.copy(buff, offset, length, arenaSlot), 0, length);
+  }
+
   @Override
   public int getLength() {
     return getEncodedLength();
@@ -62,4 +87,35 @@ public class UnpackedObject extends ObjectValue implements Recyclable, BufferRea
     writer.wrap(buffer, offset);
     write(writer);
   }
+
+  /**
+   * Writes this object in a single pass, without computing {@link #getLength()} upfront. Pass an
+   * expandable buffer (e.g. {@link org.agrona.ExpandableArrayBuffer}) to let it grow as needed.
+   *
+   * @param buffer the buffer to write to
+   * @param offset the offset in the buffer to begin writing at
+   * @return the number of bytes written
+   */
+  public int writeTo(final MutableDirectBuffer buffer, final int offset) {
+    writer.wrap(buffer, offset);
+    write(writer);
+    return writer.getWrittenLength();
+  }
+
+  /**
+   * Writes this object as UTF-8 encoded JSON, without creating strings for its values. Pass an
+   * expandable buffer (e.g. {@link org.agrona.ExpandableArrayBuffer}) to let it grow as needed.
+   *
+   * @param buffer the buffer to write to
+   * @param offset the offset in the buffer to begin writing at
+   * @return the number of bytes written
+   */
+  public int writeJSONTo(final MutableDirectBuffer buffer, final int offset) {
+    if (jsonWriter == null) {
+      jsonWriter = new JsonWriter();
+    }
+    jsonWriter.wrap(buffer, offset);
+    writeJSON(jsonWriter);
+    return jsonWriter.getWrittenLength();
+  }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+
+/**
+ * A pool of objects of an {@link UnpackedObject} subclass, so that threads decoding messages reuse
+ * objects rather than creating them per message. Objects are reset when they are released.
+ *
+ * <p>Each platform thread keeps a few released objects of its own, which it acquires again without
+ * any synchronization. Objects that don't fit there go to a shared pool, which is split into
+ * lock-free stripes to spread the contention of many threads. Virtual threads are short-lived and
+ * numerous, so they only use the shared pool; since it takes no locks, they are never pinned to
+ * their carrier thread.
+ *
+ * <p>An object must be released at most once per acquisition, and must not be used after it was
+ * released. The pool is thread-safe.
+ */
+public final class UnpackedObjectPool<T extends UnpackedObject> {
+  public static final int DEFAULT_LOCAL_CAPACITY = 8;
+  public static final int DEFAULT_SHARED_CAPACITY = 1024;
+
+  private final Supplier<T> factory;
+  private final int localCapacity;
+  private final ThreadLocal<ArrayDeque<T>> localObjects;
+  private final ManyToManyConcurrentArrayQueue<T>[] stripes;
+  private final int stripeMask;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder drops = new LongAdder();
+
+  public UnpackedObjectPool(final Supplier<T> factory) {
+    this(
+        factory,
+        DEFAULT_LOCAL_CAPACITY,
+        DEFAULT_SHARED_CAPACITY,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param factory creates objects if the pool is empty
+   * @param localCapacity the number of objects each platform thread keeps, 0 to disable
+   * @param sharedCapacity the number of objects of the shared pool, split across the stripes
+   * @param stripeCount the number of stripes of the shared pool, rounded up to a power of two
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public UnpackedObjectPool(
+      final Supplier<T> factory,
+      final int localCapacity,
+      final int sharedCapacity,
+      final int stripeCount) {
+    if (localCapacity < 0) {
+      throw new IllegalArgumentException("Illegal local capacity: " + localCapacity);
+    }
+    if (stripeCount <= 0) {
+      throw new IllegalArgumentException("Illegal stripe count: " + stripeCount);
+    }
+    if (sharedCapacity < stripeCount) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected a shared capacity of at least %d for %d stripes, but was %d",
+              stripeCount, stripeCount, sharedCapacity));
+    }
+
+    this.factory = Objects.requireNonNull(factory);
+    this.localCapacity = localCapacity;
+    localObjects = ThreadLocal.withInitial(() -> new ArrayDeque<>(localCapacity));
+
+    final int stripes = BitUtil.findNextPositivePowerOfTwo(stripeCount);
+    this.stripes = new ManyToManyConcurrentArrayQueue[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new ManyToManyConcurrentArrayQueue<>(Math.max(2, sharedCapacity / stripes));
+    }
+    stripeMask = stripes - 1;
+  }
+
+  /**
+   * @return a reset object of the pool, or a new one if the pool is empty
+   */
+  public T acquire() {
+    final Thread thread = Thread.currentThread();
+    if (localCapacity > 0 && !thread.isVirtual()) {
+      final T object = localObjects.get().pollLast();
+      if (object != null) {
+        hits.increment();
+        return object;
+      }
+    }
+
+    final int stripe = stripeOf(thread);
+    for (int i = 0; i < stripes.length; i++) {
+      final T object = stripes[(stripe + i) & stripeMask].poll();
+      if (object != null) {
+        hits.increment();
+        return object;
+      }
+    }
+
+    misses.increment();
+    return factory.get();
+  }
+
+  /**
+   * Resets the object and returns it to the pool. It is dropped if the pool is full.
+   *
+   * @param object an object acquired from this pool
+   */
+  public void release(final T object) {
+    object.reset();
+
+    final Thread thread = Thread.currentThread();
+    if (localCapacity > 0 && !thread.isVirtual()) {
+      final ArrayDeque<T> objects = localObjects.get();
+      if (objects.size() < localCapacity) {
+        objects.addLast(object);
+        return;
+      }
+    }
+
+    final int stripe = stripeOf(thread);
+    for (int i = 0; i < stripes.length; i++) {
+      if (stripes[(stripe + i) & stripeMask].offer(object)) {
+        return;
+      }
+    }
+
+    drops.increment();
+  }
+
+  /**
+   * @return the number of acquisitions served from the pool
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of acquisitions that created a new object
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of released objects that were dropped because the pool was full
+   */
+  public long getDropCount() {
+    return drops.sum();
+  }
+
+  /**
+   * @return the share of acquisitions served from the pool, or 0 if nothing was acquired yet
+   */
+  public double getHitRate() {
+    final long hitCount = hits.sum();
+    final long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  private int stripeOf(final Thread thread) {
+    // spreads consecutive thread ids, e.g. of the threads of one executor
+    return (int) (thread.threadId() * 0x9E3779B97F4A7C15L >>> 32) & stripeMask;
+  }
+}
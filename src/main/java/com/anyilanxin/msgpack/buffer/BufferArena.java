@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.buffer;
+
+import com.anyilanxin.msgpack.Recyclable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A region allocator that hands out slots of a few large chunks of memory, on or off the heap.
+ * Slots are not freed one by one, but all at once by {@link #reset()}, after which the chunks are
+ * reused. Copying decoded objects into an arena rather than into buffers of their own keeps the
+ * number of objects the garbage collector sees constant, however many objects are decoded.
+ *
+ * <p>Slots start at offsets of their chunk that are multiples of 8. An arena is not thread-safe.
+ */
+public final class BufferArena implements Recyclable {
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private static final int ALIGNMENT = 8;
+
+  private final List<UnsafeBuffer> chunks = new ArrayList<>();
+  private final int chunkSize;
+  private final boolean direct;
+
+  /** the chunk slots are currently carved from, or -1 if none is in use */
+  private int chunkIndex = -1;
+
+  private int chunkOffset;
+  private long allocatedBytes;
+
+  /** creates an arena of heap memory with chunks of {@link #DEFAULT_CHUNK_SIZE} */
+  public BufferArena() {
+    this(DEFAULT_CHUNK_SIZE, false);
+  }
+
+  /**
+   * @param chunkSize the size of the chunks; a slot larger than a chunk gets a chunk of its own
+   * @param direct true to allocate the chunks off the heap, as direct byte buffers
+   */
+  public BufferArena(final int chunkSize, final boolean direct) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    this.direct = direct;
+  }
+
+  /**
+   * Wraps the view around a new slot of the given length. The slot is valid until the arena is
+   * reset; its contents are undefined.
+   *
+   * @return the view
+   */
+  public UnsafeBuffer allocate(final int length, final UnsafeBuffer view) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Illegal slot length: " + length);
+    }
+
+    if (length == 0) {
+      view.wrap(0, 0);
+      return view;
+    }
+
+    if (chunkIndex < 0 || chunkOffset + length > chunks.get(chunkIndex).capacity()) {
+      nextChunk(length);
+    }
+
+    view.wrap(chunks.get(chunkIndex), chunkOffset, length);
+    chunkOffset = align(chunkOffset + length);
+    allocatedBytes += length;
+    return view;
+  }
+
+  /**
+   * Copies the bytes into a new slot and wraps the view around it.
+   *
+   * @return the view
+   */
+  public UnsafeBuffer copy(
+      final DirectBuffer source, final int offset, final int length, final UnsafeBuffer view) {
+    allocate(length, view);
+    view.putBytes(0, source, offset, length);
+    return view;
+  }
+
+  /** Frees all slots at once. Views of the slots must not be used anymore. */
+  @Override
+  public void reset() {
+    chunkIndex = -1;
+    chunkOffset = 0;
+    allocatedBytes = 0;
+  }
+
+  /**
+   * @return the sum of the lengths of the slots allocated since the last reset
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * @return the memory held by the arena, whether it is in use or not
+   */
+  public long getCapacity() {
+    long capacity = 0;
+    for (final UnsafeBuffer chunk : chunks) {
+      capacity += chunk.capacity();
+    }
+    return capacity;
+  }
+
+  private void nextChunk(final int length) {
+    // chunks too small for the slot are skipped, they are used again after the next reset
+    do {
+      chunkIndex++;
+    } while (chunkIndex < chunks.size() && chunks.get(chunkIndex).capacity() < length);
+
+    if (chunkIndex == chunks.size()) {
+      chunks.add(newChunk(Math.max(chunkSize, length)));
+    }
+    chunkOffset = 0;
+  }
+
+  private UnsafeBuffer newChunk(final int capacity) {
+    return direct
+        ? new UnsafeBuffer(ByteBuffer.allocateDirect(capacity))
+        : new UnsafeBuffer(new byte[capacity]);
+  }
+
+  private static int align(final int offset) {
+    return (offset + ALIGNMENT - 1) & -ALIGNMENT;
+  }
+}
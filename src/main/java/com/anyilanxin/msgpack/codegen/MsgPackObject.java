@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an {@link com.anyilanxin.msgpack.UnpackedObject} subclass for an interface or record,
+ * see {@code MsgPackObjectProcessor}. The processor is shipped separately, in the jar with the
+ * {@code processor} classifier, and has to be put on the annotation processor path. Each accessor
+ * of the interface, i.e. each abstract method without parameters, or each component of the record
+ * is a property, keyed by its name.
+ *
+ * <p>Supported property types are {@code long}, {@code int}, {@code boolean}, {@code double} and
+ * {@link org.agrona.DirectBuffer} for strings.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface MsgPackObject {
+  /**
+   * @return the simple name of the generated class, by default the name of the annotated type
+   *     prefixed with {@code Unpacked}
+   */
+  String name() default "";
+}
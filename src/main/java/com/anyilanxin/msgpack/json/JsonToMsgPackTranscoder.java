@@ -0,0 +1,486 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.json;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Transcodes a UTF-8 encoded JSON value into MessagePack. The JSON is tokenized in a single pass
+ * and written with {@link MsgPackWriter}, without building an intermediate object tree.
+ *
+ * <p>The sizes of objects and arrays are not known when they start, so a 32-bit header is reserved
+ * for each of them and patched once the container ends. The header is then compacted to the
+ * shortest encoding, so the output equals the canonical encoding of the value.
+ *
+ * <p>Strings without escape sequences are copied as they are. Integers that fit into a long are
+ * written as integers, all other numbers as floats. A transcoder is reusable, but not thread-safe.
+ */
+public final class JsonToMsgPackTranscoder {
+  private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+  /** integers with more digits may not fit into a long */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  /** powers of ten which are exactly representable as double */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  private final MsgPackWriter writer = new MsgPackWriter();
+
+  /** holds the UTF-8 bytes of a decoded escape sequence */
+  private final UnsafeBuffer escapeBuffer = new UnsafeBuffer(new byte[4]);
+
+  private int escapeLength;
+
+  private DirectBuffer json;
+  private int offset;
+  private int limit;
+
+  /** per open container: the offset of its reserved header and its number of entries so far */
+  private int[] headerOffsets = new int[16];
+
+  private int[] sizes = new int[16];
+  private boolean[] isMap = new boolean[16];
+  private int depth;
+
+  /**
+   * Transcodes the JSON value at the given offset into the MessagePack buffer. An expandable buffer
+   * grows as needed. Any other buffer needs room for 4 more bytes per open container than the
+   * result takes, as long as the headers are not compacted yet.
+   *
+   * @return the number of MessagePack bytes written
+   * @throws MsgpackReaderException if the JSON is malformed
+   */
+  public int transcode(
+      final DirectBuffer json,
+      final int offset,
+      final int length,
+      final MutableDirectBuffer msgPack,
+      final int msgPackOffset) {
+    this.json = json;
+    this.offset = offset;
+    limit = offset + length;
+    depth = 0;
+    writer.wrap(msgPack, msgPackOffset);
+
+    try {
+      transcode();
+
+      skipWhitespace();
+      if (this.offset < limit) {
+        throw malformed("unexpected content after the value");
+      }
+    } finally {
+      this.json = null;
+    }
+
+    return writer.getWrittenLength();
+  }
+
+  private void transcode() {
+    do {
+      skipWhitespace();
+
+      if (depth > 0) {
+        final int container = depth - 1;
+        final byte end = isMap[container] ? (byte) '}' : (byte) ']';
+        final byte next = peek();
+        if (next == end) {
+          ++offset;
+          closeContainer();
+          continue;
+        }
+
+        if (sizes[container] > 0) {
+          expect(',');
+          skipWhitespace();
+        }
+        sizes[container]++;
+
+        if (isMap[container]) {
+          if (peek() != '"') {
+            throw malformed("expected a string key");
+          }
+          transcodeString();
+          skipWhitespace();
+          expect(':');
+          skipWhitespace();
+        }
+      }
+
+      transcodeValue();
+    } while (depth > 0);
+  }
+
+  private void transcodeValue() {
+    final byte next = peek();
+    switch (next) {
+      case '{' -> openContainer(true);
+      case '[' -> openContainer(false);
+      case '"' -> transcodeString();
+      case 't' -> {
+        expectLiteral(TRUE);
+        writer.writeBoolean(true);
+      }
+      case 'f' -> {
+        expectLiteral(FALSE);
+        writer.writeBoolean(false);
+      }
+      case 'n' -> {
+        expectLiteral(NULL);
+        writer.writeNil();
+      }
+      default -> {
+        if (next != '-' && !isDigit(next)) {
+          throw malformed("unexpected character '" + (char) (next & 0xff) + "'");
+        }
+        transcodeNumber();
+      }
+    }
+  }
+
+  private void openContainer(final boolean map) {
+    if (depth == sizes.length) {
+      headerOffsets = Arrays.copyOf(headerOffsets, depth * 2);
+      sizes = Arrays.copyOf(sizes, depth * 2);
+      isMap = Arrays.copyOf(isMap, depth * 2);
+    }
+    ++offset;
+
+    headerOffsets[depth] = writer.getOffset();
+    sizes[depth] = 0;
+    isMap[depth] = map;
+    depth++;
+
+    if (map) {
+      writer.reserveMapHeader();
+    } else {
+      writer.reserveArrayHeader();
+    }
+  }
+
+  private void closeContainer() {
+    depth--;
+    final int headerOffset = headerOffsets[depth];
+    if (isMap[depth]) {
+      writer.writeReservedMapHeader(headerOffset, sizes[depth]);
+    } else {
+      writer.writeReservedArrayHeader(headerOffset, sizes[depth]);
+    }
+    writer.compactReservedHeader(headerOffset);
+  }
+
+  private void transcodeString() {
+    final int start = ++offset;
+    int decodedLength = 0;
+    boolean escaped = false;
+
+    // first pass: find the end of the string and the length of its UTF-8 bytes once unescaped
+    while (true) {
+      final byte b = peek();
+      if (b == '"') {
+        break;
+      } else if (b == '\\') {
+        offset = decodeEscape(offset);
+        decodedLength += escapeLength;
+        escaped = true;
+      } else if ((b & 0xff) < 0x20) {
+        throw malformed("unescaped control character in string");
+      } else {
+        ++offset;
+        ++decodedLength;
+      }
+    }
+    final int end = offset++;
+
+    if (!escaped) {
+      writer.writeString(json, start, end - start);
+      return;
+    }
+
+    // second pass: write the runs between the escape sequences and the decoded escape sequences
+    writer.writeStringHeader(decodedLength);
+    int runStart = start;
+    int position = start;
+    while (position < end) {
+      if (json.getByte(position) == '\\') {
+        writer.writeRaw(json, runStart, position - runStart);
+        position = decodeEscape(position);
+        writer.writeRaw(escapeBuffer, 0, escapeLength);
+        runStart = position;
+      } else {
+        ++position;
+      }
+    }
+    writer.writeRaw(json, runStart, end - runStart);
+  }
+
+  /**
+   * Decodes the escape sequence starting with the backslash at the given offset into the escape
+   * buffer and sets the escape length.
+   *
+   * @return the offset after the escape sequence
+   */
+  private int decodeEscape(final int escapeOffset) {
+    if (escapeOffset + 1 >= limit) {
+      throw malformed("unterminated string");
+    }
+
+    final byte escape = json.getByte(escapeOffset + 1);
+    final byte decoded;
+    switch (escape) {
+      case '"', '\\', '/' -> decoded = escape;
+      case 'b' -> decoded = '\b';
+      case 'f' -> decoded = '\f';
+      case 'n' -> decoded = '\n';
+      case 'r' -> decoded = '\r';
+      case 't' -> decoded = '\t';
+      case 'u' -> {
+        return decodeUnicodeEscape(escapeOffset);
+      }
+      default -> throw malformed("invalid escape sequence '\\" + (char) (escape & 0xff) + "'");
+    }
+
+    escapeBuffer.putByte(0, decoded);
+    escapeLength = 1;
+    return escapeOffset + 2;
+  }
+
+  private int decodeUnicodeEscape(final int escapeOffset) {
+    int codePoint = parseHex(escapeOffset + 2);
+    int next = escapeOffset + 6;
+
+    if (Character.isHighSurrogate((char) codePoint)
+        && next + 1 < limit
+        && json.getByte(next) == '\\'
+        && json.getByte(next + 1) == 'u') {
+      final int low = parseHex(next + 2);
+      if (Character.isLowSurrogate((char) low)) {
+        codePoint = Character.toCodePoint((char) codePoint, (char) low);
+        next += 6;
+      }
+    }
+
+    if (codePoint <= Character.MAX_VALUE && Character.isSurrogate((char) codePoint)) {
+      // an unpaired surrogate has no UTF-8 encoding, it is replaced like String#getBytes does
+      codePoint = '?';
+    }
+
+    if (codePoint < 0x80) {
+      escapeBuffer.putByte(0, (byte) codePoint);
+      escapeLength = 1;
+    } else if (codePoint < 0x800) {
+      escapeBuffer.putByte(0, (byte) (0xc0 | (codePoint >> 6)));
+      escapeBuffer.putByte(1, (byte) (0x80 | (codePoint & 0x3f)));
+      escapeLength = 2;
+    } else if (codePoint < 0x10000) {
+      escapeBuffer.putByte(0, (byte) (0xe0 | (codePoint >> 12)));
+      escapeBuffer.putByte(1, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+      escapeBuffer.putByte(2, (byte) (0x80 | (codePoint & 0x3f)));
+      escapeLength = 3;
+    } else {
+      escapeBuffer.putByte(0, (byte) (0xf0 | (codePoint >> 18)));
+      escapeBuffer.putByte(1, (byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+      escapeBuffer.putByte(2, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+      escapeBuffer.putByte(3, (byte) (0x80 | (codePoint & 0x3f)));
+      escapeLength = 4;
+    }
+    return next;
+  }
+
+  private int parseHex(final int hexOffset) {
+    if (hexOffset + 4 > limit) {
+      throw malformed("unterminated unicode escape sequence");
+    }
+
+    int value = 0;
+    for (int i = hexOffset; i < hexOffset + 4; i++) {
+      final int digit = Character.digit(json.getByte(i), 16);
+      if (digit < 0) {
+        throw malformed("invalid unicode escape sequence");
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+  private void transcodeNumber() {
+    final int start = offset;
+    final boolean negative = json.getByte(offset) == '-';
+    if (negative) {
+      ++offset;
+    }
+
+    // the significant digits of the integer and fraction part, as long as they fit into a long
+    long mantissa = 0;
+    int mantissaDigits = 0;
+    int droppedDigits = 0;
+    int fractionDigits = 0;
+
+    if (offset >= limit || !isDigit(json.getByte(offset))) {
+      throw malformed("expected a digit");
+    }
+    if (json.getByte(offset) == '0') {
+      ++offset;
+    } else {
+      while (offset < limit && isDigit(json.getByte(offset))) {
+        if (mantissaDigits < MAX_LONG_DIGITS) {
+          mantissa = mantissa * 10 + (json.getByte(offset) - '0');
+          mantissaDigits++;
+        } else {
+          droppedDigits++;
+        }
+        ++offset;
+      }
+    }
+    final boolean isInteger =
+        offset >= limit || (json.getByte(offset) != '.' && (json.getByte(offset) | 0x20) != 'e');
+
+    if (isInteger) {
+      if (droppedDigits == 0) {
+        writer.writeInteger(negative ? -mantissa : mantissa);
+      } else {
+        writeNumberSlowly(start, true);
+      }
+      return;
+    }
+
+    if (json.getByte(offset) == '.') {
+      ++offset;
+      if (offset >= limit || !isDigit(json.getByte(offset))) {
+        throw malformed("expected a digit after the decimal point");
+      }
+      while (offset < limit && isDigit(json.getByte(offset))) {
+        if (mantissaDigits < MAX_LONG_DIGITS) {
+          mantissa = mantissa * 10 + (json.getByte(offset) - '0');
+          fractionDigits++;
+          if (mantissa > 0) {
+            mantissaDigits++;
+          }
+        } else {
+          droppedDigits++;
+        }
+        ++offset;
+      }
+    }
+
+    int exponent = 0;
+    if (offset < limit && (json.getByte(offset) | 0x20) == 'e') {
+      ++offset;
+      boolean negativeExponent = false;
+      if (offset < limit && (json.getByte(offset) == '+' || json.getByte(offset) == '-')) {
+        negativeExponent = json.getByte(offset) == '-';
+        ++offset;
+      }
+      if (offset >= limit || !isDigit(json.getByte(offset))) {
+        throw malformed("expected a digit in the exponent");
+      }
+      while (offset < limit && isDigit(json.getByte(offset))) {
+        if (exponent < 100_000) {
+          exponent = exponent * 10 + (json.getByte(offset) - '0');
+        }
+        ++offset;
+      }
+      if (negativeExponent) {
+        exponent = -exponent;
+      }
+    }
+
+    // exact if mantissa and power of ten are both exactly representable, see Clinger's fast path
+    final int powerOfTen = exponent - fractionDigits;
+    if (droppedDigits == 0
+        && mantissa <= MAX_EXACT_MANTISSA
+        && Math.abs(powerOfTen) < POWERS_OF_TEN.length) {
+      double value = mantissa;
+      if (powerOfTen < 0) {
+        value /= POWERS_OF_TEN[-powerOfTen];
+      } else {
+        value *= POWERS_OF_TEN[powerOfTen];
+      }
+      writer.writeFloat(negative ? -value : value);
+    } else {
+      writeNumberSlowly(start, false);
+    }
+  }
+
+  /** handles the rare numbers which don't fit the fast paths, at the cost of a string */
+  private void writeNumberSlowly(final int start, final boolean isInteger) {
+    final String number = json.getStringWithoutLengthAscii(start, offset - start);
+    if (isInteger) {
+      try {
+        writer.writeInteger(Long.parseLong(number));
+        return;
+      } catch (final NumberFormatException e) {
+        // does not fit into a long, written as float like any other number
+      }
+    }
+    writer.writeFloat(Double.parseDouble(number));
+  }
+
+  private void expectLiteral(final byte[] literal) {
+    if (offset + literal.length > limit) {
+      throw malformed("unexpected end of input");
+    }
+    for (int i = 0; i < literal.length; i++) {
+      if (json.getByte(offset + i) != literal[i]) {
+        throw malformed("expected '" + new String(literal, StandardCharsets.US_ASCII) + "'");
+      }
+    }
+    offset += literal.length;
+  }
+
+  private void expect(final char expected) {
+    if (peek() != expected) {
+      throw malformed("expected '" + expected + "'");
+    }
+    ++offset;
+  }
+
+  private byte peek() {
+    if (offset >= limit) {
+      throw malformed("unexpected end of input");
+    }
+    return json.getByte(offset);
+  }
+
+  private void skipWhitespace() {
+    while (offset < limit) {
+      final byte b = json.getByte(offset);
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+        return;
+      }
+      ++offset;
+    }
+  }
+
+  private MsgpackReaderException malformed(final String reason) {
+    return new MsgpackReaderException(
+        String.format("Malformed JSON at offset %d: %s", offset, reason));
+  }
+
+  private static boolean isDigit(final byte b) {
+    return b >= '0' && b <= '9';
+  }
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.json;
+
+import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import com.anyilanxin.msgpack.util.ByteScanner;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Writes UTF-8 encoded JSON into a buffer or stream, inserting the separators between keys and
+ * values itself. Strings are passed as UTF-8 bytes and escaped on the bytes, so nothing is decoded
+ * into Java strings.
+ *
+ * <p>Like {@link com.anyilanxin.msgpack.spec.MsgPackWriter}, an expandable buffer grows on demand,
+ * while any other buffer fails with a {@link MsgpackWriterException} when it is full. When writing
+ * to an {@link OutputStream}, the JSON is collected in a fixed-size chunk which is written whenever
+ * it is full; call {@link #flush()} after the last value.
+ */
+public final class JsonWriter {
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+  /** a chunk has to hold at least the longest number and escape sequence */
+  private static final int MIN_CHUNK_SIZE = 32;
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] BASE64 =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+          .getBytes(StandardCharsets.US_ASCII);
+
+  /** byte -> the character to escape it with after a backslash, 'u' for \\u00XX, 0 if none */
+  private static final byte[] ESCAPES = new byte[256];
+
+  static {
+    for (int b = 0; b < 0x20; b++) {
+      ESCAPES[b] = 'u';
+    }
+    ESCAPES['\b'] = 'b';
+    ESCAPES['\t'] = 't';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\f'] = 'f';
+    ESCAPES['\r'] = 'r';
+    ESCAPES['"'] = '"';
+    ESCAPES['\\'] = '\\';
+  }
+
+  private MutableDirectBuffer buffer;
+  private boolean expandable;
+  private int startOffset;
+  private int offset;
+
+  private OutputStream outputStream;
+  private final UnsafeBuffer chunkBuffer = new UnsafeBuffer(0, 0);
+  private long flushedLength;
+
+  /** whether the next value or key is preceded by a comma */
+  private boolean needsComma;
+
+  /** whether a key was written and its value is next */
+  private boolean afterKey;
+
+  private final byte[] digits = new byte[20];
+
+  public JsonWriter wrap(final MutableDirectBuffer buffer, final int offset) {
+    this.buffer = buffer;
+    expandable = buffer.isExpandable();
+    startOffset = offset;
+    this.offset = offset;
+    outputStream = null;
+    flushedLength = 0;
+    needsComma = false;
+    afterKey = false;
+    return this;
+  }
+
+  public JsonWriter wrap(final OutputStream outputStream) {
+    return wrap(outputStream, DEFAULT_CHUNK_SIZE);
+  }
+
+  public JsonWriter wrap(final OutputStream outputStream, final int chunkSize) {
+    if (chunkSize < MIN_CHUNK_SIZE) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected chunk size of at least %d, but was %d", MIN_CHUNK_SIZE, chunkSize));
+    }
+
+    if (chunkBuffer.capacity() != chunkSize) {
+      chunkBuffer.wrap(new byte[chunkSize]);
+    }
+    wrap(chunkBuffer, 0);
+    expandable = false;
+    this.outputStream = outputStream;
+    return this;
+  }
+
+  /** Writes the collected JSON to the stream and flushes it; does nothing for a buffer. */
+  public JsonWriter flush() {
+    if (outputStream != null) {
+      try {
+        drainChunk();
+        outputStream.flush();
+      } catch (final IOException e) {
+        throw new MsgpackWriterException(
+            String.format("Failed to flush stream at position %d", flushedLength), e);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @return the offset in the buffer, or the position in the stream
+   * @throws ArithmeticException if more than {@link Integer#MAX_VALUE} bytes have been streamed
+   */
+  public int getOffset() {
+    return Math.toIntExact(flushedLength + offset);
+  }
+
+  /**
+   * @return the number of bytes written since the buffer or stream was wrapped
+   * @throws ArithmeticException if more than {@link Integer#MAX_VALUE} bytes have been streamed
+   */
+  public int getWrittenLength() {
+    return Math.toIntExact(flushedLength + offset - startOffset);
+  }
+
+  public JsonWriter writeStartObject() {
+    beforeValue();
+    putByte('{');
+    needsComma = false;
+    return this;
+  }
+
+  public JsonWriter writeEndObject() {
+    putByte('}');
+    needsComma = true;
+    return this;
+  }
+
+  public JsonWriter writeStartArray() {
+    beforeValue();
+    putByte('[');
+    needsComma = false;
+    return this;
+  }
+
+  public JsonWriter writeEndArray() {
+    putByte(']');
+    needsComma = true;
+    return this;
+  }
+
+  /** Writes a key of an object, given as UTF-8 bytes. */
+  public JsonWriter writeKey(final DirectBuffer utf8, final int offset, final int length) {
+    beforeKey();
+    putEscaped(utf8, offset, length);
+    putByte(':');
+    afterKey = true;
+    return this;
+  }
+
+  /** Writes a key of an object, given as decimal number. */
+  public JsonWriter writeKey(final long key) {
+    beforeKey();
+    putByte('"');
+    putLong(key);
+    putByte('"');
+    putByte(':');
+    afterKey = true;
+    return this;
+  }
+
+  /** Writes a string value, given as UTF-8 bytes. */
+  public JsonWriter writeString(final DirectBuffer utf8, final int offset, final int length) {
+    beforeValue();
+    putEscaped(utf8, offset, length);
+    return this;
+  }
+
+  public JsonWriter writeInteger(final long value) {
+    beforeValue();
+    putLong(value);
+    return this;
+  }
+
+  /** Writes the value as unsigned 64 bit integer, e.g. a MessagePack UINT64 beyond long range. */
+  public JsonWriter writeUnsignedInteger(final long value) {
+    if (value >= 0) {
+      return writeInteger(value);
+    }
+
+    beforeValue();
+    final long quotient = Long.divideUnsigned(value, 10);
+    putLong(quotient);
+    putByte('0' + (int) (value - quotient * 10));
+    return this;
+  }
+
+  /**
+   * Writes the shortest representation of a double; NaN and infinity are written as strings. The
+   * digits are formatted by {@link Double#toString(double)}, which creates a string per number.
+   */
+  public JsonWriter writeFloat(final double value) {
+    beforeValue();
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      putByte('"');
+      putAscii(Double.toString(value));
+      putByte('"');
+    } else {
+      putAscii(Double.toString(value));
+    }
+    return this;
+  }
+
+  /**
+   * Writes the shortest representation of a float, like a float32 read from MessagePack. The digits
+   * are formatted by {@link Float#toString(float)}, which creates a string per number.
+   */
+  public JsonWriter writeFloat(final float value) {
+    beforeValue();
+    if (Float.isNaN(value) || Float.isInfinite(value)) {
+      putByte('"');
+      putAscii(Float.toString(value));
+      putByte('"');
+    } else {
+      putAscii(Float.toString(value));
+    }
+    return this;
+  }
+
+  public JsonWriter writeBoolean(final boolean value) {
+    beforeValue();
+    putAscii(value ? "true" : "false");
+    return this;
+  }
+
+  public JsonWriter writeNull() {
+    beforeValue();
+    putAscii("null");
+    return this;
+  }
+
+  /**
+   * Writes a complete JSON value as it is, encoded as UTF-8, e.g. the text of {@link
+   * com.anyilanxin.msgpack.value.BaseValue#writeJSON(StringBuilder)}. The text is not validated.
+   */
+  public JsonWriter writeRawValue(final CharSequence json) {
+    beforeValue();
+
+    final int length = json.length();
+    for (int i = 0; i < length; i++) {
+      final char c = json.charAt(i);
+      if (c < 0x80) {
+        putByte(c);
+      } else if (c < 0x800) {
+        putByte(0xC0 | c >> 6);
+        putByte(0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(json.charAt(i + 1))) {
+        final int codePoint = Character.toCodePoint(c, json.charAt(++i));
+        putByte(0xF0 | codePoint >> 18);
+        putByte(0x80 | codePoint >> 12 & 0x3F);
+        putByte(0x80 | codePoint >> 6 & 0x3F);
+        putByte(0x80 | codePoint & 0x3F);
+      } else if (Character.isSurrogate(c)) {
+        putByte('?');
+      } else {
+        putByte(0xE0 | c >> 12);
+        putByte(0x80 | c >> 6 & 0x3F);
+        putByte(0x80 | c & 0x3F);
+      }
+    }
+    return this;
+  }
+
+  /** Writes binary data as Base64 string with padding. */
+  public JsonWriter writeBinary(final DirectBuffer data, final int offset, final int length) {
+    beforeValue();
+    putByte('"');
+
+    final int end = offset + length;
+    int i = offset;
+    for (; i + 3 <= end; i += 3) {
+      final int bits =
+          (data.getByte(i) & 0xFF) << 16
+              | (data.getByte(i + 1) & 0xFF) << 8
+              | (data.getByte(i + 2) & 0xFF);
+      putBase64(bits, 4);
+    }
+
+    final int rest = end - i;
+    if (rest == 1) {
+      putBase64((data.getByte(i) & 0xFF) << 16, 2);
+    } else if (rest == 2) {
+      putBase64((data.getByte(i) & 0xFF) << 16 | (data.getByte(i + 1) & 0xFF) << 8, 3);
+    }
+
+    putByte('"');
+    return this;
+  }
+
+  /** Writes the four characters of 24 bits, of which the last ones may be padding. */
+  private void putBase64(final int bits, final int characters) {
+    ensureCapacity(4);
+    buffer.putByte(offset, BASE64[bits >>> 18 & 0x3F]);
+    buffer.putByte(offset + 1, BASE64[bits >>> 12 & 0x3F]);
+    buffer.putByte(offset + 2, characters > 2 ? BASE64[bits >>> 6 & 0x3F] : (byte) '=');
+    buffer.putByte(offset + 3, characters > 3 ? BASE64[bits & 0x3F] : (byte) '=');
+    offset += 4;
+  }
+
+  private void beforeKey() {
+    if (needsComma) {
+      putByte(',');
+    }
+  }
+
+  private void beforeValue() {
+    if (afterKey) {
+      afterKey = false;
+    } else if (needsComma) {
+      putByte(',');
+    }
+    needsComma = true;
+  }
+
+  /**
+   * Writes the bytes quoted, copying runs of bytes which need no escaping in bulk. The runs are
+   * found by {@link ByteScanner}, which skips a vector or word of bytes at a time.
+   */
+  private void putEscaped(final DirectBuffer utf8, final int offset, final int length) {
+    putByte('"');
+
+    final int end = offset + length;
+    int runStart = offset;
+    int i = ByteScanner.indexOfJsonEscape(utf8, offset, end);
+    while (i < end) {
+      putBytes(utf8, runStart, i - runStart);
+      final byte b = utf8.getByte(i);
+      putEscape(ESCAPES[b & 0xFF], b);
+      runStart = i + 1;
+      i = ByteScanner.indexOfJsonEscape(utf8, runStart, end);
+    }
+    putBytes(utf8, runStart, end - runStart);
+
+    putByte('"');
+  }
+
+  private void putEscape(final byte escape, final byte b) {
+    if (escape == 'u') {
+      ensureCapacity(6);
+      buffer.putByte(offset, (byte) '\\');
+      buffer.putByte(offset + 1, (byte) 'u');
+      buffer.putByte(offset + 2, (byte) '0');
+      buffer.putByte(offset + 3, (byte) '0');
+      buffer.putByte(offset + 4, HEX[b >> 4 & 0xF]);
+      buffer.putByte(offset + 5, HEX[b & 0xF]);
+      offset += 6;
+    } else {
+      ensureCapacity(2);
+      buffer.putByte(offset, (byte) '\\');
+      buffer.putByte(offset + 1, escape);
+      offset += 2;
+    }
+  }
+
+  private void putLong(final long value) {
+    if (value == Long.MIN_VALUE) {
+      putAscii("-9223372036854775808");
+      return;
+    }
+
+    long remaining = Math.abs(value);
+    int start = digits.length;
+    do {
+      digits[--start] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining > 0);
+
+    if (value < 0) {
+      digits[--start] = '-';
+    }
+
+    final int length = digits.length - start;
+    ensureCapacity(length);
+    buffer.putBytes(offset, digits, start, length);
+    offset += length;
+  }
+
+  private void putAscii(final String ascii) {
+    final int length = ascii.length();
+    ensureCapacity(length);
+    for (int i = 0; i < length; i++) {
+      buffer.putByte(offset + i, (byte) ascii.charAt(i));
+    }
+    offset += length;
+  }
+
+  private void putByte(final int b) {
+    ensureCapacity(1);
+    buffer.putByte(offset, (byte) b);
+    offset++;
+  }
+
+  /** Copies the bytes, in pieces if they do not fit into the chunk of a stream. */
+  private void putBytes(final DirectBuffer src, final int srcOffset, final int length) {
+    if (outputStream == null) {
+      ensureCapacity(length);
+      buffer.putBytes(offset, src, srcOffset, length);
+      offset += length;
+      return;
+    }
+
+    int copied = 0;
+    while (copied < length) {
+      if (offset == buffer.capacity()) {
+        ensureCapacity(1);
+      }
+
+      final int piece = Math.min(length - copied, buffer.capacity() - offset);
+      buffer.putBytes(offset, src, srcOffset + copied, piece);
+      offset += piece;
+      copied += piece;
+    }
+  }
+
+  private void ensureCapacity(final int length) {
+    final long limit = (long) offset + length;
+    if (limit <= buffer.capacity()) {
+      return;
+    }
+
+    if (outputStream != null) {
+      try {
+        drainChunk();
+      } catch (final IOException e) {
+        throw new MsgpackWriterException(
+            String.format("Failed to write to stream at position %d", flushedLength), e);
+      }
+    } else if (!expandable || limit > Integer.MAX_VALUE) {
+      throw new MsgpackWriterException(
+          String.format(
+              "Expected to write %d bytes at offset %d, but buffer capacity is %d",
+              length, offset, buffer.capacity()));
+    } else {
+      buffer.checkLimit((int) limit);
+    }
+  }
+
+  private void drainChunk() throws IOException {
+    if (offset > 0) {
+      outputStream.write(chunkBuffer.byteArray(), 0, offset);
+      flushedLength += offset;
+      offset = 0;
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.json;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.spec.MsgPackFormat;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Transcodes a MessagePack value into JSON, reading with {@link MsgPackReader} and writing with
+ * {@link JsonWriter}, without building an intermediate object tree or copying the input.
+ *
+ * <p>Binary values are written as Base64 strings. Map keys must be strings or integers; integer
+ * keys are written as strings. Extension types are not supported. A transcoder is reusable, but not
+ * thread-safe.
+ */
+public final class MsgPackToJsonTranscoder {
+  private final MsgPackReader reader = new MsgPackReader();
+  private final JsonWriter ownWriter = new JsonWriter();
+  private JsonWriter writer;
+
+  /** per open container: the number of keys and values or items left to transcode */
+  private int[] remaining = new int[16];
+
+  private boolean[] isMap = new boolean[16];
+  private int depth;
+
+  /**
+   * Transcodes the MessagePack value at the given offset into the JSON buffer. An expandable buffer
+   * grows as needed.
+   *
+   * @return the number of JSON bytes written
+   */
+  public int transcode(
+      final DirectBuffer msgPack,
+      final int offset,
+      final int length,
+      final MutableDirectBuffer json,
+      final int jsonOffset) {
+    ownWriter.wrap(json, jsonOffset);
+    transcode(msgPack, offset, length, ownWriter);
+    return ownWriter.getWrittenLength();
+  }
+
+  /**
+   * Transcodes the MessagePack value at the given offset into the stream.
+   *
+   * @return the number of JSON bytes written
+   */
+  public int transcode(
+      final DirectBuffer msgPack, final int offset, final int length, final OutputStream json) {
+    ownWriter.wrap(json);
+    transcode(msgPack, offset, length, ownWriter);
+    ownWriter.flush();
+    return ownWriter.getWrittenLength();
+  }
+
+  /**
+   * Transcodes the MessagePack value at the given offset with the given writer, e.g. as part of a
+   * larger JSON document.
+   */
+  public void transcode(
+      final DirectBuffer msgPack, final int offset, final int length, final JsonWriter json) {
+    writer = json;
+    try {
+      transcode(msgPack, offset, length);
+    } finally {
+      writer = null;
+    }
+  }
+
+  private void transcode(final DirectBuffer msgPack, final int offset, final int length) {
+    reader.wrap(msgPack, offset, length);
+    depth = 0;
+
+    do {
+      if (depth > 0) {
+        final int container = depth - 1;
+        if (remaining[container] == 0) {
+          if (isMap[container]) {
+            writer.writeEndObject();
+          } else {
+            writer.writeEndArray();
+          }
+          depth--;
+          continue;
+        }
+
+        final boolean isKey = isMap[container] && (remaining[container] & 1) == 0;
+        remaining[container]--;
+        if (isKey) {
+          transcodeKey();
+          continue;
+        }
+      }
+
+      transcodeValue();
+    } while (depth > 0);
+  }
+
+  private void transcodeKey() {
+    final MsgPackFormat format = peekFormat();
+    switch (format.getType()) {
+      case STRING -> {
+        final int keyLength = reader.readStringLength();
+        writer.writeKey(reader.getBuffer(), reader.getOffset(), keyLength);
+        reader.skipBytes(keyLength);
+      }
+      case INTEGER -> writer.writeKey(reader.readInteger());
+      default ->
+          throw new MsgpackReaderException(
+              String.format(
+                  "Expected a string or integer key at offset %d, but found %s",
+                  reader.getOffset(), format));
+    }
+  }
+
+  private void transcodeValue() {
+    final MsgPackFormat format = peekFormat();
+    switch (format.getType()) {
+      case INTEGER -> {
+        if (format == MsgPackFormat.UINT64) {
+          // read the raw bits, the reader rejects values above Long.MAX_VALUE
+          final int offset = reader.getOffset();
+          writer.writeUnsignedInteger(reader.getBuffer().getLong(offset + 1, ByteOrder.BIG_ENDIAN));
+          reader.skipBytes(9);
+        } else {
+          writer.writeInteger(reader.readInteger());
+        }
+      }
+      case FLOAT -> {
+        if (format == MsgPackFormat.FLOAT32) {
+          writer.writeFloat((float) reader.readDouble());
+        } else {
+          writer.writeFloat(reader.readDouble());
+        }
+      }
+      case BOOLEAN -> writer.writeBoolean(reader.readBoolean());
+      case NIL -> {
+        reader.skipValue();
+        writer.writeNull();
+      }
+      case STRING -> {
+        final int stringLength = reader.readStringLength();
+        writer.writeString(reader.getBuffer(), reader.getOffset(), stringLength);
+        reader.skipBytes(stringLength);
+      }
+      case BINARY -> {
+        final int binaryLength = reader.readBinaryLength();
+        writer.writeBinary(reader.getBuffer(), reader.getOffset(), binaryLength);
+        reader.skipBytes(binaryLength);
+      }
+      case MAP -> {
+        final int size = reader.readMapHeader();
+        writer.writeStartObject();
+        push(size * 2, true);
+      }
+      case ARRAY -> {
+        final int size = reader.readArrayHeader();
+        writer.writeStartArray();
+        push(size, false);
+      }
+      default ->
+          throw new MsgpackReaderException(
+              String.format(
+                  "Unable to transcode %s at offset %d to JSON", format, reader.getOffset()));
+    }
+  }
+
+  private void push(final int size, final boolean map) {
+    if (depth == remaining.length) {
+      remaining = Arrays.copyOf(remaining, depth * 2);
+      isMap = Arrays.copyOf(isMap, depth * 2);
+    }
+    remaining[depth] = size;
+    isMap[depth] = map;
+    depth++;
+  }
+
+  private MsgPackFormat peekFormat() {
+    return MsgPackFormat.valueOf(reader.getBuffer().getByte(reader.getOffset()));
+  }
+}
@@ -58,7 +58,7 @@ public class ArrayProperty<T extends BaseValue> extends BaseProperty<ArrayValue<
   @Override
   public T add(final int index) {
     try {
-      return value.add(index);
+      return resolveValue().add(index);
     } catch (final Exception e) {
       throw new MsgpackPropertyException(getKey(), e);
     }
@@ -77,7 +77,7 @@ public class ArrayProperty<T extends BaseValue> extends BaseProperty<ArrayValue<
   @Override
   public T add() {
     try {
-      return value.add();
+      return resolveValue().add();
     } catch (final Exception e) {
       throw new MsgpackPropertyException(getKey(), e);
     }
@@ -16,20 +16,34 @@
  */
 package com.anyilanxin.msgpack.property;
 
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+
 import com.anyilanxin.msgpack.Recyclable;
 import com.anyilanxin.msgpack.execption.MsgpackPropertyException;
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import com.anyilanxin.msgpack.value.BaseValue;
 import com.anyilanxin.msgpack.value.StringValue;
 import java.util.Objects;
+import org.agrona.DirectBuffer;
 
 public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
+  private static final DirectBuffer NO_VALUE = wrapString("NO VALID WRITEABLE VALUE");
+
   protected StringValue key;
   protected T value;
   protected T defaultValue;
   protected boolean isSet;
 
+  /** set while the value is known by its position in a source buffer only, see {@link #defer} */
+  private boolean deferred;
+
+  private MsgPackReader deferredReader;
+  private DirectBuffer deferredSource;
+  private int deferredOffset;
+  private int deferredLength;
+
   public BaseProperty(final T value) {
     this(StringValue.EMPTY_STRING, value);
   }
@@ -55,15 +69,34 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public void set() {
-    this.isSet = true;
+    if (!isSet) {
+      isSet = true;
+      // the value itself is unchanged, only the object writes it instead of the default now
+      final BaseValue parent = value.getParent();
+      if (parent != null) {
+        parent.invalidateEncodedLength();
+      }
+    }
   }
 
   @Override
   public void reset() {
     this.isSet = false;
+    this.deferred = false;
     this.value.reset();
   }
 
+  /**
+   * Links the value and default value to the object declaring this property, so that changes
+   * invalidate the object's cached encoded length.
+   */
+  public void setParent(final BaseValue parent) {
+    value.setParent(parent);
+    if (defaultValue != null && defaultValue != value) {
+      defaultValue.setParent(parent);
+    }
+  }
+
   public boolean hasValue() {
     return isSet || defaultValue != null;
   }
@@ -72,7 +105,50 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     return key;
   }
 
+  /**
+   * Marks the value as present in the given source without decoding it. The value is decoded with
+   * the given reader on first access and is written by copying the source as long as it is not
+   * changed.
+   *
+   * @param reader the reader to decode the value with, may be shared by several properties
+   * @param source the buffer containing the encoded value; must stay unchanged until decoded
+   * @param offset the offset of the encoded value in the source
+   * @param length the length of the encoded value
+   */
+  public void defer(
+      final MsgPackReader reader, final DirectBuffer source, final int offset, final int length) {
+    deferredReader = reader;
+    deferredSource = source;
+    deferredOffset = offset;
+    deferredLength = length;
+    deferred = true;
+    isSet = true;
+    value.setEncodedSource(source, offset, length);
+  }
+
+  private void decodeDeferred() {
+    deferred = false;
+    if (!value.hasEncodedSource()) {
+      // the value was overwritten before it was ever decoded
+      return;
+    }
+
+    deferredReader.wrap(deferredSource, deferredOffset, deferredLength);
+    try {
+      value.readDeferred(deferredReader, deferredSource, deferredOffset, deferredLength);
+    } catch (final Exception e) {
+      // keep writing the source rather than a partially decoded value
+      value.setEncodedSource(deferredSource, deferredOffset, deferredLength);
+      deferred = true;
+      throw new MsgpackPropertyException(key, e);
+    }
+  }
+
   protected T resolveValue() {
+    if (deferred) {
+      decodeDeferred();
+    }
+
     if (isSet) {
       return value;
     } else if (defaultValue != null) {
@@ -84,10 +160,15 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public int getEncodedLength() {
-    return key.getEncodedLength() + resolveValue().getEncodedLength();
+    // a deferred value is not decoded just to compute its length
+    final T valueToEncode = deferred ? value : resolveValue();
+    final int sourceLength = valueToEncode.getEncodedSourceLength();
+    return key.getEncodedLength()
+        + (sourceLength >= 0 ? sourceLength : valueToEncode.getEncodedLength());
   }
 
   public void read(MsgPackReader reader) {
+    deferred = false;
     value.read(reader);
     set();
   }
@@ -104,7 +185,9 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     }
 
     key.write(writer);
-    valueToWrite.write(writer);
+    if (!valueToWrite.writeEncodedSource(writer)) {
+      valueToWrite.write(writer);
+    }
   }
 
   public void writeJSON(StringBuilder sb) {
@@ -117,11 +200,23 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     }
   }
 
+  public void writeJSON(final JsonWriter writer) {
+    key.writeJSONKey(writer);
+    if (hasValue()) {
+      resolveValue().writeJSON(writer);
+    } else {
+      writer.writeString(NO_VALUE, 0, NO_VALUE.capacity());
+    }
+  }
+
   @Override
   public String toString() {
     final StringBuilder builder = new StringBuilder();
     builder.append(key.toString());
     builder.append(" => ");
+    if (deferred) {
+      decodeDeferred();
+    }
     builder.append(value.toString());
     return builder.toString();
   }
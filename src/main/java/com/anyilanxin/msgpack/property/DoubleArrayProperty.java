@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.property;
+
+import com.anyilanxin.msgpack.value.DoubleArrayValue;
+import com.anyilanxin.msgpack.value.StringValue;
+
+public class DoubleArrayProperty extends BaseProperty<DoubleArrayValue> {
+  public DoubleArrayProperty(final String keyString) {
+    super(keyString, new DoubleArrayValue());
+    isSet = true;
+  }
+
+  public DoubleArrayProperty(final StringValue key) {
+    super(key, new DoubleArrayValue());
+    isSet = true;
+  }
+
+  public DoubleArrayProperty(final int initialCapacity, final String keyString) {
+    super(keyString, new DoubleArrayValue(initialCapacity));
+    isSet = true;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    isSet = true;
+  }
+
+  public int size() {
+    return resolveValue().size();
+  }
+
+  public double getDouble(final int index) {
+    return resolveValue().getDouble(index);
+  }
+
+  public void setDouble(final int index, final double value) {
+    resolveValue().setDouble(index, value);
+  }
+
+  public DoubleArrayProperty add(final double value) {
+    resolveValue().add(value);
+    return this;
+  }
+
+  public double[] toArray() {
+    return resolveValue().toArray();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.property;
+
+import com.anyilanxin.msgpack.value.IntArrayValue;
+import com.anyilanxin.msgpack.value.StringValue;
+
+public class IntArrayProperty extends BaseProperty<IntArrayValue> {
+  public IntArrayProperty(final String keyString) {
+    super(keyString, new IntArrayValue());
+    isSet = true;
+  }
+
+  public IntArrayProperty(final StringValue key) {
+    super(key, new IntArrayValue());
+    isSet = true;
+  }
+
+  public IntArrayProperty(final int initialCapacity, final String keyString) {
+    super(keyString, new IntArrayValue(initialCapacity));
+    isSet = true;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    isSet = true;
+  }
+
+  public int size() {
+    return resolveValue().size();
+  }
+
+  public int getInt(final int index) {
+    return resolveValue().getInt(index);
+  }
+
+  public void setInt(final int index, final int value) {
+    resolveValue().setInt(index, value);
+  }
+
+  public IntArrayProperty add(final int value) {
+    resolveValue().add(value);
+    return this;
+  }
+
+  public int[] toArray() {
+    return resolveValue().toArray();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.property;
+
+import com.anyilanxin.msgpack.value.LongArrayValue;
+import com.anyilanxin.msgpack.value.StringValue;
+
+public class LongArrayProperty extends BaseProperty<LongArrayValue> {
+  public LongArrayProperty(final String keyString) {
+    super(keyString, new LongArrayValue());
+    isSet = true;
+  }
+
+  public LongArrayProperty(final StringValue key) {
+    super(key, new LongArrayValue());
+    isSet = true;
+  }
+
+  public LongArrayProperty(final int initialCapacity, final String keyString) {
+    super(keyString, new LongArrayValue(initialCapacity));
+    isSet = true;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    isSet = true;
+  }
+
+  public int size() {
+    return resolveValue().size();
+  }
+
+  public long getLong(final int index) {
+    return resolveValue().getLong(index);
+  }
+
+  public void setLong(final int index, final long value) {
+    resolveValue().setLong(index, value);
+  }
+
+  public LongArrayProperty add(final long value) {
+    resolveValue().add(value);
+    return this;
+  }
+
+  public long[] toArray() {
+    return resolveValue().toArray();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.property;
+
+import com.anyilanxin.msgpack.value.BaseValue;
+import com.anyilanxin.msgpack.value.LongKeyMapValue;
+import com.anyilanxin.msgpack.value.StringValue;
+import java.util.function.Supplier;
+import org.agrona.collections.LongObjConsumer;
+
+public final class LongKeyMapProperty<V extends BaseValue>
+    extends BaseProperty<LongKeyMapValue<V>> {
+  public LongKeyMapProperty(final String keyString, final Supplier<V> valueFactory) {
+    super(keyString, new LongKeyMapValue<>(valueFactory));
+    isSet = true;
+  }
+
+  public LongKeyMapProperty(final StringValue key, final Supplier<V> valueFactory) {
+    super(key, new LongKeyMapValue<>(valueFactory));
+    isSet = true;
+  }
+
+  public LongKeyMapProperty(
+      final int initialCapacity, final String keyString, final Supplier<V> valueFactory) {
+    super(keyString, new LongKeyMapValue<>(initialCapacity, valueFactory));
+    isSet = true;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    isSet = true;
+  }
+
+  public V get(final long key) {
+    return resolveValue().get(key);
+  }
+
+  public V put(final long key) {
+    return resolveValue().put(key);
+  }
+
+  public boolean remove(final long key) {
+    return resolveValue().remove(key);
+  }
+
+  public boolean containsKey(final long key) {
+    return resolveValue().containsKey(key);
+  }
+
+  public void forEach(final LongObjConsumer<V> action) {
+    resolveValue().forEach(action);
+  }
+
+  public boolean isEmpty() {
+    return resolveValue().isEmpty();
+  }
+
+  public int size() {
+    return resolveValue().size();
+  }
+}
@@ -63,31 +63,32 @@ public final class MapProperty<K extends BaseValue, V extends BaseValue>
 
   @Override
   public void put(final Consumer<K> key, final Consumer<V> value) {
-    final K keyInfo = this.value.key();
-    final V valueInfo = this.value.value();
+    final MapValue<K, V> map = resolveValue();
+    final K keyInfo = map.key();
+    final V valueInfo = map.value();
     key.accept(keyInfo);
     value.accept(valueInfo);
-    this.value.put(keyInfo, valueInfo);
+    map.put(keyInfo, valueInfo);
   }
 
   @Override
   public void forEach(final BiConsumer<? super K, ? super V> action) {
-    value.forEach(action);
+    resolveValue().forEach(action);
   }
 
   public V get(final K key) {
-    return value.get(key);
+    return resolveValue().get(key);
   }
 
   public void remove(final K key) {
-    value.remove(key);
+    resolveValue().remove(key);
   }
 
   public boolean isEmpty() {
-    return value.isEmpty();
+    return resolveValue().isEmpty();
   }
 
   public int size() {
-    return value.size();
+    return resolveValue().size();
   }
 }
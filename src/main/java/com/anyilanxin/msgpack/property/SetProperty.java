@@ -51,18 +51,18 @@ public final class SetProperty<T extends BaseValue> extends BaseProperty<SetValu
   }
 
   public void add(final Consumer<T> value) {
-    this.value.add(value);
+    resolveValue().add(value);
   }
 
   public void remove(final T value) {
-    this.value.remove(value);
+    resolveValue().remove(value);
   }
 
   public boolean isEmpty() {
-    return value.isEmpty();
+    return resolveValue().isEmpty();
   }
 
   public int size() {
-    return value.size();
+    return resolveValue().size();
   }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.property;
+
+import com.anyilanxin.msgpack.value.BaseValue;
+import com.anyilanxin.msgpack.value.StringKeyMapValue;
+import com.anyilanxin.msgpack.value.StringValue;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+
+public final class StringKeyMapProperty<V extends BaseValue>
+    extends BaseProperty<StringKeyMapValue<V>> {
+  public StringKeyMapProperty(final String keyString, final Supplier<V> valueFactory) {
+    super(keyString, new StringKeyMapValue<>(valueFactory));
+    isSet = true;
+  }
+
+  public StringKeyMapProperty(final StringValue key, final Supplier<V> valueFactory) {
+    super(key, new StringKeyMapValue<>(valueFactory));
+    isSet = true;
+  }
+
+  public StringKeyMapProperty(
+      final int initialCapacity, final String keyString, final Supplier<V> valueFactory) {
+    super(keyString, new StringKeyMapValue<>(initialCapacity, valueFactory));
+    isSet = true;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    isSet = true;
+  }
+
+  public V get(final DirectBuffer key) {
+    return resolveValue().get(key);
+  }
+
+  public V put(final DirectBuffer key) {
+    return resolveValue().put(key);
+  }
+
+  public boolean remove(final DirectBuffer key) {
+    return resolveValue().remove(key);
+  }
+
+  public boolean containsKey(final DirectBuffer key) {
+    return resolveValue().containsKey(key);
+  }
+
+  public void forEach(final BiConsumer<? super DirectBuffer, ? super V> action) {
+    resolveValue().forEach(action);
+  }
+
+  public boolean isEmpty() {
+    return resolveValue().isEmpty();
+  }
+
+  public int size() {
+    return resolveValue().size();
+  }
+}
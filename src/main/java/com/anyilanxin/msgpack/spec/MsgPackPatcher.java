@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import static com.anyilanxin.msgpack.spec.MsgPackCodes.*;
+
+import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import com.anyilanxin.msgpack.util.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Changes a single value of an encoded document without decoding the document, e.g. a status, a
+ * retry count or a timestamp.
+ *
+ * <p>{@link #seek(DirectBuffer...)} or {@link #seek(MsgPackPath)} locates the value to change. A
+ * following {@code set} call overwrites the value in place if its new encoding fits the existing
+ * one (e.g. any integer into an INT64 slot). Otherwise the bytes following the value are moved to
+ * make room for the canonical encoding, which changes the length of the document. An expandable
+ * buffer grows as needed; for any other buffer the document must fit into its capacity.
+ */
+public final class MsgPackPatcher {
+  private final MsgPackReader reader = new MsgPackReader();
+  private final MsgPackWriter writer = new MsgPackWriter();
+
+  /** the canonical encoding of a value which does not fit in place */
+  private final UnsafeBuffer encoded = new UnsafeBuffer(new byte[1 + Long.BYTES]);
+
+  private MutableDirectBuffer buffer;
+  private int offset;
+  private int length;
+
+  private int valueOffset = -1;
+  private int valueLength;
+
+  public MsgPackPatcher wrap(final MutableDirectBuffer buffer, final int offset, final int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+    valueOffset = -1;
+    return this;
+  }
+
+  /**
+   * @return the length of the document, which changes if a value does not fit in place
+   */
+  public int getLength() {
+    return length;
+  }
+
+  /**
+   * @return the offset of the value found by the last seek in the buffer, or -1 if there is none
+   */
+  public int getValueOffset() {
+    return valueOffset;
+  }
+
+  public int getValueLength() {
+    return valueLength;
+  }
+
+  /**
+   * Locates the value at the given path of map keys, starting at the root of the document. Reuse
+   * the keys array to seek without allocation.
+   *
+   * @return true if the value was found, false if a key is missing or a value on the path is not a
+   *     map
+   */
+  public boolean seek(final DirectBuffer... keys) {
+    valueOffset = -1;
+    reader.wrap(buffer, offset, length);
+
+    for (final DirectBuffer key : keys) {
+      if (!seekKey(key)) {
+        return false;
+      }
+    }
+
+    return locateValue();
+  }
+
+  /**
+   * Locates the value at the given path, starting at the root of the document.
+   *
+   * @return true if the value was found
+   */
+  public boolean seek(final MsgPackPath path) {
+    valueOffset = -1;
+    reader.wrap(buffer, offset, length);
+    return path.seek(reader) && locateValue();
+  }
+
+  private boolean locateValue() {
+    if (!reader.hasNext()) {
+      return false;
+    }
+
+    final int start = reader.getOffset();
+    reader.skipValue();
+    valueOffset = offset + start;
+    valueLength = reader.getOffset() - start;
+    return true;
+  }
+
+  private boolean seekKey(final DirectBuffer key) {
+    final DirectBuffer view = reader.getBuffer();
+    if (!reader.hasNext() || !isMap(view.getByte(reader.getOffset()))) {
+      return false;
+    }
+
+    final int keyLength = key.capacity();
+    for (int remaining = reader.readMapHeader(); remaining > 0; remaining--) {
+      if (isString(view.getByte(reader.getOffset()))) {
+        final int stringLength = reader.readStringLength();
+        final int keyOffset = reader.getOffset();
+        reader.skipBytes(stringLength);
+        if (stringLength == keyLength
+            && BufferUtil.contentsEqual(view, keyOffset, key, 0, keyLength)) {
+          return true;
+        }
+      } else {
+        reader.skipValue();
+      }
+
+      reader.skipValue();
+    }
+    return false;
+  }
+
+  private static boolean isString(final byte b) {
+    return isFixStr(b) || b == STR8 || b == STR16 || b == STR32;
+  }
+
+  /**
+   * Replaces the value found by the last seek with the given integer.
+   *
+   * @return true if the value was overwritten in place, false if the document was resized
+   */
+  public boolean setInteger(final long value) {
+    ensureValue();
+
+    final byte header = buffer.getByte(valueOffset);
+    final boolean inPlace =
+        switch (valueLength) {
+          case 1 -> isFixInt(header) && putFixInt(value);
+          case 2 ->
+              (header == INT8 || header == UINT8)
+                  && putInteger(header, value, Byte.MIN_VALUE, INT8, 0xFFL, UINT8);
+          case 3 ->
+              (header == INT16 || header == UINT16)
+                  && putInteger(header, value, Short.MIN_VALUE, INT16, 0xFFFFL, UINT16);
+          case 5 ->
+              (header == INT32 || header == UINT32)
+                  && putInteger(header, value, Integer.MIN_VALUE, INT32, 0xFFFF_FFFFL, UINT32);
+          case 9 ->
+              (header == INT64 || header == UINT64)
+                  && putInteger(header, value, Long.MIN_VALUE, INT64, Long.MAX_VALUE, UINT64);
+          default -> false;
+        };
+
+    if (!inPlace) {
+      writer.wrap(encoded, 0);
+      writer.writeInteger(value);
+      splice(writer.getOffset());
+    }
+    return inPlace;
+  }
+
+  /**
+   * Replaces the value found by the last seek with the given boolean.
+   *
+   * @return true if the value was overwritten in place, false if the document was resized
+   */
+  public boolean setBoolean(final boolean value) {
+    ensureValue();
+
+    final byte header = buffer.getByte(valueOffset);
+    final byte code = value ? TRUE : FALSE;
+    if (header == TRUE || header == FALSE) {
+      buffer.putByte(valueOffset, code);
+      return true;
+    }
+
+    encoded.putByte(0, code);
+    splice(1);
+    return false;
+  }
+
+  /**
+   * Replaces the value found by the last seek with the given floating point number. A FLOAT32 slot
+   * is only overwritten in place if the number is exactly representable as float.
+   *
+   * @return true if the value was overwritten in place, false if the document was resized
+   */
+  public boolean setFloat(final double value) {
+    ensureValue();
+
+    final byte header = buffer.getByte(valueOffset);
+    if (header == FLOAT64) {
+      buffer.putDouble(valueOffset + 1, value, BYTE_ORDER);
+      return true;
+    } else if (header == FLOAT32 && (double) (float) value == value) {
+      buffer.putFloat(valueOffset + 1, (float) value, BYTE_ORDER);
+      return true;
+    }
+
+    writer.wrap(encoded, 0);
+    writer.writeFloat(value);
+    splice(writer.getOffset());
+    return false;
+  }
+
+  private void ensureValue() {
+    if (valueOffset < 0) {
+      throw new MsgpackWriterException("Expected to patch a value, but no value was found");
+    }
+  }
+
+  private boolean putFixInt(final long value) {
+    if (value < -(1 << 5) || value >= (1 << 7)) {
+      return false;
+    }
+
+    buffer.putByte(valueOffset, (byte) value);
+    return true;
+  }
+
+  /**
+   * Writes the value with the width of the slot, keeping the signed code of the slot if possible.
+   */
+  private boolean putInteger(
+      final byte header,
+      final long value,
+      final long signedMin,
+      final byte signedCode,
+      final long unsignedMax,
+      final byte unsignedCode) {
+    final byte code;
+    if (value < 0) {
+      if (value < signedMin) {
+        return false;
+      }
+      code = signedCode;
+    } else if (header == signedCode && value <= -(signedMin + 1)) {
+      code = signedCode;
+    } else if (value <= unsignedMax) {
+      code = unsignedCode;
+    } else {
+      return false;
+    }
+
+    final int at = valueOffset + 1;
+    buffer.putByte(valueOffset, code);
+    switch (valueLength) {
+      case 2 -> buffer.putByte(at, (byte) value);
+      case 3 -> buffer.putShort(at, (short) value, BYTE_ORDER);
+      case 5 -> buffer.putInt(at, (int) value, BYTE_ORDER);
+      default -> buffer.putLong(at, value, BYTE_ORDER);
+    }
+    return true;
+  }
+
+  /** Replaces the value by the first bytes of the encoded buffer, moving the following bytes. */
+  private void splice(final int encodedLength) {
+    final int delta = encodedLength - valueLength;
+    final int valueEnd = valueOffset + valueLength;
+    final int tailLength = offset + length - valueEnd;
+
+    if (delta > 0) {
+      final int limit = offset + length + delta;
+      if (buffer.isExpandable()) {
+        buffer.checkLimit(limit);
+      } else if (limit > buffer.capacity()) {
+        throw new MsgpackWriterException(
+            String.format(
+                "Expected to grow the document by %d bytes, but buffer capacity is %d",
+                delta, buffer.capacity()));
+      }
+    }
+
+    if (delta != 0) {
+      // overlapping copy within the same buffer, like System.arraycopy
+      buffer.putBytes(valueEnd + delta, buffer, valueEnd, tailLength);
+    }
+
+    buffer.putBytes(valueOffset, encoded, 0, encodedLength);
+    valueLength = encodedLength;
+    length += delta;
+  }
+}
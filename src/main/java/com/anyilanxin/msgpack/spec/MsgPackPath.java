@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import com.anyilanxin.msgpack.util.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+
+/**
+ * A compiled path to a value nested in maps and arrays, e.g. {@code a.b[3].c}. Keys are separated
+ * by dots, array indices are given in brackets, and keys containing dots or brackets can be quoted
+ * in brackets, e.g. {@code a["b.c"]}. The empty path denotes the root value.
+ *
+ * <p>A path is immutable and can be used to seek in any number of documents without allocation.
+ */
+public final class MsgPackPath {
+  private final String path;
+
+  /** the key of each step, or null if the step is an array index */
+  private final DirectBuffer[] keys;
+
+  private final int[] indices;
+
+  private MsgPackPath(
+      final String path, final List<DirectBuffer> keys, final List<Integer> indices) {
+    this.path = path;
+    this.keys = keys.toArray(new DirectBuffer[0]);
+    this.indices = new int[indices.size()];
+    for (int i = 0; i < this.indices.length; i++) {
+      this.indices[i] = indices.get(i);
+    }
+  }
+
+  /**
+   * @throws IllegalArgumentException if the path is malformed
+   */
+  public static MsgPackPath compile(final String path) {
+    final List<DirectBuffer> keys = new ArrayList<>();
+    final List<Integer> indices = new ArrayList<>();
+
+    int i = 0;
+    while (i < path.length()) {
+      if (path.charAt(i) == '[') {
+        final int end = path.indexOf(']', i);
+        if (end < 0) {
+          throw malformed(path, i, "unclosed bracket");
+        }
+
+        final char first = end > i + 1 ? path.charAt(i + 1) : ']';
+        if (first == '"' || first == '\'') {
+          final int close = path.indexOf(first, i + 2);
+          if (close < 0 || close + 1 >= path.length() || path.charAt(close + 1) != ']') {
+            throw malformed(path, i, "unclosed quote");
+          }
+          keys.add(BufferUtil.wrapString(path.substring(i + 2, close)));
+          indices.add(-1);
+          i = close + 2;
+        } else {
+          keys.add(null);
+          indices.add(parseIndex(path, i + 1, end));
+          i = end + 1;
+        }
+      } else {
+        int end = i;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+          end++;
+        }
+        if (end == i) {
+          throw malformed(path, i, "empty key");
+        }
+        keys.add(BufferUtil.wrapString(path.substring(i, end)));
+        indices.add(-1);
+        i = end;
+      }
+
+      if (i < path.length() && path.charAt(i) == '.') {
+        i++;
+        if (i == path.length()) {
+          throw malformed(path, i, "empty key");
+        }
+      } else if (i < path.length() && path.charAt(i) != '[') {
+        throw malformed(path, i, "expected '.' or '['");
+      }
+    }
+
+    return new MsgPackPath(path, keys, indices);
+  }
+
+  private static int parseIndex(final String path, final int start, final int end) {
+    if (start == end) {
+      throw malformed(path, start, "empty index");
+    }
+
+    int index = 0;
+    for (int i = start; i < end; i++) {
+      final char c = path.charAt(i);
+      if (c < '0' || c > '9' || index > (Integer.MAX_VALUE - 9) / 10) {
+        throw malformed(path, i, "invalid index");
+      }
+      index = index * 10 + (c - '0');
+    }
+    return index;
+  }
+
+  private static IllegalArgumentException malformed(
+      final String path, final int position, final String reason) {
+    return new IllegalArgumentException(
+        String.format("Malformed path '%s' at position %d: %s", path, position, reason));
+  }
+
+  public int getDepth() {
+    return keys.length;
+  }
+
+  /**
+   * @return the key of the given step, or null if the step is an array index
+   */
+  DirectBuffer getKey(final int step) {
+    return keys[step];
+  }
+
+  int getIndex(final int step) {
+    return indices[step];
+  }
+
+  /**
+   * Moves the reader from the value at its current offset to the value at this path, skipping all
+   * other values on the way.
+   *
+   * @return true if the reader is positioned at the value, false if a key is missing, an index is
+   *     out of bounds or a value on the path is not of the expected container type
+   */
+  public boolean seek(final MsgPackReader reader) {
+    for (int step = 0; step < keys.length; step++) {
+      final DirectBuffer key = keys[step];
+      final MsgPackType expected = key != null ? MsgPackType.MAP : MsgPackType.ARRAY;
+      if (!reader.hasNext() || peekType(reader) != expected) {
+        return false;
+      }
+
+      final int size = reader.readToken().getSize();
+      if (key != null) {
+        if (!seekKey(reader, key, size)) {
+          return false;
+        }
+      } else {
+        final int index = indices[step];
+        if (index >= size) {
+          return false;
+        }
+        reader.skipValues(index);
+      }
+    }
+    return true;
+  }
+
+  private static boolean seekKey(
+      final MsgPackReader reader, final DirectBuffer key, final int size) {
+    final int keyLength = key.capacity();
+    for (int i = 0; i < size; i++) {
+      if (peekType(reader) == MsgPackType.STRING) {
+        final DirectBuffer candidate = reader.readToken().getValueBuffer();
+        if (candidate.capacity() == keyLength
+            && BufferUtil.contentsEqual(candidate, 0, key, 0, keyLength)) {
+          return true;
+        }
+      } else {
+        reader.skipValue();
+      }
+
+      reader.skipValue();
+    }
+    return false;
+  }
+
+  private static MsgPackType peekType(final MsgPackReader reader) {
+    return MsgPackFormat.valueOf(reader.getBuffer().getByte(reader.getOffset())).type;
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+}
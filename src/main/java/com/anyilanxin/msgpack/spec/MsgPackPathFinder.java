@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Extracts single values from encoded documents by {@link MsgPackPath}, without decoding the rest
+ * of the document. A finder is reusable, but not thread-safe.
+ */
+public final class MsgPackPathFinder {
+  private final MsgPackReader reader = new MsgPackReader();
+
+  private DirectBuffer buffer;
+  private int valueOffset = -1;
+  private int valueLength;
+
+  /**
+   * @return true if the document contains a value at the given path
+   */
+  public boolean find(
+      final MsgPackPath path, final DirectBuffer buffer, final int offset, final int length) {
+    this.buffer = buffer;
+    valueOffset = -1;
+    reader.wrap(buffer, offset, length);
+
+    if (!path.seek(reader) || !reader.hasNext()) {
+      return false;
+    }
+
+    final int start = reader.getOffset();
+    reader.skipValue();
+    valueOffset = offset + start;
+    valueLength = reader.getOffset() - start;
+    return true;
+  }
+
+  /**
+   * @return the offset of the found value in the buffer, or -1 if the last find was unsuccessful
+   */
+  public int getValueOffset() {
+    return valueOffset;
+  }
+
+  /**
+   * @return the length of the encoded found value, including nested values of a container
+   */
+  public int getValueLength() {
+    return valueLength;
+  }
+
+  /**
+   * Reads the found value as token. The token is only valid until the next call; for a container it
+   * holds the header only.
+   */
+  public MsgPackToken readToken() {
+    if (valueOffset < 0) {
+      return MsgPackToken.NIL;
+    }
+
+    reader.wrap(buffer, valueOffset, valueLength);
+    return reader.readToken();
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.agrona.DirectBuffer;
+
+/**
+ * Extracts several {@link MsgPackPath paths} from a document in a single forward pass. The paths
+ * are compiled into a tree of steps; the keys of each map step form a trie over the key bytes.
+ * Values which are not on any path are skipped with {@link MsgPackReader#skipValues(long)}, and a
+ * map is left as soon as all keys of interest were seen.
+ *
+ * <p>A projection is immutable and can be shared. The positions of the values are written to a
+ * reusable {@link Result}, so projecting does not allocate. If a key occurs more than once in a
+ * map, its first occurrence is used.
+ */
+public final class MsgPackProjection {
+  private final String[] paths;
+  private final Node root;
+  private final int nodeCount;
+
+  private MsgPackProjection(final String[] paths, final Node root, final int nodeCount) {
+    this.paths = paths;
+    this.root = root;
+    this.nodeCount = nodeCount;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a path is malformed
+   */
+  public static MsgPackProjection compile(final String... paths) {
+    final NodeBuilder root = new NodeBuilder();
+    for (int i = 0; i < paths.length; i++) {
+      final MsgPackPath path = MsgPackPath.compile(paths[i]);
+      NodeBuilder node = root;
+      for (int step = 0; step < path.getDepth(); step++) {
+        final DirectBuffer key = path.getKey(step);
+        node =
+            key != null
+                ? node.keyChildren.computeIfAbsent(bufferAsString(key), k -> new NodeBuilder())
+                : node.indexChildren.computeIfAbsent(path.getIndex(step), k -> new NodeBuilder());
+      }
+      node.terminalPaths.add(i);
+    }
+
+    final int[] nodeCount = new int[1];
+    return new MsgPackProjection(paths.clone(), root.build(nodeCount), nodeCount[0]);
+  }
+
+  public int getPathCount() {
+    return paths.length;
+  }
+
+  public String getPath(final int index) {
+    return paths[index];
+  }
+
+  public Result newResult() {
+    return new Result(paths.length, nodeCount);
+  }
+
+  /**
+   * Reads the value at the reader's current offset and records the positions of all values at the
+   * paths of this projection. The reader is positioned after the value afterwards.
+   *
+   * @return the number of paths found
+   */
+  public int project(final MsgPackReader reader, final Result result) {
+    if (result.offsets.length != paths.length || result.visited.length != nodeCount) {
+      throw new IllegalArgumentException("Expected a result created by this projection");
+    }
+
+    result.clear();
+    if (reader.hasNext()) {
+      visit(root, reader, result);
+    }
+    return result.found;
+  }
+
+  private static void visit(final Node node, final MsgPackReader reader, final Result result) {
+    final int start = reader.getOffset();
+    final MsgPackType type =
+        MsgPackFormat.valueOf(reader.getBuffer().getByte(reader.getOffset())).type;
+
+    if (type == MsgPackType.MAP && node.keys != null) {
+      visitMap(node, reader, result);
+    } else if (type == MsgPackType.ARRAY && node.indices.length > 0) {
+      visitArray(node, reader, result);
+    } else {
+      reader.skipValue();
+    }
+
+    for (final int path : node.terminalPaths) {
+      result.offsets[path] = start;
+      result.lengths[path] = reader.getOffset() - start;
+      result.found++;
+    }
+  }
+
+  private static void visitMap(final Node node, final MsgPackReader reader, final Result result) {
+    final DirectBuffer buffer = reader.getBuffer();
+    final int size = reader.readMapHeader();
+    int matched = 0;
+
+    for (int i = 0; i < size; i++) {
+      Node child = null;
+      final MsgPackType keyType = MsgPackFormat.valueOf(buffer.getByte(reader.getOffset())).type;
+      if (keyType == MsgPackType.STRING) {
+        final int keyLength = reader.readStringLength();
+        child = node.keys.match(buffer, reader.getOffset(), keyLength);
+        reader.skipBytes(keyLength);
+      } else {
+        reader.skipValue();
+      }
+
+      if (child == null || result.visited[child.id] == result.generation) {
+        reader.skipValue();
+        continue;
+      }
+
+      result.visited[child.id] = result.generation;
+      visit(child, reader, result);
+
+      if (++matched == node.keys.size) {
+        reader.skipValues(2L * (size - i - 1));
+        return;
+      }
+    }
+  }
+
+  private static void visitArray(final Node node, final MsgPackReader reader, final Result result) {
+    final int size = reader.readArrayHeader();
+    int position = 0;
+
+    for (int i = 0; i < node.indices.length && node.indices[i] < size; i++) {
+      final int index = node.indices[i];
+      reader.skipValues(index - position);
+      visit(node.indexChildren[i], reader, result);
+      position = index + 1;
+    }
+
+    reader.skipValues(size - position);
+  }
+
+  /** The positions of the projected values, relative to the buffer wrapped by the reader. */
+  public static final class Result {
+    private final int[] offsets;
+    private final int[] lengths;
+    private int found;
+
+    /** node id -> generation in which the node was last visited */
+    private final int[] visited;
+
+    private int generation;
+
+    private Result(final int pathCount, final int nodeCount) {
+      offsets = new int[pathCount];
+      lengths = new int[pathCount];
+      visited = new int[nodeCount];
+      clear();
+    }
+
+    private void clear() {
+      Arrays.fill(offsets, -1);
+      Arrays.fill(lengths, 0);
+      found = 0;
+      if (++generation == 0) {
+        Arrays.fill(visited, 0);
+        generation = 1;
+      }
+    }
+
+    public boolean isFound(final int path) {
+      return offsets[path] >= 0;
+    }
+
+    /**
+     * @return the offset of the value at the given path, or -1 if it was not found
+     */
+    public int getOffset(final int path) {
+      return offsets[path];
+    }
+
+    /**
+     * @return the length of the encoded value at the given path, including nested values
+     */
+    public int getLength(final int path) {
+      return lengths[path];
+    }
+
+    public int getFoundCount() {
+      return found;
+    }
+  }
+
+  private static final class Node {
+    private final int id;
+    private final int[] terminalPaths;
+    private final KeyTrie keys;
+    private final int[] indices;
+    private final Node[] indexChildren;
+
+    private Node(
+        final int id,
+        final int[] terminalPaths,
+        final KeyTrie keys,
+        final int[] indices,
+        final Node[] indexChildren) {
+      this.id = id;
+      this.terminalPaths = terminalPaths;
+      this.keys = keys;
+      this.indices = indices;
+      this.indexChildren = indexChildren;
+    }
+  }
+
+  private static final class NodeBuilder {
+    private final List<Integer> terminalPaths = new ArrayList<>();
+    private final Map<String, NodeBuilder> keyChildren = new LinkedHashMap<>();
+    private final TreeMap<Integer, NodeBuilder> indexChildren = new TreeMap<>();
+
+    private Node build(final int[] nextId) {
+      final int id = nextId[0]++;
+
+      KeyTrie keys = null;
+      if (!keyChildren.isEmpty()) {
+        keys = new KeyTrie();
+        for (final Map.Entry<String, NodeBuilder> child : keyChildren.entrySet()) {
+          keys.add(child.getKey(), child.getValue().build(nextId));
+        }
+      }
+
+      final int[] indices = new int[indexChildren.size()];
+      final Node[] children = new Node[indexChildren.size()];
+      int i = 0;
+      for (final Map.Entry<Integer, NodeBuilder> child : indexChildren.entrySet()) {
+        indices[i] = child.getKey();
+        children[i] = child.getValue().build(nextId);
+        i++;
+      }
+
+      final int[] terminals = terminalPaths.stream().mapToInt(Integer::intValue).toArray();
+      return new Node(id, terminals, keys, indices, children);
+    }
+  }
+
+  /** Maps the bytes of a key to the node of the next step, one transition per byte. */
+  private static final class KeyTrie {
+    private byte[][] labels = {new byte[0]};
+    private int[][] targets = {new int[0]};
+    private Node[] nodes = new Node[1];
+    private int stateCount = 1;
+    private int size;
+
+    private void add(final String key, final Node node) {
+      final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+      int state = 0;
+      for (final byte b : bytes) {
+        final int next = transition(state, b);
+        state = next >= 0 ? next : addTransition(state, b);
+      }
+      nodes[state] = node;
+      size++;
+    }
+
+    private int addTransition(final int state, final byte label) {
+      if (stateCount == nodes.length) {
+        labels = Arrays.copyOf(labels, stateCount * 2);
+        targets = Arrays.copyOf(targets, stateCount * 2);
+        nodes = Arrays.copyOf(nodes, stateCount * 2);
+      }
+
+      final int next = stateCount++;
+      labels[next] = new byte[0];
+      targets[next] = new int[0];
+
+      final int count = labels[state].length;
+      labels[state] = Arrays.copyOf(labels[state], count + 1);
+      targets[state] = Arrays.copyOf(targets[state], count + 1);
+      labels[state][count] = label;
+      targets[state][count] = next;
+      return next;
+    }
+
+    private int transition(final int state, final byte label) {
+      final byte[] stateLabels = labels[state];
+      for (int i = 0; i < stateLabels.length; i++) {
+        if (stateLabels[i] == label) {
+          return targets[state][i];
+        }
+      }
+      return -1;
+    }
+
+    private Node match(final DirectBuffer buffer, final int offset, final int length) {
+      int state = 0;
+      for (int i = 0; i < length; i++) {
+        state = transition(state, buffer.getByte(offset + i));
+        if (state < 0) {
+          return null;
+        }
+      }
+      return nodes[state];
+    }
+  }
+}
@@ -48,13 +48,19 @@ import static org.msgpack.core.MessagePack.Code.UINT8;
 
 import com.anyilanxin.msgpack.execption.MsgpackException;
 import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.util.ByteScanner;
+import com.anyilanxin.msgpack.util.Utf8Util;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public final class MsgPackReader {
+  /** runs of fewer values are not worth looking for when skipping */
+  private static final int MIN_BULK_SKIP_COUNT = 8;
+
   public DirectBuffer buffer = new UnsafeBuffer(0, 0);
   private int offset;
   private final MsgPackToken token = new MsgPackToken();
+  private boolean validateUtf8;
 
   public MsgPackReader wrap(final DirectBuffer buffer, final int offset, final int length) {
     this.buffer.wrap(buffer, offset, length);
@@ -66,6 +72,19 @@ public final class MsgPackReader {
     offset = 0;
   }
 
+  /**
+   * Enables the validation of strings: {@link #readStringLength()} then fails if the bytes of the
+   * string are not well-formed UTF-8. Disabled by default, strings are passed on as they are.
+   */
+  public MsgPackReader setValidateUtf8(final boolean validateUtf8) {
+    this.validateUtf8 = validateUtf8;
+    return this;
+  }
+
+  public boolean isValidateUtf8() {
+    return validateUtf8;
+  }
+
   public int readMapHeader() {
     final byte headerByte = buffer.getByte(offset);
     ++offset;
@@ -151,6 +170,16 @@ public final class MsgPackReader {
           throw exceptionOnUnknownHeader("string", headerByte);
       }
     }
+
+    // strings exceeding the buffer are left to the boundary checks of the caller
+    if (validateUtf8
+        && offset + (long) stringLength <= buffer.capacity()
+        && !Utf8Util.isValidUtf8(buffer, offset, stringLength)) {
+      throw new MsgpackReaderException(
+          String.format(
+              "Expected a valid UTF-8 string of %d bytes at offset %d, but it is malformed",
+              stringLength, offset));
+    }
     return stringLength;
   }
 
@@ -367,6 +396,10 @@ public final class MsgPackReader {
       switch (f) {
         case POSFIXINT:
         case NEGFIXINT:
+          if (count > MIN_BULK_SKIP_COUNT) {
+            count -= skipFixIntRun(count - 1);
+          }
+          break;
         case BOOLEAN:
         case NIL:
           break;
@@ -391,20 +424,32 @@ public final class MsgPackReader {
         case INT8:
         case UINT8:
           ++offset;
+          if (count > MIN_BULK_SKIP_COUNT) {
+            count -= skipFixedSizeRun(b, 2, count - 1);
+          }
           break;
         case INT16:
         case UINT16:
           offset += 2;
+          if (count > MIN_BULK_SKIP_COUNT) {
+            count -= skipFixedSizeRun(b, 3, count - 1);
+          }
           break;
         case INT32:
         case UINT32:
         case FLOAT32:
           offset += 4;
+          if (count > MIN_BULK_SKIP_COUNT) {
+            count -= skipFixedSizeRun(b, 5, count - 1);
+          }
           break;
         case INT64:
         case UINT64:
         case FLOAT64:
           offset += 8;
+          if (count > MIN_BULK_SKIP_COUNT) {
+            count -= skipFixedSizeRun(b, 9, count - 1);
+          }
           break;
         case BIN8:
         case STR8:
@@ -466,6 +511,36 @@ public final class MsgPackReader {
     }
   }
 
+  /**
+   * Skips the fixints following the current value in bulk, e.g. the items of a large array of small
+   * integers, scanning a vector or word of bytes at a time.
+   *
+   * @return the number of values skipped, at most {@code max}
+   */
+  private int skipFixIntRun(final long max) {
+    final int end = (int) Math.min(buffer.capacity(), offset + max);
+    final int runEnd = ByteScanner.indexOfNonFixInt(buffer, offset, end);
+    final int skipped = runEnd - offset;
+    offset = runEnd;
+    return skipped;
+  }
+
+  /**
+   * Skips the values following the current value which have the same header and thereby the same
+   * size, e.g. the items of a large array of floats, without decoding each header's format.
+   *
+   * @return the number of values skipped, at most {@code max}
+   */
+  private int skipFixedSizeRun(final byte header, final int size, final long max) {
+    final int limit = buffer.capacity() - size;
+    int skipped = 0;
+    while (skipped < max && offset <= limit && buffer.getByte(offset) == header) {
+      offset += size;
+      skipped++;
+    }
+    return skipped;
+  }
+
   public void skipBytes(final int stringLength) {
     offset += stringLength;
   }
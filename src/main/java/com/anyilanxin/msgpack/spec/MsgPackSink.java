@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import org.agrona.DirectBuffer;
+
+/** Destination of a streaming {@link MsgPackWriter}, receiving the chunk whenever it is full. */
+abstract class MsgPackSink {
+
+  /** Writes the first {@code length} bytes of the chunk. */
+  abstract void write(byte[] chunk, int length) throws IOException;
+
+  /**
+   * Writes the first {@code chunkLength} bytes of the chunk followed by a payload, without copying
+   * the payload into the chunk if its backing memory can be handed to the sink directly.
+   */
+  abstract void write(byte[] chunk, int chunkLength, DirectBuffer payload, int offset, int length)
+      throws IOException;
+
+  abstract void flush() throws IOException;
+
+  /** Copies a payload without accessible backing memory through the chunk. */
+  void writeThroughChunk(final byte[] chunk, final DirectBuffer payload, int offset, int length)
+      throws IOException {
+    while (length > 0) {
+      final int chunkLength = Math.min(length, chunk.length);
+      payload.getBytes(offset, chunk, 0, chunkLength);
+      write(chunk, chunkLength);
+      offset += chunkLength;
+      length -= chunkLength;
+    }
+  }
+
+  static ByteBuffer payloadView(final DirectBuffer payload, final int offset, final int length) {
+    final int index = payload.wrapAdjustment() + offset;
+    if (payload.byteArray() != null) {
+      return ByteBuffer.wrap(payload.byteArray(), index, length);
+    } else if (payload.byteBuffer() != null) {
+      return payload.byteBuffer().duplicate().limit(index + length).position(index);
+    } else {
+      return null;
+    }
+  }
+
+  static final class OutputStreamSink extends MsgPackSink {
+    private final OutputStream outputStream;
+
+    OutputStreamSink(final OutputStream outputStream) {
+      this.outputStream = outputStream;
+    }
+
+    @Override
+    void write(final byte[] chunk, final int length) throws IOException {
+      outputStream.write(chunk, 0, length);
+    }
+
+    @Override
+    void write(
+        final byte[] chunk,
+        final int chunkLength,
+        final DirectBuffer payload,
+        final int offset,
+        final int length)
+        throws IOException {
+      write(chunk, chunkLength);
+
+      final byte[] array = payload.byteArray();
+      if (array != null) {
+        outputStream.write(array, payload.wrapAdjustment() + offset, length);
+      } else {
+        writeThroughChunk(chunk, payload, offset, length);
+      }
+    }
+
+    @Override
+    void flush() throws IOException {
+      outputStream.flush();
+    }
+  }
+
+  static final class ChannelSink extends MsgPackSink {
+    private final WritableByteChannel channel;
+    private final ByteBuffer[] buffers = new ByteBuffer[2];
+
+    ChannelSink(final WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    void write(final byte[] chunk, final int length) throws IOException {
+      final ByteBuffer source = ByteBuffer.wrap(chunk, 0, length);
+      while (source.hasRemaining()) {
+        channel.write(source);
+      }
+    }
+
+    @Override
+    void write(
+        final byte[] chunk,
+        final int chunkLength,
+        final DirectBuffer payload,
+        final int offset,
+        final int length)
+        throws IOException {
+      final ByteBuffer payloadView = payloadView(payload, offset, length);
+      if (payloadView == null) {
+        write(chunk, chunkLength);
+        writeThroughChunk(chunk, payload, offset, length);
+      } else if (channel instanceof final GatheringByteChannel gatheringChannel) {
+        buffers[0] = ByteBuffer.wrap(chunk, 0, chunkLength);
+        buffers[1] = payloadView;
+        while (payloadView.hasRemaining()) {
+          gatheringChannel.write(buffers);
+        }
+        buffers[0] = null;
+        buffers[1] = null;
+      } else {
+        write(chunk, chunkLength);
+        while (payloadView.hasRemaining()) {
+          channel.write(payloadView);
+        }
+      }
+    }
+
+    @Override
+    void flush() {
+      // channels have no buffer of their own
+    }
+  }
+}
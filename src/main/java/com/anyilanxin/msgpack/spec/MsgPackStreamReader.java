@@ -0,0 +1,542 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import static com.anyilanxin.msgpack.spec.MsgPackCodes.*;
+
+import com.anyilanxin.msgpack.execption.MsgpackException;
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads msgpack values from an {@link InputStream} or a {@link ReadableByteChannel} through a
+ * fixed-size window that is refilled on demand, so documents larger than the available memory can
+ * be decoded. Exposes the same methods as {@link MsgPackReader}.
+ *
+ * <p>Strings and binaries are handed out as views: a value that is fully contained in the window is
+ * wrapped in place, a value that straddles a refill is copied into a scratch buffer. In both cases
+ * the view is only valid until the next read from this reader.
+ */
+public final class MsgPackStreamReader {
+  public static final int DEFAULT_WINDOW_SIZE = 64 * 1024;
+
+  /** longest fixed-size part of a value: header byte plus a 64 bit payload */
+  private static final int MAX_FIXED_LENGTH = 9;
+
+  private final byte[] window;
+  private final UnsafeBuffer windowBuffer;
+  private final ByteBuffer channelView;
+
+  private final ExpandableArrayBuffer overflowBuffer = new ExpandableArrayBuffer();
+  private final UnsafeBuffer valueView = new UnsafeBuffer(0, 0);
+  private final MsgPackToken token = new MsgPackToken();
+
+  private InputStream inputStream;
+  private ReadableByteChannel channel;
+
+  private long windowPosition;
+  private int offset;
+  private int limit;
+  private boolean endOfStream;
+
+  public MsgPackStreamReader() {
+    this(DEFAULT_WINDOW_SIZE);
+  }
+
+  public MsgPackStreamReader(final int windowSize) {
+    if (windowSize < MAX_FIXED_LENGTH) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected window size to be at least %d bytes, but was %d",
+              MAX_FIXED_LENGTH, windowSize));
+    }
+    window = new byte[windowSize];
+    windowBuffer = new UnsafeBuffer(window);
+    channelView = ByteBuffer.wrap(window);
+  }
+
+  public MsgPackStreamReader wrap(final InputStream inputStream) {
+    reset();
+    this.inputStream = inputStream;
+    return this;
+  }
+
+  /**
+   * Reads from the channel, which must be in blocking mode. A read of a non-blocking channel may
+   * return no bytes, which fails with a {@link MsgpackReaderException} rather than waiting for
+   * data.
+   *
+   * @throws IllegalArgumentException if the channel is a non-blocking selectable channel
+   */
+  public MsgPackStreamReader wrap(final ReadableByteChannel channel) {
+    if (channel instanceof final SelectableChannel selectable && !selectable.isBlocking()) {
+      throw new IllegalArgumentException("Expected a blocking channel, but was non-blocking");
+    }
+
+    reset();
+    this.channel = channel;
+    return this;
+  }
+
+  public void reset() {
+    inputStream = null;
+    channel = null;
+    windowPosition = 0;
+    offset = 0;
+    limit = 0;
+    endOfStream = false;
+  }
+
+  public int readMapHeader() {
+    final byte headerByte = readByte();
+
+    if (isFixedMap(headerByte)) {
+      return headerByte & (byte) 0x0F;
+    }
+
+    return switch (headerByte) {
+      case MAP16 -> readShort() & 0xffff;
+      case MAP32 -> (int) ensurePositive(readInt());
+      default -> throw exceptionOnUnknownHeader("map", headerByte);
+    };
+  }
+
+  public int readArrayHeader() {
+    final byte headerByte = readByte();
+
+    if (isFixedArray(headerByte)) {
+      return headerByte & (byte) 0x0F;
+    }
+
+    return switch (headerByte) {
+      case ARRAY16 -> readShort() & 0xffff;
+      case ARRAY32 -> (int) ensurePositive(readInt());
+      default -> throw exceptionOnUnknownHeader("array", headerByte);
+    };
+  }
+
+  public int readStringLength() {
+    final byte headerByte = readByte();
+
+    if (isFixStr(headerByte)) {
+      return headerByte & (byte) 0x1F;
+    }
+
+    return switch (headerByte) {
+      case STR8 -> readByte() & 0xff;
+      case STR16 -> readShort() & 0xffff;
+      case STR32 -> (int) ensurePositive(readInt());
+      default -> throw exceptionOnUnknownHeader("string", headerByte);
+    };
+  }
+
+  public int readBinaryLength() {
+    final byte headerByte = readByte();
+
+    return switch (headerByte) {
+      case BIN8 -> readByte() & 0xff;
+      case BIN16 -> readShort() & 0xffff;
+      case BIN32 -> (int) ensurePositive(readInt());
+      default -> throw exceptionOnUnknownHeader("binary", headerByte);
+    };
+  }
+
+  /**
+   * Integer is the term of the msgpack spec for all natural numbers
+   *
+   * @return the value
+   */
+  public long readInteger() {
+    final byte headerByte = readByte();
+
+    if (isFixInt(headerByte)) {
+      return headerByte;
+    }
+
+    return switch (headerByte) {
+      case UINT8 -> readByte() & 0xffL;
+      case UINT16 -> readShort() & 0xffffL;
+      case UINT32 -> readInt() & 0xffff_ffffL;
+      case UINT64 -> ensurePositive(readLong());
+      case INT8 -> readByte();
+      case INT16 -> readShort();
+      case INT32 -> readInt();
+      case INT64 -> readLong();
+      default -> throw exceptionOnUnknownHeader("long", headerByte);
+    };
+  }
+
+  /**
+   * Float is the term in the msgpack spec for all values represented by Java types float and double
+   *
+   * @return the value
+   */
+  public double readDouble() {
+    final byte headerByte = readByte();
+
+    return switch (headerByte) {
+      case FLOAT32 -> Float.intBitsToFloat(readInt());
+      case FLOAT64 -> Double.longBitsToDouble(readLong());
+      default -> throw exceptionOnUnknownHeader("float", headerByte);
+    };
+  }
+
+  public boolean readBoolean() {
+    final byte headerByte = readByte();
+
+    return switch (headerByte) {
+      case TRUE -> true;
+      case FALSE -> false;
+      default -> throw exceptionOnUnknownHeader("boolean", headerByte);
+    };
+  }
+
+  /**
+   * Returns a view on the next {@code length} bytes of the stream, valid until the next read.
+   *
+   * @param length the number of bytes to read
+   * @return the bytes, either wrapped in the window or copied if they straddle a refill
+   */
+  public DirectBuffer readBytes(final int length) {
+    if (limit - offset >= length) {
+      valueView.wrap(window, offset, length);
+      offset += length;
+    } else {
+      int copied = 0;
+      while (copied < length) {
+        if (offset == limit) {
+          refill(length - copied);
+        }
+
+        final int chunk = Math.min(limit - offset, length - copied);
+        overflowBuffer.putBytes(copied, window, offset, chunk);
+        offset += chunk;
+        copied += chunk;
+      }
+      valueView.wrap(overflowBuffer, 0, length);
+    }
+    return valueView;
+  }
+
+  public MsgPackToken readToken() {
+    final long startPosition = getPosition();
+    ensure(1);
+    final MsgPackFormat format = MsgPackFormat.valueOf(window[offset]);
+
+    switch (format.type) {
+      case INTEGER:
+        token.setType(MsgPackType.INTEGER);
+        token.setValue(readInteger());
+        break;
+      case BYTE:
+        token.setType(MsgPackType.BYTE);
+        token.setValue(readInteger());
+        break;
+      case SHORT:
+        token.setType(MsgPackType.SHORT);
+        token.setValue(readInteger());
+        break;
+      case FLOAT:
+        token.setType(MsgPackType.FLOAT);
+        token.setValue(readDouble());
+        break;
+      case DOUBLE:
+        token.setType(MsgPackType.DOUBLE);
+        token.setValue(readDouble());
+        break;
+      case BOOLEAN:
+        token.setType(MsgPackType.BOOLEAN);
+        token.setValue(readBoolean());
+        break;
+      case MAP:
+        token.setType(MsgPackType.MAP);
+        token.setMapHeader(readMapHeader());
+        break;
+      case ARRAY:
+        token.setType(MsgPackType.ARRAY);
+        token.setArrayHeader(readArrayHeader());
+        break;
+      case NIL:
+        token.setType(MsgPackType.NIL);
+        skipValue();
+        break;
+      case BINARY:
+        token.setType(MsgPackType.BINARY);
+        final int binaryLength = readBinaryLength();
+        token.setValue(readBytes(binaryLength), 0, binaryLength);
+        break;
+      case STRING:
+        token.setType(MsgPackType.STRING);
+        final int stringLength = readStringLength();
+        token.setValue(readBytes(stringLength), 0, stringLength);
+        break;
+      case EXTENSION:
+      case NEVER_USED:
+        throw new MsgpackReaderException(
+            String.format("Unknown token format '%s'", format.getType().name()));
+    }
+
+    token.setTotalLength((int) (getPosition() - startPosition));
+
+    return token;
+  }
+
+  /**
+   * @return the number of bytes consumed from the stream so far
+   */
+  public long getPosition() {
+    return windowPosition + offset;
+  }
+
+  public void skipValue() {
+    skipValues(1);
+  }
+
+  public void skipValues(long count) {
+    while (count > 0) {
+      final byte b = readByte();
+      final MsgPackFormat f = MsgPackFormat.valueOf(b);
+
+      switch (f) {
+        case POSFIXINT:
+        case NEGFIXINT:
+        case BOOLEAN:
+        case NIL:
+          break;
+        case FIXMAP:
+          count += (b & 0x0f) * 2L;
+          break;
+        case FIXARRAY:
+          count += b & 0x0f;
+          break;
+        case FIXSTR:
+          skipBytes(b & 0x1f);
+          break;
+        case INT8:
+        case UINT8:
+          skipBytes(1);
+          break;
+        case INT16:
+        case UINT16:
+          skipBytes(2);
+          break;
+        case INT32:
+        case UINT32:
+        case FLOAT32:
+          skipBytes(4);
+          break;
+        case INT64:
+        case UINT64:
+        case FLOAT64:
+          skipBytes(8);
+          break;
+        case BIN8:
+        case STR8:
+          skipBytes(readByte() & 0xff);
+          break;
+        case BIN16:
+        case STR16:
+          skipBytes(readShort() & 0xffff);
+          break;
+        case BIN32:
+        case STR32:
+          skipBytes(ensurePositive(readInt()));
+          break;
+        case FIXEXT1:
+          skipBytes(2);
+          break;
+        case FIXEXT2:
+          skipBytes(3);
+          break;
+        case FIXEXT4:
+          skipBytes(5);
+          break;
+        case FIXEXT8:
+          skipBytes(9);
+          break;
+        case FIXEXT16:
+          skipBytes(17);
+          break;
+        case EXT8:
+          skipBytes(1 + (readByte() & 0xff));
+          break;
+        case EXT16:
+          skipBytes(1 + (readShort() & 0xffff));
+          break;
+        case EXT32:
+          skipBytes(1 + ensurePositive(readInt()));
+          break;
+        case ARRAY16:
+          count += readShort() & 0xffff;
+          break;
+        case ARRAY32:
+          count += ensurePositive(readInt());
+          break;
+        case MAP16:
+          count += (readShort() & 0xffff) * 2L;
+          break;
+        case MAP32:
+          count += ensurePositive(readInt()) * 2L;
+          break;
+        case NEVER_USED:
+          throw new MsgpackReaderException("Encountered 0xC1 \"NEVER_USED\" byte");
+      }
+
+      count--;
+    }
+  }
+
+  public void skipBytes(long length) {
+    while (length > limit - offset) {
+      length -= limit - offset;
+      offset = limit;
+      refill(length);
+    }
+    offset += (int) length;
+  }
+
+  public boolean hasNext() {
+    if (offset < limit) {
+      return true;
+    }
+
+    windowPosition += offset;
+    offset = 0;
+    limit = 0;
+    fill();
+    return offset < limit;
+  }
+
+  private byte readByte() {
+    ensure(1);
+    return window[offset++];
+  }
+
+  private short readShort() {
+    ensure(Short.BYTES);
+    final short value = windowBuffer.getShort(offset, BYTE_ORDER);
+    offset += Short.BYTES;
+    return value;
+  }
+
+  private int readInt() {
+    ensure(Integer.BYTES);
+    final int value = windowBuffer.getInt(offset, BYTE_ORDER);
+    offset += Integer.BYTES;
+    return value;
+  }
+
+  private long readLong() {
+    ensure(Long.BYTES);
+    final long value = windowBuffer.getLong(offset, BYTE_ORDER);
+    offset += Long.BYTES;
+    return value;
+  }
+
+  /** Makes sure that the next {@code length} bytes are in the window, compacting if necessary. */
+  private void ensure(final int length) {
+    if (limit - offset >= length) {
+      return;
+    }
+
+    final int remaining = limit - offset;
+    System.arraycopy(window, offset, window, 0, remaining);
+    windowPosition += offset;
+    offset = 0;
+    limit = remaining;
+
+    while (limit < length) {
+      if (fill() < 0) {
+        throw exceptionOnEndOfStream(length - limit);
+      }
+    }
+  }
+
+  /** Discards the window, which must be fully consumed, and reads at least one new byte. */
+  private void refill(final long missing) {
+    windowPosition += limit;
+    offset = 0;
+    limit = 0;
+
+    while (limit == 0) {
+      if (fill() < 0) {
+        throw exceptionOnEndOfStream(missing);
+      }
+    }
+  }
+
+  private int fill() {
+    if (endOfStream) {
+      return -1;
+    }
+
+    final int read;
+    try {
+      if (inputStream != null) {
+        read = inputStream.read(window, limit, window.length - limit);
+      } else if (channel != null) {
+        channelView.limit(window.length).position(limit);
+        read = channel.read(channelView);
+        if (read == 0) {
+          // a blocking channel reads at least one byte, retrying would spin
+          throw new MsgpackReaderException(
+              String.format(
+                  "Expected a blocking channel, but no bytes were read at position %d",
+                  windowPosition + limit));
+        }
+      } else {
+        read = -1;
+      }
+    } catch (final IOException e) {
+      throw new MsgpackReaderException(
+          String.format("Failed to read from stream at position %d", windowPosition + limit), e);
+    }
+
+    if (read < 0) {
+      endOfStream = true;
+    } else {
+      limit += read;
+    }
+    return read;
+  }
+
+  private MsgpackReaderException exceptionOnEndOfStream(final long missing) {
+    return new MsgpackReaderException(
+        String.format(
+            "Unexpected end of stream at position %d, expected %d more bytes",
+            windowPosition + limit, missing));
+  }
+
+  private MsgpackReaderException exceptionOnUnknownHeader(
+      final String name, final byte headerByte) {
+    return new MsgpackReaderException(
+        String.format(
+            "Unable to determine %s type, found unknown header byte 0x%02x at reader offset %d",
+            name, headerByte, getPosition() - 1));
+  }
+
+  private long ensurePositive(final long size) {
+    try {
+      return MsgPackHelper.ensurePositive(size);
+    } catch (final MsgpackException e) {
+      throw new MsgpackReaderException(e);
+    }
+  }
+}
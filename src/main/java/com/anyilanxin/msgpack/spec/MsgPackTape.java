@@ -0,0 +1,436 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A structural index of an encoded document, built in a single pass. Every value of the document is
+ * an entry on the tape, in document order; the key and the value of a map entry are consecutive
+ * entries. An entry records the type, the offset and the encoded length of the value, the number of
+ * items of a container and the index of the entry following the value and all of its nested values.
+ *
+ * <p>Once built, siblings are skipped in constant time, and values of maps with at least {@link
+ * #MIN_SORTED_KEYS} string keys are looked up by binary search over the sorted keys. Smaller maps
+ * and maps with other keys are scanned. If a key occurs more than once, the first occurrence is
+ * found, as with {@link MsgPackPath}.
+ *
+ * <p>The tape refers to the indexed buffer, which must not change while the tape is in use. A tape
+ * is reusable and grows as needed, but is not thread-safe.
+ */
+public final class MsgPackTape {
+  /** returned for entries that don't exist */
+  public static final int NONE = -1;
+
+  /** maps with fewer string keys are scanned, rather than sorting their keys */
+  public static final int MIN_SORTED_KEYS = 8;
+
+  private static final MsgPackType[] TYPES = MsgPackType.values();
+
+  private static final int TYPE = 0;
+  private static final int OFFSET = 1;
+  private static final int LENGTH = 2;
+  private static final int CHILD_COUNT = 3;
+  private static final int NEXT = 4;
+
+  /** start of the sorted keys of a map in {@link #keys}, or {@link #NONE} */
+  private static final int KEYS = 5;
+
+  private static final int ENTRY_SIZE = 6;
+
+  private final MsgPackReader reader = new MsgPackReader();
+  private final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+
+  private int[] tape = new int[ENTRY_SIZE * 64];
+  private int entryCount;
+
+  /** the entries of the keys of the indexed maps, sorted by the bytes of the keys */
+  private int[] keys = new int[64];
+
+  private int keyCount;
+  private int[] mergeBuffer = new int[0];
+
+  /** the tape positions of the open containers while building */
+  private int[] containers = new int[16];
+
+  /** the number of values the open containers are still waiting for */
+  private long[] remaining = new long[16];
+
+  /**
+   * Indexes the value at the given offset, including all nested values. Any bytes following the
+   * value are ignored.
+   *
+   * @return this tape
+   * @throws MsgpackReaderException if the value is malformed or truncated
+   */
+  public MsgPackTape wrap(final DirectBuffer buffer, final int offset, final int length) {
+    this.buffer.wrap(buffer, offset, length);
+    reader.wrap(buffer, offset, length);
+    entryCount = 0;
+    keyCount = 0;
+
+    int depth = 0;
+    do {
+      if (!reader.hasNext()) {
+        throw new MsgpackReaderException(
+            String.format(
+                "Expected a value at offset %d, but reached the end of the document",
+                reader.getOffset()));
+      }
+
+      final int start = reader.getOffset();
+      final MsgPackType type = MsgPackFormat.valueOf(this.buffer.getByte(start)).type;
+      final int position = appendEntry(type, start);
+
+      if (type == MsgPackType.MAP || type == MsgPackType.ARRAY) {
+        final int size =
+            type == MsgPackType.MAP ? reader.readMapHeader() : reader.readArrayHeader();
+        tape[position + CHILD_COUNT] = size;
+        if (size > 0) {
+          depth = push(depth, position, type == MsgPackType.MAP ? 2L * size : size);
+          continue;
+        }
+      } else {
+        reader.skipValue();
+      }
+      closeEntry(position);
+
+      while (depth > 0 && --remaining[depth - 1] == 0) {
+        depth--;
+        final int container = containers[depth];
+        closeEntry(container);
+        if (tape[container + TYPE] == MsgPackType.MAP.ordinal()) {
+          indexKeys(container);
+        }
+      }
+    } while (depth > 0);
+
+    return this;
+  }
+
+  /**
+   * @return the number of values on the tape; the entries are numbered from 0, the indexed value
+   */
+  public int getEntryCount() {
+    return entryCount;
+  }
+
+  public MsgPackType getType(final int entry) {
+    return TYPES[get(entry, TYPE)];
+  }
+
+  /**
+   * @return the offset of the value, relative to the offset the tape was wrapped with
+   */
+  public int getOffset(final int entry) {
+    return get(entry, OFFSET);
+  }
+
+  /**
+   * @return the length of the encoded value, including nested values of a container
+   */
+  public int getLength(final int entry) {
+    return get(entry, LENGTH);
+  }
+
+  /**
+   * @return the number of items of an array or entries of a map, 0 for any other value
+   */
+  public int getChildCount(final int entry) {
+    return get(entry, CHILD_COUNT);
+  }
+
+  /**
+   * @return the entry following the value and all of its nested values, which is the next sibling
+   *     if the value is not the last one of its container; equals {@link #getEntryCount()} after
+   *     the last value of the tape
+   */
+  public int getNextSibling(final int entry) {
+    return get(entry, NEXT);
+  }
+
+  /**
+   * @return the item of the array at the given index, or {@link #NONE} if the entry is not an array
+   *     or the index is out of bounds
+   */
+  public int getArrayItem(final int array, final int index) {
+    if (getType(array) != MsgPackType.ARRAY || index < 0 || index >= getChildCount(array)) {
+      return NONE;
+    }
+
+    int item = array + 1;
+    for (int i = 0; i < index; i++) {
+      item = tape[item * ENTRY_SIZE + NEXT];
+    }
+    return item;
+  }
+
+  /**
+   * @return the value of the given string key in the map, or {@link #NONE} if the entry is not a
+   *     map or does not contain the key
+   */
+  public int getMapValue(final int map, final DirectBuffer key) {
+    return getMapValue(map, key, 0, key.capacity());
+  }
+
+  /**
+   * @return the value of the given string key in the map, or {@link #NONE} if the entry is not a
+   *     map or does not contain the key
+   */
+  public int getMapValue(
+      final int map, final DirectBuffer key, final int keyOffset, final int keyLength) {
+    if (getType(map) != MsgPackType.MAP) {
+      return NONE;
+    }
+
+    final int size = tape[map * ENTRY_SIZE + CHILD_COUNT];
+    final int sortedKeys = tape[map * ENTRY_SIZE + KEYS];
+    if (sortedKeys != NONE) {
+      return findSortedKey(sortedKeys, size, key, keyOffset, keyLength);
+    }
+
+    int entry = map + 1;
+    for (int i = 0; i < size; i++) {
+      if (compareKey(entry, key, keyOffset, keyLength) == 0) {
+        return entry + 1;
+      }
+      entry = tape[(entry + 1) * ENTRY_SIZE + NEXT];
+    }
+    return NONE;
+  }
+
+  /**
+   * @return the value at the given path, relative to the indexed value, or {@link #NONE} if a key
+   *     is missing, an index is out of bounds or a value on the path is not of the expected
+   *     container type
+   */
+  public int find(final MsgPackPath path) {
+    int entry = entryCount > 0 ? 0 : NONE;
+    for (int step = 0; step < path.getDepth() && entry != NONE; step++) {
+      final DirectBuffer key = path.getKey(step);
+      entry = key != null ? getMapValue(entry, key) : getArrayItem(entry, path.getIndex(step));
+    }
+    return entry;
+  }
+
+  /**
+   * @return the token of the value; valid until the next call
+   */
+  public MsgPackToken readToken(final int entry) {
+    reader.wrap(buffer, getOffset(entry), getLength(entry));
+    return reader.readToken();
+  }
+
+  /**
+   * @return the indexed buffer, wrapping the bytes the tape was built from
+   */
+  public DirectBuffer getBuffer() {
+    return buffer;
+  }
+
+  private int get(final int entry, final int field) {
+    if (entry < 0 || entry >= entryCount) {
+      throw new IndexOutOfBoundsException(
+          String.format("Entry %d is out of bounds of a tape of %d entries", entry, entryCount));
+    }
+    return tape[entry * ENTRY_SIZE + field];
+  }
+
+  /**
+   * @return the position of the new entry on the tape
+   */
+  private int appendEntry(final MsgPackType type, final int offset) {
+    final int position = entryCount * ENTRY_SIZE;
+    if (position == tape.length) {
+      tape = Arrays.copyOf(tape, tape.length * 2);
+    }
+
+    tape[position + TYPE] = type.ordinal();
+    tape[position + OFFSET] = offset;
+    tape[position + CHILD_COUNT] = 0;
+    tape[position + KEYS] = NONE;
+    entryCount++;
+    return position;
+  }
+
+  /** completes the entry at the given tape position, once the reader has passed its value */
+  private void closeEntry(final int position) {
+    if (reader.getOffset() > buffer.capacity()) {
+      throw new MsgpackReaderException(
+          String.format(
+              "Expected the value at offset %d to end at offset %d, but reached the end of the"
+                  + " document at offset %d",
+              tape[position + OFFSET], reader.getOffset(), buffer.capacity()));
+    }
+    tape[position + LENGTH] = reader.getOffset() - tape[position + OFFSET];
+    tape[position + NEXT] = entryCount;
+  }
+
+  private int push(final int depth, final int position, final long values) {
+    if (depth == containers.length) {
+      containers = Arrays.copyOf(containers, depth * 2);
+      remaining = Arrays.copyOf(remaining, depth * 2);
+    }
+    containers[depth] = position;
+    remaining[depth] = values;
+    return depth + 1;
+  }
+
+  private void indexKeys(final int position) {
+    final int size = tape[position + CHILD_COUNT];
+    if (size < MIN_SORTED_KEYS) {
+      return;
+    }
+
+    if (keyCount + size > keys.length) {
+      keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keyCount + size));
+    }
+
+    int entry = position / ENTRY_SIZE + 1;
+    for (int i = 0; i < size; i++) {
+      if (tape[entry * ENTRY_SIZE + TYPE] != MsgPackType.STRING.ordinal()) {
+        return;
+      }
+      keys[keyCount + i] = entry;
+      entry = tape[(entry + 1) * ENTRY_SIZE + NEXT];
+    }
+
+    sortKeys(keyCount, size);
+    tape[position + KEYS] = keyCount;
+    keyCount += size;
+  }
+
+  /** a stable bottom-up merge sort, so that the first of equal keys stays first */
+  private void sortKeys(final int from, final int size) {
+    if (mergeBuffer.length < size) {
+      mergeBuffer = new int[Math.max(size, mergeBuffer.length * 2)];
+    }
+
+    int[] source = keys;
+    int sourceFrom = from;
+    int[] target = mergeBuffer;
+    int targetFrom = 0;
+
+    for (int width = 1; width < size; width *= 2) {
+      for (int low = 0; low < size; low += 2 * width) {
+        final int middle = Math.min(low + width, size);
+        final int high = Math.min(low + 2 * width, size);
+
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+          if (left < middle
+              && (right >= high
+                  || compareKeys(source[sourceFrom + left], source[sourceFrom + right]) <= 0)) {
+            target[targetFrom + i] = source[sourceFrom + left++];
+          } else {
+            target[targetFrom + i] = source[sourceFrom + right++];
+          }
+        }
+      }
+
+      final int[] swap = source;
+      source = target;
+      target = swap;
+      final int swapFrom = sourceFrom;
+      sourceFrom = targetFrom;
+      targetFrom = swapFrom;
+    }
+
+    if (source != keys) {
+      System.arraycopy(source, sourceFrom, keys, from, size);
+    }
+  }
+
+  /** binary search for the first of the sorted keys that equals the given key */
+  private int findSortedKey(
+      final int from,
+      final int size,
+      final DirectBuffer key,
+      final int keyOffset,
+      final int keyLength) {
+    int low = from;
+    int high = from + size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (compareKey(keys[middle], key, keyOffset, keyLength) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    if (low < from + size && compareKey(keys[low], key, keyOffset, keyLength) == 0) {
+      return keys[low] + 1;
+    }
+    return NONE;
+  }
+
+  private int compareKeys(final int entry, final int other) {
+    final int otherOffset = getStringOffset(other);
+    final int otherLength = tape[other * ENTRY_SIZE + LENGTH] - (otherOffset - getOffset(other));
+    return compareKey(entry, buffer, otherOffset, otherLength);
+  }
+
+  /**
+   * Compares the bytes of the string value of the entry with the key, unsigned and byte by byte,
+   * the shorter one first if one is the prefix of the other. Any other value is ordered first.
+   */
+  private int compareKey(
+      final int entry, final DirectBuffer key, final int keyOffset, final int keyLength) {
+    if (tape[entry * ENTRY_SIZE + TYPE] != MsgPackType.STRING.ordinal()) {
+      return -1;
+    }
+
+    final int offset = getStringOffset(entry);
+    final int length = tape[entry * ENTRY_SIZE + LENGTH] - (offset - getOffset(entry));
+    final int common = Math.min(length, keyLength);
+
+    int i = 0;
+    for (; i + Long.BYTES <= common; i += Long.BYTES) {
+      final long word = buffer.getLong(offset + i, ByteOrder.BIG_ENDIAN);
+      final long keyWord = key.getLong(keyOffset + i, ByteOrder.BIG_ENDIAN);
+      if (word != keyWord) {
+        return Long.compareUnsigned(word, keyWord);
+      }
+    }
+    for (; i < common; i++) {
+      final int difference =
+          (buffer.getByte(offset + i) & 0xFF) - (key.getByte(keyOffset + i) & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return Integer.compare(length, keyLength);
+  }
+
+  /**
+   * @return the offset of the bytes of the string value of the entry
+   */
+  private int getStringOffset(final int entry) {
+    final int offset = tape[entry * ENTRY_SIZE + OFFSET];
+    final byte header = buffer.getByte(offset);
+    if (MsgPackCodes.isFixStr(header)) {
+      return offset + 1;
+    }
+    return switch (header) {
+      case MsgPackCodes.STR8 -> offset + 2;
+      case MsgPackCodes.STR16 -> offset + 3;
+      default -> offset + 5;
+    };
+  }
+}
@@ -21,21 +21,104 @@ import static org.agrona.BitUtil.*;
 
 import com.anyilanxin.msgpack.execption.MsgpackException;
 import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import com.anyilanxin.msgpack.spec.MsgPackSink.ChannelSink;
+import com.anyilanxin.msgpack.spec.MsgPackSink.OutputStreamSink;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * This class uses signed value semantics. That means, an integer 0xffff_ffff is treated as -1
  * instead of 2^33 - 1, etc.
+ *
+ * <p>When wrapping an expandable buffer (e.g. {@link org.agrona.ExpandableArrayBuffer} or {@link
+ * org.agrona.ExpandableDirectByteBuffer}), the buffer grows on demand, so it does not have to be
+ * pre-sized. For any other buffer a write beyond its capacity fails with a {@link
+ * MsgpackWriterException}.
+ *
+ * <p>When wrapping an {@link OutputStream} or a {@link WritableByteChannel}, values are collected
+ * in a fixed-size chunk that is flushed whenever it is full, so memory use is bounded regardless of
+ * the document size. Call {@link #flush()} after the last value. Offsets are then positions in the
+ * stream, and a reserved map header can only be written as long as it was not flushed yet.
  */
 public final class MsgPackWriter {
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+  /** a chunk has to hold at least the largest header and fixed-size value */
+  private static final int MIN_CHUNK_SIZE = 16;
+
   private MutableDirectBuffer buffer;
+  private boolean expandable;
+  private int startOffset;
   private int offset;
 
+  private MsgPackSink sink;
+  private byte[] chunk;
+  private final UnsafeBuffer chunkBuffer = new UnsafeBuffer(0, 0);
+  private long flushedLength;
+
   public MsgPackWriter wrap(final MutableDirectBuffer buffer, final int offset) {
     this.buffer = buffer;
+    expandable = buffer.isExpandable();
+    startOffset = offset;
     this.offset = offset;
+    sink = null;
+    flushedLength = 0;
+
+    return this;
+  }
+
+  public MsgPackWriter wrap(final OutputStream outputStream) {
+    return wrap(outputStream, DEFAULT_CHUNK_SIZE);
+  }
+
+  public MsgPackWriter wrap(final OutputStream outputStream, final int chunkSize) {
+    return wrap(new OutputStreamSink(outputStream), chunkSize);
+  }
+
+  public MsgPackWriter wrap(final WritableByteChannel channel) {
+    return wrap(channel, DEFAULT_CHUNK_SIZE);
+  }
 
+  public MsgPackWriter wrap(final WritableByteChannel channel, final int chunkSize) {
+    return wrap(new ChannelSink(channel), chunkSize);
+  }
+
+  private MsgPackWriter wrap(final MsgPackSink sink, final int chunkSize) {
+    if (chunkSize < MIN_CHUNK_SIZE) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected chunk size to be at least %d bytes, but was %d",
+              MIN_CHUNK_SIZE, chunkSize));
+    }
+
+    if (chunk == null || chunk.length != chunkSize) {
+      chunk = new byte[chunkSize];
+      chunkBuffer.wrap(chunk);
+    }
+
+    wrap(chunkBuffer, 0);
+    this.sink = sink;
+    return this;
+  }
+
+  /**
+   * Writes the chunk to the wrapped stream or channel and flushes it. Does nothing when writing to
+   * a buffer.
+   */
+  public MsgPackWriter flush() {
+    if (sink != null) {
+      try {
+        drainChunk();
+        sink.flush();
+      } catch (final IOException e) {
+        throw new MsgpackWriterException(
+            String.format("Failed to flush stream at position %d", flushedLength), e);
+      }
+    }
     return this;
   }
 
@@ -43,15 +126,18 @@ public final class MsgPackWriter {
     ensurePositive(size);
 
     if (size < (1 << 4)) {
+      ensureCapacity(1);
       buffer.putByte(offset, (byte) (FIXARRAY_PREFIX | size));
       ++offset;
     } else if (size < (1 << 16)) {
+      ensureCapacity(3);
       buffer.putByte(offset, ARRAY16);
       ++offset;
 
       buffer.putShort(offset, (short) size, BYTE_ORDER);
       offset += SIZE_OF_SHORT;
     } else {
+      ensureCapacity(5);
       buffer.putByte(offset, ARRAY32);
       ++offset;
 
@@ -66,15 +152,18 @@ public final class MsgPackWriter {
     ensurePositive(size);
 
     if (size < (1 << 4)) {
+      ensureCapacity(1);
       buffer.putByte(offset, (byte) (FIXMAP_PREFIX | size));
       ++offset;
     } else if (size < (1 << 16)) {
+      ensureCapacity(3);
       buffer.putByte(offset, MAP16);
       ++offset;
 
       buffer.putShort(offset, (short) size, MsgPackCodes.BYTE_ORDER);
       offset += SIZE_OF_SHORT;
     } else {
+      ensureCapacity(5);
       offset = writeMap32Header(offset, size);
     }
 
@@ -96,12 +185,87 @@ public final class MsgPackWriter {
    * method and then use {@link #writeReservedMapHeader(int, int)} later.
    */
   public void reserveMapHeader() {
+    ensureCapacity(5);
     offset = writeMap32Header(offset, 0);
   }
 
   /** does not change the writer's offset */
   public void writeReservedMapHeader(final int offset, final int size) {
-    writeMap32Header(offset, size);
+    writeMap32Header(toChunkOffset(offset), size);
+  }
+
+  /**
+   * Like {@link #reserveMapHeader()}, but for an array. Record the offset before calling this
+   * method and then use {@link #writeReservedArrayHeader(int, int)} later.
+   */
+  public void reserveArrayHeader() {
+    ensureCapacity(5);
+    offset = writeArray32Header(offset, 0);
+  }
+
+  /** does not change the writer's offset */
+  public void writeReservedArrayHeader(final int offset, final int size) {
+    writeArray32Header(toChunkOffset(offset), size);
+  }
+
+  /**
+   * Replaces a reserved map or array header at the given offset, which was already written with its
+   * final size, by the shortest header for that size. Everything written after the header is moved
+   * towards it, so the writer's offset decreases by the bytes saved.
+   */
+  public void compactReservedHeader(final int offset) {
+    final int headerOffset = toChunkOffset(offset);
+    final byte headerByte = buffer.getByte(headerOffset);
+    final int size = buffer.getInt(headerOffset + SIZE_OF_BYTE, BYTE_ORDER);
+    final boolean isMap = headerByte == MAP32;
+    if (!isMap && headerByte != ARRAY32) {
+      throw new MsgpackWriterException(
+          String.format(
+              "Expected a reserved map or array header at offset %d, but found 0x%02x",
+              offset, headerByte));
+    }
+
+    final int headerLength =
+        isMap ? getEncodedMapHeaderLenght(size) : getEncodedArrayHeaderLenght(size);
+    final int saved = SIZE_OF_BYTE + SIZE_OF_INT - headerLength;
+    if (saved == 0) {
+      return;
+    }
+
+    final int contentOffset = headerOffset + SIZE_OF_BYTE + SIZE_OF_INT;
+    buffer.putBytes(
+        headerOffset + headerLength, buffer, contentOffset, this.offset - contentOffset);
+    this.offset -= saved;
+
+    if (size < (1 << 4)) {
+      buffer.putByte(headerOffset, (byte) ((isMap ? FIXMAP_PREFIX : FIXARRAY_PREFIX) | size));
+    } else {
+      buffer.putByte(headerOffset, isMap ? MAP16 : ARRAY16);
+      buffer.putShort(headerOffset + SIZE_OF_BYTE, (short) size, BYTE_ORDER);
+    }
+  }
+
+  private int writeArray32Header(int offset, final int size) {
+    buffer.putByte(offset, ARRAY32);
+    ++offset;
+
+    buffer.putInt(offset, size, BYTE_ORDER);
+    offset += SIZE_OF_INT;
+
+    return offset;
+  }
+
+  /** translates an absolute offset into the chunk, which must not be flushed yet */
+  private int toChunkOffset(final int offset) {
+    final long chunkOffset = offset - flushedLength;
+    if (chunkOffset < 0) {
+      throw new MsgpackWriterException(
+          String.format(
+              "Expected to write reserved header at offset %d, but the stream was already"
+                  + " flushed up to offset %d",
+              offset, flushedLength));
+    }
+    return (int) chunkOffset;
   }
 
   public MsgPackWriter writeRaw(final DirectBuffer buffer) {
@@ -109,6 +273,12 @@ public final class MsgPackWriter {
   }
 
   public MsgPackWriter writeRaw(final DirectBuffer buff, final int offset, final int length) {
+    if (sink != null && length >= chunk.length) {
+      writeThrough(buff, offset, length);
+      return this;
+    }
+
+    ensureCapacity(length);
     buffer.putBytes(this.offset, buff, offset, length);
     this.offset += length;
 
@@ -135,11 +305,13 @@ public final class MsgPackWriter {
     if (v < -(1L << 5)) {
       if (v < -(1L << 15)) {
         if (v < -(1L << 31)) {
+          ensureCapacity(9);
           buffer.putByte(offset, INT64);
           ++offset;
           buffer.putLong(offset, v, BYTE_ORDER);
           offset += SIZE_OF_LONG;
         } else {
+          ensureCapacity(5);
           buffer.putByte(offset, INT32);
           ++offset;
           buffer.putInt(offset, (int) v, BYTE_ORDER);
@@ -147,11 +319,13 @@ public final class MsgPackWriter {
         }
       } else {
         if (v < -(1 << 7)) {
+          ensureCapacity(3);
           buffer.putByte(offset, INT16);
           ++offset;
           buffer.putShort(offset, (short) v, BYTE_ORDER);
           offset += SIZE_OF_SHORT;
         } else {
+          ensureCapacity(2);
           buffer.putByte(offset, INT8);
           ++offset;
           buffer.putByte(offset, (byte) v);
@@ -159,16 +333,19 @@ public final class MsgPackWriter {
         }
       }
     } else if (v < (1 << 7)) {
+      ensureCapacity(1);
       buffer.putByte(offset, (byte) v);
       ++offset;
     } else {
       if (v < (1L << 16)) {
         if (v < (1 << 8)) {
+          ensureCapacity(2);
           buffer.putByte(offset, UINT8);
           ++offset;
           buffer.putByte(offset, (byte) v);
           ++offset;
         } else {
+          ensureCapacity(3);
           buffer.putByte(offset, UINT16);
           ++offset;
           buffer.putShort(offset, (short) v, BYTE_ORDER);
@@ -176,11 +353,13 @@ public final class MsgPackWriter {
         }
       } else {
         if (v < (1L << 32)) {
+          ensureCapacity(5);
           buffer.putByte(offset, UINT32);
           ++offset;
           buffer.putInt(offset, (int) v, BYTE_ORDER);
           offset += SIZE_OF_INT;
         } else {
+          ensureCapacity(9);
           buffer.putByte(offset, UINT64);
           ++offset;
           buffer.putLong(offset, v, BYTE_ORDER);
@@ -194,21 +373,25 @@ public final class MsgPackWriter {
   public MsgPackWriter writeStringHeader(final int len) {
     ensurePositive(len);
     if (len < (1 << 5)) {
+      ensureCapacity(1);
       buffer.putByte(offset, (byte) (FIXSTR_PREFIX | len));
       ++offset;
     } else if (len < (1 << 8)) {
+      ensureCapacity(2);
       buffer.putByte(offset, STR8);
       ++offset;
 
       buffer.putByte(offset, (byte) len);
       ++offset;
     } else if (len < (1 << 16)) {
+      ensureCapacity(3);
       buffer.putByte(offset, STR16);
       ++offset;
 
       buffer.putShort(offset, (short) len, BYTE_ORDER);
       offset += SIZE_OF_SHORT;
     } else {
+      ensureCapacity(5);
       buffer.putByte(offset, STR32);
       ++offset;
 
@@ -232,18 +415,21 @@ public final class MsgPackWriter {
   public MsgPackWriter writeBinaryHeader(final int len) {
     ensurePositive(len);
     if (len < (1 << 8)) {
+      ensureCapacity(2);
       buffer.putByte(offset, BIN8);
       ++offset;
 
       buffer.putByte(offset, (byte) len);
       ++offset;
     } else if (len < (1 << 16)) {
+      ensureCapacity(3);
       buffer.putByte(offset, BIN16);
       ++offset;
 
       buffer.putShort(offset, (short) len, BYTE_ORDER);
       offset += SIZE_OF_SHORT;
     } else {
+      ensureCapacity(5);
       buffer.putByte(offset, BIN32);
       ++offset;
 
@@ -255,6 +441,7 @@ public final class MsgPackWriter {
   }
 
   public MsgPackWriter writeBoolean(final boolean val) {
+    ensureCapacity(1);
     buffer.putByte(offset, val ? TRUE : FALSE);
     ++offset;
 
@@ -262,6 +449,7 @@ public final class MsgPackWriter {
   }
 
   public MsgPackWriter writeNil() {
+    ensureCapacity(1);
     buffer.putByte(offset, NIL);
     ++offset;
 
@@ -279,12 +467,14 @@ public final class MsgPackWriter {
     final float floatValue = (float) value;
 
     if ((double) floatValue == value) {
+      ensureCapacity(5);
       buffer.putByte(offset, FLOAT32);
       ++offset;
 
       buffer.putFloat(offset, floatValue, BYTE_ORDER);
       offset += SIZE_OF_FLOAT;
     } else {
+      ensureCapacity(9);
       buffer.putByte(offset, FLOAT64);
       ++offset;
 
@@ -295,8 +485,20 @@ public final class MsgPackWriter {
     return this;
   }
 
+  /**
+   * @return the offset in the buffer, or the position in the stream or channel
+   * @throws ArithmeticException if more than {@link Integer#MAX_VALUE} bytes have been streamed
+   */
   public int getOffset() {
-    return offset;
+    return Math.toIntExact(flushedLength + offset);
+  }
+
+  /**
+   * @return the number of bytes written since the buffer, stream or channel was wrapped
+   * @throws ArithmeticException if more than {@link Integer#MAX_VALUE} bytes have been streamed
+   */
+  public int getWrittenLength() {
+    return Math.toIntExact(flushedLength + offset - startOffset);
   }
 
   public static int getEncodedMapHeaderLenght(final int size) {
@@ -385,6 +587,13 @@ public final class MsgPackWriter {
     return length;
   }
 
+  /**
+   * @return the length of the value as written by {@link #writeFloat(double)}
+   */
+  public static int getEncodedFloatValueLength(final double v) {
+    return 1 + ((double) (float) v == v ? SIZE_OF_FLOAT : SIZE_OF_DOUBLE);
+  }
+
   public static int getEncodedBooleanValueLength() {
     return 1;
   }
@@ -403,6 +612,52 @@ public final class MsgPackWriter {
     return headerLength + len;
   }
 
+  private void ensureCapacity(final int length) {
+    if (offset + (long) length > buffer.capacity()) {
+      expand(offset + (long) length);
+    }
+  }
+
+  private void expand(final long limit) {
+    if (sink != null) {
+      try {
+        drainChunk();
+      } catch (final IOException e) {
+        throw new MsgpackWriterException(
+            String.format("Failed to write to stream at position %d", flushedLength), e);
+      }
+      return;
+    }
+
+    if (!expandable || limit > Integer.MAX_VALUE) {
+      throw new MsgpackWriterException(
+          String.format(
+              "Expected to write %d bytes at offset %d, but buffer capacity is %d",
+              limit - offset, offset, buffer.capacity()));
+    }
+    buffer.checkLimit((int) limit);
+  }
+
+  private void drainChunk() throws IOException {
+    if (offset > 0) {
+      sink.write(chunk, offset);
+      flushedLength += offset;
+      offset = 0;
+    }
+  }
+
+  /** Hands a payload that does not fit into the chunk to the sink together with the chunk. */
+  private void writeThrough(final DirectBuffer payload, final int payloadOffset, final int length) {
+    try {
+      sink.write(chunk, offset, payload, payloadOffset, length);
+      flushedLength += offset + (long) length;
+      offset = 0;
+    } catch (final IOException e) {
+      throw new MsgpackWriterException(
+          String.format("Failed to write to stream at position %d", flushedLength), e);
+    }
+  }
+
   private void ensurePositive(final long size) {
     try {
       MsgPackHelper.ensurePositive(size);
@@ -81,6 +81,27 @@ public final class BufferUtil {
     }
   }
 
+  /** Compares two buffer regions of the same length, eight bytes at a time. */
+  public static boolean contentsEqual(
+      final DirectBuffer buffer1,
+      final int offset1,
+      final DirectBuffer buffer2,
+      final int offset2,
+      final int length) {
+    int i = 0;
+    for (; i + Long.BYTES <= length; i += Long.BYTES) {
+      if (buffer1.getLong(offset1 + i) != buffer2.getLong(offset2 + i)) {
+        return false;
+      }
+    }
+    for (; i < length; i++) {
+      if (buffer1.getByte(offset1 + i) != buffer2.getByte(offset2 + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Creates a new instance of the src buffer class and copies the underlying bytes.
    *
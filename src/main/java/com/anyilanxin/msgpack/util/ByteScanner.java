@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.util;
+
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+
+/**
+ * Scans buffers for the rare bytes which need special treatment, e.g. non-ASCII bytes when
+ * validating UTF-8 or bytes which must be escaped in JSON strings.
+ *
+ * <p>Buffers backed by a byte array are scanned with the incubating Vector API, a full vector of
+ * bytes at a time, if the module {@code jdk.incubator.vector} is present (run with {@code
+ * --add-modules jdk.incubator.vector}). Other buffers and the remaining tail are scanned eight
+ * bytes at a time with word-wise bit tricks.
+ */
+public final class ByteScanner {
+  public static final boolean VECTORIZED =
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+          && !Boolean.getBoolean("com.anyilanxin.msgpack.disableVectorization");
+
+  private static final long ONES = 0x0101_0101_0101_0101L;
+  private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+  private static final long QUOTES = ONES * '"';
+  private static final long BACKSLASHES = ONES * '\\';
+  private static final long SPACES = ONES * ' ';
+
+  private ByteScanner() {}
+
+  /**
+   * @return the index of the first byte in the range which is not ASCII, or the end of the range
+   */
+  public static int indexOfNonAscii(final DirectBuffer buffer, int index, final int end) {
+    final byte[] array = buffer.byteArray();
+    if (VECTORIZED && array != null) {
+      final int adjustment = buffer.wrapAdjustment();
+      index = VectorByteScanner.indexOfNonAscii(array, adjustment + index, adjustment + end);
+      index -= adjustment;
+    }
+
+    for (; index + Long.BYTES <= end; index += Long.BYTES) {
+      final long nonAscii = buffer.getLong(index, ByteOrder.LITTLE_ENDIAN) & HIGH_BITS;
+      if (nonAscii != 0) {
+        return index + (Long.numberOfTrailingZeros(nonAscii) >>> 3);
+      }
+    }
+
+    for (; index < end; index++) {
+      if (buffer.getByte(index) < 0) {
+        return index;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * @return the index of the first byte in the range which must be escaped in a JSON string - a
+   *     control character, a quote or a backslash - or the end of the range
+   */
+  public static int indexOfJsonEscape(final DirectBuffer buffer, int index, final int end) {
+    final byte[] array = buffer.byteArray();
+    if (VECTORIZED && array != null) {
+      final int adjustment = buffer.wrapAdjustment();
+      index = VectorByteScanner.indexOfJsonEscape(array, adjustment + index, adjustment + end);
+      index -= adjustment;
+    }
+
+    for (; index + Long.BYTES <= end; index += Long.BYTES) {
+      final long word = buffer.getLong(index, ByteOrder.LITTLE_ENDIAN);
+      // the lowest flagged byte is exact, borrows only flag bytes above it
+      final long escape =
+          ((word - SPACES) & ~word | zeroBytes(word ^ QUOTES) | zeroBytes(word ^ BACKSLASHES))
+              & HIGH_BITS;
+      if (escape != 0) {
+        return index + (Long.numberOfTrailingZeros(escape) >>> 3);
+      }
+    }
+
+    for (; index < end; index++) {
+      final byte b = buffer.getByte(index);
+      if ((b >= 0 && b < 0x20) || b == '"' || b == '\\') {
+        return index;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * @return the index of the first byte in the range which is not a MessagePack fixint, i.e. not in
+   *     0x00 - 0x7f or 0xe0 - 0xff, or the end of the range
+   */
+  public static int indexOfNonFixInt(final DirectBuffer buffer, int index, final int end) {
+    final byte[] array = buffer.byteArray();
+    if (VECTORIZED && array != null) {
+      final int adjustment = buffer.wrapAdjustment();
+      index = VectorByteScanner.indexOfNonFixInt(array, adjustment + index, adjustment + end);
+      index -= adjustment;
+    }
+
+    for (; index + Long.BYTES <= end; index += Long.BYTES) {
+      final long word = buffer.getLong(index, ByteOrder.LITTLE_ENDIAN);
+      // negative bytes, unless their three highest bits are set
+      final long nonFixInt = word & ~(word << 1 & word << 2) & HIGH_BITS;
+      if (nonFixInt != 0) {
+        return index + (Long.numberOfTrailingZeros(nonFixInt) >>> 3);
+      }
+    }
+
+    for (; index < end; index++) {
+      if (buffer.getByte(index) < -32) {
+        return index;
+      }
+    }
+    return end;
+  }
+
+  /** flags the zero bytes of the word in their high bit, see "Bit Twiddling Hacks" */
+  private static long zeroBytes(final long word) {
+    return (word - ONES) & ~word;
+  }
+}
@@ -16,6 +16,8 @@ import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsArray;
 import static com.anyilanxin.msgpack.util.StringUtil.getBytes;
 
 import com.anyilanxin.msgpack.JsonSerializable;
+import com.anyilanxin.msgpack.json.JsonToMsgPackTranscoder;
+import com.anyilanxin.msgpack.json.MsgPackToJsonTranscoder;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -28,6 +30,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public final class MsgPackUtil {
@@ -37,7 +41,6 @@ public final class MsgPackUtil {
           .maxNumberLength(Integer.MAX_VALUE)
           .maxNestingDepth(Integer.MAX_VALUE)
           .build();
-  private static final JsonEncoding JSON_ENCODING = JsonEncoding.UTF8;
   private static final Charset JSON_CHARSET = StandardCharsets.UTF_8;
   private static final TypeReference<HashMap<String, Object>> OBJECT_MAP_TYPE_REFERENCE =
       new TypeReference<>() {};
@@ -64,53 +67,25 @@ public final class MsgPackUtil {
 
   public static byte[] convertToMsgPack(final String json) {
     final byte[] jsonBytes = getBytes(json, JSON_CHARSET);
-    final ByteArrayInputStream inputStream = new ByteArrayInputStream(jsonBytes);
-    return convertToMsgPack(inputStream);
+    final ExpandableArrayBuffer msgPack = new ExpandableArrayBuffer(jsonBytes.length);
+    final int length =
+        new JsonToMsgPackTranscoder()
+            .transcode(new UnsafeBuffer(jsonBytes), 0, jsonBytes.length, msgPack, 0);
+
+    final byte[] bytes = new byte[length];
+    msgPack.getBytes(0, bytes);
+    return bytes;
   }
 
   public static String convertToJson(final DirectBuffer buffer) {
-    return convertToJson(bufferAsArray(buffer));
+    final ExpandableArrayBuffer json = new ExpandableArrayBuffer(buffer.capacity() * 2);
+    final int length =
+        new MsgPackToJsonTranscoder().transcode(buffer, 0, buffer.capacity(), json, 0);
+    return json.getStringWithoutLengthUtf8(0, length);
   }
 
   public static String convertToJson(final byte[] msgPack) {
-    return convertToJson(new ByteArrayInputStream(msgPack));
-  }
-
-  private static String convertToJson(final InputStream msgPackInputStream) {
-    final byte[] jsonBytes = convertToJsonBytes(msgPackInputStream);
-    return new String(jsonBytes, JSON_CHARSET);
-  }
-
-  private static byte[] convertToJsonBytes(final byte[] msgPack) {
-    final InputStream inputStream = new ByteArrayInputStream(msgPack);
-    return convertToJsonBytes(inputStream);
-  }
-
-  private static byte[] convertToJsonBytes(final InputStream msgPackInputStream) {
-    try (final ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(msgPackInputStream, outputStream, MESSAGE_PACK_FACTORY, JSON_FACTORY);
-      return outputStream.toByteArray();
-    } catch (final Exception e) {
-      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
-    }
-  }
-
-  private static void convert(
-      final InputStream in,
-      final OutputStream out,
-      final JsonFactory inFormat,
-      final JsonFactory outFormat)
-      throws Exception {
-    try (final JsonParser parser = inFormat.createParser(in);
-        final JsonGenerator generator = outFormat.createGenerator(out, JSON_ENCODING)) {
-      final JsonToken token = parser.nextToken();
-      if (!token.isStructStart() && !token.isScalarValue()) {
-        throw new RuntimeException(
-            "Document does not begin with an object, an array, or a scalar value");
-      }
-      generator.copyCurrentStructure(parser);
-      generator.flush();
-    }
+    return convertToJson(new UnsafeBuffer(msgPack));
   }
 
   public static Map<String, Object> convertToMap(final DirectBuffer buffer) {
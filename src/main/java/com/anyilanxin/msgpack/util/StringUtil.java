@@ -55,4 +55,27 @@ public final class StringUtil {
     Arrays.fill(chars, 'a');
     return new String(chars);
   }
+
+  /** Appends the string with the characters escaped which are not allowed in JSON strings. */
+  public static void appendJsonEscaped(final StringBuilder builder, final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      switch (c) {
+        case '"' -> builder.append("\\\"");
+        case '\\' -> builder.append("\\\\");
+        case '\b' -> builder.append("\\b");
+        case '\f' -> builder.append("\\f");
+        case '\n' -> builder.append("\\n");
+        case '\r' -> builder.append("\\r");
+        case '\t' -> builder.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            builder.append(String.format("\\u%04x", (int) c));
+          } else {
+            builder.append(c);
+          }
+        }
+      }
+    }
+  }
 }
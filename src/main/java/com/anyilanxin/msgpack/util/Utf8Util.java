@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.util;
+
+import org.agrona.DirectBuffer;
+
+public final class Utf8Util {
+
+  private Utf8Util() {}
+
+  /**
+   * Checks that the bytes are well-formed UTF-8, i.e. without overlong encodings, surrogates or
+   * code points above U+10FFFF. Runs of ASCII are skipped by {@link ByteScanner}, so only the
+   * multi-byte sequences are checked byte by byte.
+   */
+  public static boolean isValidUtf8(final DirectBuffer buffer, final int offset, final int length) {
+    final int end = offset + length;
+    int index = ByteScanner.indexOfNonAscii(buffer, offset, end);
+
+    while (index < end) {
+      final int lead = buffer.getByte(index) & 0xFF;
+      if (lead < 0x80) {
+        index = ByteScanner.indexOfNonAscii(buffer, index + 1, end);
+        continue;
+      }
+
+      final int continuations;
+      int min = 0x80;
+      int max = 0xBF;
+      if (lead >= 0xC2 && lead <= 0xDF) {
+        continuations = 1;
+      } else if (lead >= 0xE0 && lead <= 0xEF) {
+        continuations = 2;
+        if (lead == 0xE0) {
+          min = 0xA0;
+        } else if (lead == 0xED) {
+          max = 0x9F;
+        }
+      } else if (lead >= 0xF0 && lead <= 0xF4) {
+        continuations = 3;
+        if (lead == 0xF0) {
+          min = 0x90;
+        } else if (lead == 0xF4) {
+          max = 0x8F;
+        }
+      } else {
+        return false;
+      }
+
+      if (index + continuations >= end) {
+        return false;
+      }
+
+      // the range of the first continuation byte excludes overlong encodings and surrogates
+      final int first = buffer.getByte(index + 1) & 0xFF;
+      if (first < min || first > max) {
+        return false;
+      }
+      for (int i = 2; i <= continuations; i++) {
+        if ((buffer.getByte(index + i) & 0xC0) != 0x80) {
+          return false;
+        }
+      }
+      index += continuations + 1;
+    }
+    return true;
+  }
+}
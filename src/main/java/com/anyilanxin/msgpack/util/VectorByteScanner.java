@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vectorized kernels of {@link ByteScanner}. Only loaded if the module {@code
+ * jdk.incubator.vector} is present, so the other classes must not refer to it otherwise.
+ */
+final class VectorByteScanner {
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+  private VectorByteScanner() {}
+
+  static int lanes() {
+    return SPECIES.length();
+  }
+
+  /**
+   * @return the index of the first negative byte, or the first index not scanned if there is none;
+   *     the bytes from there to the end are left to the caller
+   */
+  static int indexOfNonAscii(final byte[] array, int index, final int end) {
+    final int bound = index + SPECIES.loopBound(end - index);
+    for (; index < bound; index += SPECIES.length()) {
+      final ByteVector bytes = ByteVector.fromArray(SPECIES, array, index);
+      final VectorMask<Byte> nonAscii = bytes.compare(VectorOperators.LT, (byte) 0);
+      if (nonAscii.anyTrue()) {
+        return index + nonAscii.firstTrue();
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return the index of the first byte which must be escaped in a JSON string, or the first index
+   *     not scanned if there is none; the bytes from there to the end are left to the caller
+   */
+  static int indexOfJsonEscape(final byte[] array, int index, final int end) {
+    final int bound = index + SPECIES.loopBound(end - index);
+    for (; index < bound; index += SPECIES.length()) {
+      final ByteVector bytes = ByteVector.fromArray(SPECIES, array, index);
+      final VectorMask<Byte> escape =
+          bytes
+              .compare(VectorOperators.UNSIGNED_LT, (byte) 0x20)
+              .or(bytes.compare(VectorOperators.EQ, (byte) '"'))
+              .or(bytes.compare(VectorOperators.EQ, (byte) '\\'));
+      if (escape.anyTrue()) {
+        return index + escape.firstTrue();
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return the index of the first byte which is not a positive or negative fixint, or the first
+   *     index not scanned if there is none; the bytes from there to the end are left to the caller
+   */
+  static int indexOfNonFixInt(final byte[] array, int index, final int end) {
+    final int bound = index + SPECIES.loopBound(end - index);
+    for (; index < bound; index += SPECIES.length()) {
+      final ByteVector bytes = ByteVector.fromArray(SPECIES, array, index);
+      // fixints are 0x00 - 0x7f and 0xe0 - 0xff, i.e. -32 - 127 as signed bytes
+      final VectorMask<Byte> nonFixInt = bytes.compare(VectorOperators.LT, (byte) -32);
+      if (nonFixInt.anyTrue()) {
+        return index + nonFixInt.firstTrue();
+      }
+    }
+    return index;
+  }
+}
@@ -18,6 +18,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedArrayHeaderLenght;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.*;
@@ -26,6 +27,7 @@ import java.util.function.Supplier;
 public class ArrayValue<T extends BaseValue> extends BaseValue
     implements Iterable<T>, RandomAccess {
   private final List<T> items;
+  private final List<T> recycledItems;
   private final Supplier<T> valueFactory;
 
   public ArrayValue(final Supplier<T> valueFactory) {
@@ -38,11 +40,21 @@ public class ArrayValue<T extends BaseValue> extends BaseValue
     }
     this.valueFactory = valueFactory;
     items = new ArrayList<>(initialCapacity);
+    recycledItems = new ArrayList<>(initialCapacity);
   }
 
+  /**
+   * Moves all items to the pool of recycled items. They are reset once they are handed out again by
+   * {@link #read(MsgPackReader)} or {@link #add()}.
+   */
   @Override
   public void reset() {
+    // push in reverse order, so a following read reuses the items at their previous positions
+    for (int i = items.size() - 1; i >= 0; --i) {
+      recycledItems.add(items.get(i));
+    }
     items.clear();
+    invalidateEncodedLength();
   }
 
   public boolean isEmpty() {
@@ -64,8 +76,21 @@ public class ArrayValue<T extends BaseValue> extends BaseValue
     builder.append("]");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartArray();
+    for (int i = 0; i < items.size(); i++) {
+      items.get(i).writeJSON(writer);
+    }
+    writer.writeEndArray();
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
+    if (writeEncodedSource(writer)) {
+      return;
+    }
+
     writer.writeArrayHeader(items.size());
     for (final T item : items) {
       item.write(writer);
@@ -76,26 +101,54 @@ public class ArrayValue<T extends BaseValue> extends BaseValue
   public void read(final MsgPackReader reader) {
     reset();
 
+    final int offset = reader.getOffset();
     final var size = reader.readArrayHeader();
     for (int i = 0; i < size; i++) {
-      final var value = valueFactory.get();
+      final var value = newItem();
       value.read(reader);
-      items.add(i, value);
+      items.add(value);
     }
+
+    rememberSource(reader, offset);
   }
 
   @Override
   public int getEncodedLength() {
-    int length = getEncodedArrayHeaderLenght(items.size());
-    for (final T item : items) {
-      length += item.getEncodedLength();
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      length = getEncodedArrayHeaderLenght(items.size());
+      for (final T item : items) {
+        length += item.getEncodedLength();
+      }
+      setCachedEncodedLength(length);
     }
     return length;
   }
 
   @Override
   public Iterator<T> iterator() {
-    return items.iterator();
+    final Iterator<T> iterator = items.iterator();
+    return new Iterator<>() {
+      private T current;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public T next() {
+        current = iterator.next();
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        recycledItems.add(current);
+        invalidateEncodedLength();
+      }
+    };
   }
 
   @Override
@@ -117,14 +170,14 @@ public class ArrayValue<T extends BaseValue> extends BaseValue
   }
 
   public T add() {
-    final var item = valueFactory.get();
+    final var item = newItem();
     items.add(item);
 
     return item;
   }
 
   public T add(final int index) {
-    final var item = valueFactory.get();
+    final var item = newItem();
     items.add(index, item);
     return item;
   }
@@ -133,11 +186,34 @@ public class ArrayValue<T extends BaseValue> extends BaseValue
     return items.get(index);
   }
 
+  /**
+   * Removes the item at the given index and returns it to the pool of recycled items. The returned
+   * value stays valid only until the next call to {@link #add()}, {@link #add(int)} or {@link
+   * #read(MsgPackReader)}.
+   */
   public T remove(final int index) {
-    return items.remove(index);
+    final T item = items.remove(index);
+    recycledItems.add(item);
+    invalidateEncodedLength();
+    return item;
   }
 
   public int size() {
     return items.size();
   }
+
+  private T newItem() {
+    final int recycledSize = recycledItems.size();
+
+    if (recycledSize > 0) {
+      final T item = recycledItems.remove(recycledSize - 1);
+      item.reset();
+      invalidateEncodedLength();
+      return item;
+    } else {
+      final T item = valueFactory.get();
+      item.setParent(this);
+      return item;
+    }
+  }
 }
@@ -16,19 +16,179 @@
  */
 package com.anyilanxin.msgpack.value;
 
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+
 import com.anyilanxin.msgpack.Recyclable;
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public abstract class BaseValue implements Recyclable {
+  protected static final int UNKNOWN_LENGTH = -1;
+
+  /** the container this value is encoded in, if any */
+  private BaseValue parent;
+
+  private int cachedEncodedLength = UNKNOWN_LENGTH;
+
+  /** the bytes this value was decoded from, as long as it is unchanged; null otherwise */
+  private DirectBuffer encodedSource;
+
+  private int encodedSourceOffset;
+
+  /** wraps the memory of the reader passed to read(), which may be wrapped again afterwards */
+  private UnsafeBuffer readerView;
+
   public abstract void writeJSON(StringBuilder builder);
 
+  /**
+   * Writes this value as UTF-8 encoded JSON. The built-in values override this to write strings and
+   * binaries from their bytes, so no garbage proportional to the value is created; only floats are
+   * formatted through a string. Other values fall back to the text of {@link
+   * #writeJSON(StringBuilder)}.
+   */
+  public void writeJSON(final JsonWriter writer) {
+    final StringBuilder builder = new StringBuilder();
+    writeJSON(builder);
+    writer.writeRawValue(builder);
+  }
+
+  /**
+   * Writes this value as the key of a JSON object. Strings and integers are written as they are,
+   * any other value is written as its JSON text, which creates a string.
+   */
+  public void writeJSONKey(final JsonWriter writer) {
+    final DirectBuffer json = wrapString(toString());
+    writer.writeKey(json, 0, json.capacity());
+  }
+
   public abstract void write(MsgPackWriter writer);
 
+  /**
+   * Decodes the value. Containers remember the bytes they are read from and are written by copying
+   * them until they change, so the buffer of the reader must stay unchanged until the value is
+   * reset or changed.
+   */
   public abstract void read(MsgPackReader reader);
 
   public abstract int getEncodedLength();
 
+  public BaseValue getParent() {
+    return parent;
+  }
+
+  /**
+   * Links this value to the container it is encoded in, so that changes of this value invalidate
+   * the cached encoded length of the container.
+   */
+  public void setParent(final BaseValue parent) {
+    this.parent = parent;
+    if (parent != null) {
+      parent.invalidateEncodedLength();
+    }
+  }
+
+  /**
+   * Drops the cached encoded length of this value and of all containers it is nested in. Must be
+   * called by every operation that changes the encoded form of the value.
+   */
+  public final void invalidateEncodedLength() {
+    cachedEncodedLength = UNKNOWN_LENGTH;
+    encodedSource = null;
+
+    // a container without cached length never has an ancestor with cached length
+    BaseValue ancestor = parent;
+    while (ancestor != null && ancestor.cachedEncodedLength != UNKNOWN_LENGTH) {
+      ancestor.cachedEncodedLength = UNKNOWN_LENGTH;
+      ancestor.encodedSource = null;
+      ancestor = ancestor.parent;
+    }
+  }
+
+  /**
+   * Remembers the bytes this value was decoded from. Until the value changes, its encoded length is
+   * the length of the source and it can be written by copying the source untouched. The containers
+   * of this value are not invalidated.
+   */
+  public final void setEncodedSource(
+      final DirectBuffer buffer, final int offset, final int length) {
+    encodedSource = buffer;
+    encodedSourceOffset = offset;
+    cachedEncodedLength = length;
+  }
+
+  /**
+   * Remembers the bytes from the given offset up to the current offset of the reader as the source
+   * of this value, typically at the end of read(). The source refers to the memory of the reader,
+   * not to the reader's buffer, so it stays valid when the reader is wrapped again.
+   */
+  protected final void rememberSource(final MsgPackReader reader, final int offset) {
+    if (readerView == null) {
+      readerView = new UnsafeBuffer(0, 0);
+    }
+    readerView.wrap(reader.getBuffer());
+    setEncodedSource(readerView, offset, reader.getOffset() - offset);
+  }
+
+  public final boolean hasEncodedSource() {
+    return encodedSource != null;
+  }
+
+  /**
+   * @return the length of the bytes this value was decoded from, or {@link #UNKNOWN_LENGTH} if the
+   *     value has no source or changed since it was decoded
+   */
+  public final int getEncodedSourceLength() {
+    return encodedSource != null ? cachedEncodedLength : UNKNOWN_LENGTH;
+  }
+
+  /**
+   * Copies the bytes this value was decoded from, if the value is unchanged since.
+   *
+   * @return true if the source was written, false if the value must be encoded
+   */
+  public final boolean writeEncodedSource(final MsgPackWriter writer) {
+    if (encodedSource == null) {
+      return false;
+    }
+
+    writer.writeRaw(encodedSource, encodedSourceOffset, cachedEncodedLength);
+    return true;
+  }
+
+  /**
+   * Decodes the value from a source whose encoded form does not change by decoding it, e.g. the
+   * deferred value of a lazily decoded property. The containers of this value are not invalidated
+   * and the value keeps being written from the source until it changes.
+   */
+  public final void readDeferred(
+      final MsgPackReader reader, final DirectBuffer source, final int offset, final int length) {
+    final BaseValue container = parent;
+    parent = null;
+    try {
+      read(reader);
+      // caches the lengths of nested containers, so that their changes reach this value again
+      getEncodedLength();
+    } finally {
+      parent = container;
+    }
+
+    setEncodedSource(source, offset, length);
+  }
+
+  /**
+   * @return the cached encoded length or {@link #UNKNOWN_LENGTH} if it was invalidated
+   */
+  protected final int getCachedEncodedLength() {
+    return cachedEncodedLength;
+  }
+
+  protected final void setCachedEncodedLength(final int length) {
+    cachedEncodedLength = length;
+  }
+
   @Override
   public String toString() {
     final StringBuilder stringBuilder = new StringBuilder();
@@ -18,7 +18,9 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedBinaryValueLength;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackStreamReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
@@ -41,6 +43,7 @@ public class BinaryValue extends BaseValue {
   public void reset() {
     data.wrap(0, 0);
     length = 0;
+    invalidateEncodedLength();
   }
 
   public void wrap(final DirectBuffer buff) {
@@ -54,6 +57,7 @@ public class BinaryValue extends BaseValue {
       data.wrap(buff, offset, length);
     }
     this.length = length;
+    invalidateEncodedLength();
   }
 
   public void wrap(final StringValue decodedKey) {
@@ -74,6 +78,11 @@ public class BinaryValue extends BaseValue {
     builder.append("\"");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeBinary(data, 0, length);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeBinary(data);
@@ -90,6 +99,15 @@ public class BinaryValue extends BaseValue {
     wrap(buffer, offset, stringLength);
   }
 
+  /**
+   * Reads the next binary from the stream. The value is only valid until the next read from the
+   * reader, so copy the bytes to retain them.
+   */
+  public void read(final MsgPackStreamReader reader) {
+    final int length = reader.readBinaryLength();
+    wrap(reader.readBytes(length), 0, length);
+  }
+
   @Override
   public int getEncodedLength() {
     return getEncodedBinaryValueLength(length);
@@ -18,6 +18,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedBooleanValueLength;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -36,6 +37,7 @@ public class BooleanValue extends BaseValue {
   @Override
   public void reset() {
     val = false;
+    invalidateEncodedLength();
   }
 
   public boolean getValue() {
@@ -44,6 +46,7 @@ public class BooleanValue extends BaseValue {
 
   public void setValue(final boolean value) {
     val = value;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -51,6 +54,11 @@ public class BooleanValue extends BaseValue {
     builder.append(val);
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeBoolean(val);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeBoolean(val);
@@ -59,6 +67,7 @@ public class BooleanValue extends BaseValue {
   @Override
   public void read(final MsgPackReader reader) {
     val = reader.readBoolean();
+    invalidateEncodedLength();
   }
 
   @Override
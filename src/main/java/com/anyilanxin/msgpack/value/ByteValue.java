@@ -14,6 +14,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedLongValueLength;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -34,6 +35,7 @@ public class ByteValue extends BaseValue {
 
   public void setValue(final byte val) {
     value = val;
+    invalidateEncodedLength();
   }
 
   public byte getValue() {
@@ -43,6 +45,7 @@ public class ByteValue extends BaseValue {
   @Override
   public void reset() {
     value = (byte) 0;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -50,6 +53,16 @@ public class ByteValue extends BaseValue {
     builder.append(value);
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeInteger(value);
+  }
+
+  @Override
+  public void writeJSONKey(final JsonWriter writer) {
+    writer.writeKey(value);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeInteger(value);
@@ -62,6 +75,7 @@ public class ByteValue extends BaseValue {
       throw new RuntimeException(String.format("Value doesn't fit into an byte: %s.", longValue));
     }
     value = (byte) longValue;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.value;
+
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedArrayHeaderLenght;
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedFloatValueLength;
+
+import com.anyilanxin.msgpack.json.JsonWriter;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An array of floating point numbers, kept in a {@code double[]} rather than as one {@link
+ * DoubleValue} per item like {@code ArrayValue<DoubleValue>}. The encoding is the same, so either
+ * can read what the other wrote.
+ */
+public final class DoubleArrayValue extends BaseValue {
+  private double[] items;
+  private int size;
+
+  public DoubleArrayValue() {
+    this(10);
+  }
+
+  public DoubleArrayValue(final int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+    }
+    items = new double[initialCapacity];
+  }
+
+  @Override
+  public void reset() {
+    size = 0;
+    invalidateEncodedLength();
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public double getDouble(final int index) {
+    Objects.checkIndex(index, size);
+    return items[index];
+  }
+
+  public void setDouble(final int index, final double value) {
+    Objects.checkIndex(index, size);
+    items[index] = value;
+    invalidateEncodedLength();
+  }
+
+  public DoubleArrayValue add(final double value) {
+    ensureCapacity(size + 1);
+    items[size++] = value;
+    invalidateEncodedLength();
+    return this;
+  }
+
+  public DoubleArrayValue addAll(final double... values) {
+    ensureCapacity(size + values.length);
+    System.arraycopy(values, 0, items, size, values.length);
+    size += values.length;
+    invalidateEncodedLength();
+    return this;
+  }
+
+  /**
+   * @return the removed item
+   */
+  public double remove(final int index) {
+    final double item = getDouble(index);
+    System.arraycopy(items, index + 1, items, index, size - index - 1);
+    size--;
+    invalidateEncodedLength();
+    return item;
+  }
+
+  /**
+   * @return a copy of the items
+   */
+  public double[] toArray() {
+    return Arrays.copyOf(items, size);
+  }
+
+  @Override
+  public void writeJSON(final StringBuilder builder) {
+    builder.append("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        builder.append(",");
+      }
+      builder.append(items[i]);
+    }
+    builder.append("]");
+  }
+
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartArray();
+    for (int i = 0; i < size; i++) {
+      writer.writeFloat(items[i]);
+    }
+    writer.writeEndArray();
+  }
+
+  @Override
+  public void write(final MsgPackWriter writer) {
+    if (writeEncodedSource(writer)) {
+      return;
+    }
+
+    writer.writeArrayHeader(size);
+    for (int i = 0; i < size; i++) {
+      writer.writeFloat(items[i]);
+    }
+  }
+
+  @Override
+  public void read(final MsgPackReader reader) {
+    reset();
+
+    final int offset = reader.getOffset();
+    final int length = reader.readArrayHeader();
+    LongArrayValue.ensureReadable(reader, length);
+    ensureCapacity(length);
+    for (int i = 0; i < length; i++) {
+      items[i] = reader.readDouble();
+    }
+    size = length;
+
+    rememberSource(reader, offset);
+  }
+
+  @Override
+  public int getEncodedLength() {
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      length = getEncodedArrayHeaderLenght(size);
+      for (int i = 0; i < size; i++) {
+        length += getEncodedFloatValueLength(items[i]);
+      }
+      setCachedEncodedLength(length);
+    }
+    return length;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + Double.hashCode(items[i]);
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof final DoubleArrayValue that)) {
+      return false;
+    }
+
+    return Arrays.equals(items, 0, size, that.items, 0, that.size);
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > items.length) {
+      items = Arrays.copyOf(items, Math.max(capacity, items.length * 2));
+    }
+  }
+}
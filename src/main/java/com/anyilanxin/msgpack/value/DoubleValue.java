@@ -14,6 +14,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedDoubleValueLength;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -34,6 +35,7 @@ public class DoubleValue extends BaseValue {
 
   public void setValue(final double val) {
     value = val;
+    invalidateEncodedLength();
   }
 
   public double getValue() {
@@ -43,6 +45,7 @@ public class DoubleValue extends BaseValue {
   @Override
   public void reset() {
     value = 0.0D;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -50,6 +53,11 @@ public class DoubleValue extends BaseValue {
     builder.append(value);
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeFloat(value);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeFloat(value);
@@ -58,6 +66,7 @@ public class DoubleValue extends BaseValue {
   @Override
   public void read(final MsgPackReader reader) {
     value = reader.readDouble();
+    invalidateEncodedLength();
   }
 
   @Override
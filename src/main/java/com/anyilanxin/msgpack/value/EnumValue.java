@@ -13,10 +13,13 @@
 package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedLongValueLength;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
+import org.agrona.DirectBuffer;
 
 /**
  * @author zxuanhong
@@ -25,6 +28,10 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
   private final IntegerValue decodedValue = new IntegerValue();
   private final IntegerValue[] binaryEnumValues;
   private final E[] enumConstants;
+
+  /** the UTF-8 encoded names of the enum constants, to write JSON without decoding them */
+  private final DirectBuffer[] names;
+
   private final int size;
 
   private E value;
@@ -33,9 +40,11 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
     enumConstants = e.getEnumConstants();
     size = enumConstants.length;
     binaryEnumValues = new IntegerValue[enumConstants.length];
+    names = new DirectBuffer[enumConstants.length];
     for (int i = 0; i < enumConstants.length; i++) {
       final E constant = enumConstants[i];
       binaryEnumValues[i] = new IntegerValue(constant.ordinal());
+      names[i] = wrapString(constant.name());
     }
 
     value = defaultValue;
@@ -51,11 +60,13 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
 
   public void setValue(final E val) {
     value = val;
+    invalidateEncodedLength();
   }
 
   @Override
   public void reset() {
     value = null;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -70,6 +81,16 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
     builder.append("\"");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    if (value == null) {
+      writer.writeNull();
+    } else {
+      final DirectBuffer name = names[value.ordinal()];
+      writer.writeString(name, 0, name.capacity());
+    }
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     binaryEnumValues[value.ordinal()].write(writer);
@@ -83,6 +104,7 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
       throw new RuntimeException(String.format("Illegal enum value: %s.", decodedValue));
     }
     value = enumConstants[ordinal];
+    invalidateEncodedLength();
   }
 
   @Override
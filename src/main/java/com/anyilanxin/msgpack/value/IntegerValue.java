@@ -18,6 +18,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedLongValueLength;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -35,6 +36,7 @@ public class IntegerValue extends BaseValue {
 
   public void setValue(final int val) {
     value = val;
+    invalidateEncodedLength();
   }
 
   public int getValue() {
@@ -44,6 +46,7 @@ public class IntegerValue extends BaseValue {
   @Override
   public void reset() {
     value = 0;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -51,6 +54,16 @@ public class IntegerValue extends BaseValue {
     builder.append(value);
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeInteger(value);
+  }
+
+  @Override
+  public void writeJSONKey(final JsonWriter writer) {
+    writer.writeKey(value);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeInteger(value);
@@ -66,6 +79,7 @@ public class IntegerValue extends BaseValue {
     }
 
     value = (int) longValue;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.value;
+
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedLongValueLength;
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedMapHeaderLenght;
+
+import com.anyilanxin.msgpack.json.JsonWriter;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.agrona.collections.Hashing;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongObjConsumer;
+
+/**
+ * A map with 64-bit integer keys, e.g. element instance keys. Unlike {@code MapValue<LongValue,
+ * V>}, the keys are kept unboxed in a {@link Long2ObjectHashMap} and the values are recycled, so
+ * that reading, writing and looking up values doesn't allocate once the map has grown to its size.
+ */
+public final class LongKeyMapValue<V extends BaseValue> extends BaseValue {
+  private final Long2ObjectHashMap<V> map;
+  private final List<V> recycledValues = new ArrayList<>();
+  private final Supplier<V> valueFactory;
+
+  public LongKeyMapValue(final Supplier<V> valueFactory) {
+    this(16, valueFactory);
+  }
+
+  public LongKeyMapValue(final int initialCapacity, final Supplier<V> valueFactory) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+    }
+    this.valueFactory = valueFactory;
+    map = new Long2ObjectHashMap<>(initialCapacity, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  @Override
+  public void reset() {
+    for (final V value : map.values()) {
+      recycledValues.add(value);
+    }
+    map.clear();
+    invalidateEncodedLength();
+  }
+
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  public boolean containsKey(final long key) {
+    return map.containsKey(key);
+  }
+
+  /**
+   * @return the value of the key, or null if the map doesn't contain the key
+   */
+  public V get(final long key) {
+    return map.get(key);
+  }
+
+  /**
+   * Puts a new value for the key, replacing any previous value, and returns it to be filled in. The
+   * previous value is recycled.
+   */
+  public V put(final long key) {
+    final V value = newValue();
+    recycle(map.put(key, value));
+    invalidateEncodedLength();
+    return value;
+  }
+
+  /**
+   * @return true if the map contained the key; its value is recycled
+   */
+  public boolean remove(final long key) {
+    final V removed = map.remove(key);
+    if (removed == null) {
+      return false;
+    }
+
+    recycle(removed);
+    invalidateEncodedLength();
+    return true;
+  }
+
+  public void forEach(final LongObjConsumer<V> action) {
+    map.forEachLong(action);
+  }
+
+  @Override
+  public void writeJSON(final StringBuilder builder) {
+    builder.append("{");
+    final Long2ObjectHashMap<V>.EntryIterator entries = map.entrySet().iterator();
+    while (entries.hasNext()) {
+      entries.next();
+      builder.append(entries.getLongKey()).append("=");
+      entries.getValue().writeJSON(builder);
+      if (entries.hasNext()) {
+        builder.append(",");
+      }
+    }
+    builder.append("}");
+  }
+
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartObject();
+    final Long2ObjectHashMap<V>.EntryIterator entries = map.entrySet().iterator();
+    while (entries.hasNext()) {
+      entries.next();
+      writer.writeKey(entries.getLongKey());
+      entries.getValue().writeJSON(writer);
+    }
+    writer.writeEndObject();
+  }
+
+  @Override
+  public void write(final MsgPackWriter writer) {
+    if (writeEncodedSource(writer)) {
+      return;
+    }
+
+    writer.writeMapHeader(map.size());
+    final Long2ObjectHashMap<V>.EntryIterator entries = map.entrySet().iterator();
+    while (entries.hasNext()) {
+      entries.next();
+      writer.writeInteger(entries.getLongKey());
+      entries.getValue().write(writer);
+    }
+  }
+
+  @Override
+  public void read(final MsgPackReader reader) {
+    reset();
+
+    final int offset = reader.getOffset();
+    final int size = reader.readMapHeader();
+    for (int i = 0; i < size; i++) {
+      final long key = reader.readInteger();
+      final V value = newValue();
+      value.read(reader);
+      recycle(map.put(key, value));
+    }
+
+    rememberSource(reader, offset);
+  }
+
+  @Override
+  public int getEncodedLength() {
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      length = getEncodedMapHeaderLenght(map.size());
+      final Long2ObjectHashMap<V>.EntryIterator entries = map.entrySet().iterator();
+      while (entries.hasNext()) {
+        entries.next();
+        length += getEncodedLongValueLength(entries.getLongKey());
+        length += entries.getValue().getEncodedLength();
+      }
+      setCachedEncodedLength(length);
+    }
+    return length;
+  }
+
+  @Override
+  public int hashCode() {
+    return map.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof final LongKeyMapValue<?> that)) {
+      return false;
+    }
+
+    return map.equals(that.map);
+  }
+
+  private V newValue() {
+    final int recycledSize = recycledValues.size();
+    if (recycledSize > 0) {
+      final V value = recycledValues.remove(recycledSize - 1);
+      value.reset();
+      return value;
+    }
+
+    final V value = valueFactory.get();
+    value.setParent(this);
+    return value;
+  }
+
+  private void recycle(final V value) {
+    if (value != null) {
+      recycledValues.add(value);
+    }
+  }
+}
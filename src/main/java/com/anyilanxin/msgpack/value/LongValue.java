@@ -18,6 +18,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedLongValueLength;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -35,6 +36,7 @@ public class LongValue extends BaseValue {
 
   public void setValue(final long val) {
     value = val;
+    invalidateEncodedLength();
   }
 
   public long getValue() {
@@ -44,6 +46,7 @@ public class LongValue extends BaseValue {
   @Override
   public void reset() {
     value = 0;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -51,6 +54,16 @@ public class LongValue extends BaseValue {
     builder.append(value);
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeInteger(value);
+  }
+
+  @Override
+  public void writeJSONKey(final JsonWriter writer) {
+    writer.writeKey(value);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeInteger(value);
@@ -59,6 +72,7 @@ public class LongValue extends BaseValue {
   @Override
   public void read(final MsgPackReader reader) {
     value = reader.readInteger();
+    invalidateEncodedLength();
   }
 
   @Override
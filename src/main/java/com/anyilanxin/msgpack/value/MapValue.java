@@ -12,19 +12,35 @@
  */
 package com.anyilanxin.msgpack.value;
 
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedMapHeaderLenght;
+
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 public final class MapValue<K extends BaseValue, V extends BaseValue> extends BaseValue {
-  private final Map<K, V> map;
+  /** stored key -> the entry holding the key and its value */
+  private final Map<K, Entry<K, V>> map;
+
+  private final List<Entry<K, V>> recycledEntries = new ArrayList<>();
+  private final List<K> recycledKeys = new ArrayList<>();
+  private final List<V> recycledValues = new ArrayList<>();
   private final Supplier<K> keyFactory;
   private final Supplier<V> valueFactory;
 
+  /**
+   * sum of the encoded lengths of all keys and values; kept up to date by put and remove as long as
+   * the cached encoded length is valid, recomputed otherwise
+   */
+  private int entriesLength;
+
   public MapValue(final Supplier<K> keyFactory, final Supplier<V> valueFactory) {
     this(16, keyFactory, valueFactory);
   }
@@ -39,9 +55,20 @@ public final class MapValue<K extends BaseValue, V extends BaseValue> extends Ba
     map = new HashMap<>(initialCapacity);
   }
 
+  /**
+   * Moves all keys and values created by this map to the pools of recycled items. They are reset
+   * once they are handed out again by {@link #read(MsgPackReader)}, {@link #key()} or {@link
+   * #value()}. Keys and values created elsewhere and passed to {@link #put(BaseValue, BaseValue)}
+   * are only removed, as the caller may still use them.
+   */
   @Override
   public void reset() {
+    for (final Entry<K, V> entry : map.values()) {
+      recycle(entry);
+    }
     map.clear();
+    invalidateEncodedLength();
+    cacheEntriesLength(0);
   }
 
   public boolean isEmpty() {
@@ -52,26 +79,34 @@ public final class MapValue<K extends BaseValue, V extends BaseValue> extends Ba
   public void writeJSON(final StringBuilder builder) {
     builder.append("{");
     int i = 0;
-    for (final var entry : map.entrySet()) {
+    for (final Entry<K, V> entry : map.values()) {
       if (i > 0) {
         builder.append(",");
       }
-      final K key = entry.getKey();
-      key.writeJSON(builder);
+      entry.key.writeJSON(builder);
       builder.append("=");
-      final V value = entry.getValue();
-      value.writeJSON(builder);
+      entry.value.writeJSON(builder);
       i++;
     }
     builder.append("}");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartObject();
+    for (final Entry<K, V> entry : map.values()) {
+      entry.key.writeJSONKey(writer);
+      entry.value.writeJSON(writer);
+    }
+    writer.writeEndObject();
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeMapHeader(map.size());
-    for (final Map.Entry<K, V> entry : map.entrySet()) {
-      entry.getKey().write(writer);
-      entry.getValue().write(writer);
+    for (final Entry<K, V> entry : map.values()) {
+      entry.key.write(writer);
+      entry.value.write(writer);
     }
   }
 
@@ -79,18 +114,37 @@ public final class MapValue<K extends BaseValue, V extends BaseValue> extends Ba
   public void read(final MsgPackReader reader) {
     reset();
     final int size = reader.readMapHeader();
+    int length = 0;
     for (int i = 0; i < size; i++) {
-      final var key = keyFactory.get();
+      final var key = newKey();
       key.read(reader);
-      final var value = valueFactory.get();
+      final var value = newValue();
       value.read(reader);
-      map.put(key, value);
+
+      final V previous = putEntry(key, value);
+      length += value.getEncodedLength();
+      if (previous == null) {
+        length += key.getEncodedLength();
+      } else {
+        length -= previous.getEncodedLength();
+        recycle(recycledValues, previous);
+      }
     }
+    invalidateEncodedLength();
+    cacheEntriesLength(length);
   }
 
   @Override
   public int getEncodedLength() {
-    return 0;
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      int entries = 0;
+      for (final Entry<K, V> entry : map.values()) {
+        entries += entry.key.getEncodedLength() + entry.value.getEncodedLength();
+      }
+      length = cacheEntriesLength(entries);
+    }
+    return length;
   }
 
   @Override
@@ -111,31 +165,171 @@ public final class MapValue<K extends BaseValue, V extends BaseValue> extends Ba
     return map.equals(that.map);
   }
 
+  /**
+   * @return a reset key, created by this map or recycled, to be passed to {@link #put(BaseValue,
+   *     BaseValue)}
+   */
   public K key() {
-    return keyFactory.get();
+    return newKey();
   }
 
+  /**
+   * @return a reset value, created by this map or recycled, to be passed to {@link #put(BaseValue,
+   *     BaseValue)}
+   */
   public V value() {
-    return valueFactory.get();
+    return newValue();
   }
 
+  /**
+   * Puts the value for the key. If the map contains an equal key, the stored key is kept and the
+   * given key and the previous value are recycled, as far as this map created them.
+   *
+   * <p>Only keys and values created by {@link #key()} and {@link #value()} are linked to this map,
+   * so that their changes invalidate its encoded length. Keys and values created elsewhere keep
+   * their container; they must be put again after they changed.
+   */
   public void put(final K key, final V value) {
-    map.put(key, value);
+    final boolean lengthKnown = getCachedEncodedLength() != UNKNOWN_LENGTH;
+    final V previous = putEntry(key, value);
+    invalidateEncodedLength();
+
+    if (lengthKnown) {
+      int length = entriesLength + value.getEncodedLength();
+      if (previous == null) {
+        length += key.getEncodedLength();
+      } else {
+        length -= previous.getEncodedLength();
+      }
+      cacheEntriesLength(length);
+    }
+
+    if (previous != null && previous != value) {
+      recycle(recycledValues, previous);
+    }
   }
 
   public void forEach(final BiConsumer<? super K, ? super V> action) {
-    map.forEach(action);
+    for (final Entry<K, V> entry : map.values()) {
+      action.accept(entry.key, entry.value);
+    }
   }
 
   public V get(final K key) {
-    return map.get(key);
+    final Entry<K, V> entry = map.get(key);
+    return entry != null ? entry.value : null;
   }
 
+  /** Removes the key; the stored key and its value are recycled if this map created them. */
   public void remove(final K key) {
-    map.remove(key);
+    final boolean lengthKnown = getCachedEncodedLength() != UNKNOWN_LENGTH;
+    final Entry<K, V> removed = map.remove(key);
+    if (removed == null) {
+      return;
+    }
+    invalidateEncodedLength();
+
+    if (lengthKnown) {
+      cacheEntriesLength(
+          entriesLength - removed.key.getEncodedLength() - removed.value.getEncodedLength());
+    }
+    recycle(removed);
   }
 
   public int size() {
     return map.size();
   }
+
+  private int cacheEntriesLength(final int entriesLength) {
+    this.entriesLength = entriesLength;
+    final int length = getEncodedMapHeaderLenght(map.size()) + entriesLength;
+    setCachedEncodedLength(length);
+    return length;
+  }
+
+  /**
+   * Puts the value for the key, keeping the stored key of an equal key. The given key is recycled
+   * then, if it is not the stored one.
+   *
+   * @return the previous value, or null if the map didn't contain the key
+   */
+  private V putEntry(final K key, final V value) {
+    final Entry<K, V> existing = map.get(key);
+    if (existing == null) {
+      final Entry<K, V> entry = newEntry();
+      entry.key = key;
+      entry.value = value;
+      map.put(key, entry);
+      return null;
+    }
+
+    final V previous = existing.value;
+    existing.value = value;
+    if (existing.key != key) {
+      recycle(recycledKeys, key);
+    }
+    return previous;
+  }
+
+  private void recycle(final Entry<K, V> entry) {
+    recycle(recycledKeys, entry.key);
+    recycle(recycledValues, entry.value);
+    entry.key = null;
+    entry.value = null;
+    recycledEntries.add(entry);
+  }
+
+  /** Recycles the item if this map created it, i.e. if it is linked to this map. */
+  private <T extends BaseValue> void recycle(final List<T> recycled, final T item) {
+    if (item.getParent() == this) {
+      recycled.add(item);
+    }
+  }
+
+  private Entry<K, V> newEntry() {
+    final int recycledSize = recycledEntries.size();
+    return recycledSize > 0 ? recycledEntries.remove(recycledSize - 1) : new Entry<>();
+  }
+
+  private K newKey() {
+    final int recycledSize = recycledKeys.size();
+    if (recycledSize > 0) {
+      final K key = recycledKeys.remove(recycledSize - 1);
+      key.reset();
+      return key;
+    }
+
+    final K key = keyFactory.get();
+    key.setParent(this);
+    return key;
+  }
+
+  private V newValue() {
+    final int recycledSize = recycledValues.size();
+    if (recycledSize > 0) {
+      final V value = recycledValues.remove(recycledSize - 1);
+      value.reset();
+      return value;
+    }
+
+    final V value = valueFactory.get();
+    value.setParent(this);
+    return value;
+  }
+
+  /** A stored key with its value; equal by value, like the values of a map are compared. */
+  private static final class Entry<K extends BaseValue, V extends BaseValue> {
+    private K key;
+    private V value;
+
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return o instanceof final Entry<?, ?> that && value.equals(that.value);
+    }
+  }
 }
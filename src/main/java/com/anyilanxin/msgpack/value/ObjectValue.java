@@ -16,21 +16,36 @@
  */
 package com.anyilanxin.msgpack.value;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.property.BaseProperty;
 import com.anyilanxin.msgpack.property.UndeclaredProperty;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public class ObjectValue extends BaseValue {
   private final List<BaseProperty<? extends BaseValue>> declaredProperties;
   private final List<UndeclaredProperty> undeclaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> recycledProperties = new ArrayList<>();
+  private final PropertyKeyIndex declaredKeys = new PropertyKeyIndex();
 
   private final StringValue decodedKey = new StringValue();
 
+  private boolean lazyDecoding;
+
+  /** wraps the memory of the reader passed to read(), which may be wrapped again afterwards */
+  private final UnsafeBuffer source = new UnsafeBuffer(0, 0);
+
+  /** decodes deferred property values, shared by all declared properties */
+  private MsgPackReader lazyReader;
+
+  /** declared property index -> whether the last read found it */
+  private boolean[] decodedProperties = new boolean[0];
+
   public ObjectValue(final int initialCapacity) {
     if (initialCapacity < 0) {
       throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
@@ -40,9 +55,34 @@ public class ObjectValue extends BaseValue {
 
   public ObjectValue declareProperty(final BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    declaredKeys.add(prop.getKey());
+    if (decodedProperties.length < declaredProperties.size()) {
+      decodedProperties = Arrays.copyOf(decodedProperties, declaredProperties.size() * 2);
+    }
+    prop.setParent(this);
+    return this;
+  }
+
+  /**
+   * In lazy mode, {@link #read(MsgPackReader)} only skips over the values of declared properties
+   * and remembers their position; each property decodes its value on first access. If none of the
+   * declared properties is missing and the object is not changed afterwards, it is written by
+   * copying the bytes it was read from. Declared properties missing in the source are reset.
+   *
+   * <p>The buffer read from must stay unchanged as long as the object is in use.
+   */
+  public ObjectValue setLazyDecoding(final boolean lazyDecoding) {
+    this.lazyDecoding = lazyDecoding;
+    if (lazyDecoding && lazyReader == null) {
+      lazyReader = new MsgPackReader();
+    }
     return this;
   }
 
+  public boolean isLazyDecoding() {
+    return lazyDecoding;
+  }
+
   @Override
   public void reset() {
     for (final BaseProperty<? extends BaseValue> prop : declaredProperties) {
@@ -54,6 +94,8 @@ public class ObjectValue extends BaseValue {
       undeclaredProperty.reset();
       recycledProperties.add(undeclaredProperty);
     }
+
+    invalidateEncodedLength();
   }
 
   private UndeclaredProperty newUndeclaredProperty(final StringValue key) {
@@ -68,6 +110,7 @@ public class ObjectValue extends BaseValue {
     }
 
     prop.getKey().wrap(key);
+    prop.setParent(this);
     undeclaredProperties.add(prop);
 
     return prop;
@@ -83,6 +126,27 @@ public class ObjectValue extends BaseValue {
     builder.append("}");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartObject();
+
+    writeJson(writer, declaredProperties);
+    writeJson(writer, undeclaredProperties);
+
+    writer.writeEndObject();
+  }
+
+  protected <T extends BaseProperty<?>> void writeJson(
+      final JsonWriter writer, final List<T> properties) {
+    for (int i = 0; i < properties.size(); i++) {
+      final BaseProperty<? extends BaseValue> prop = properties.get(i);
+
+      if (prop.hasValue()) {
+        prop.writeJSON(writer);
+      }
+    }
+  }
+
   protected <T extends BaseProperty<?>> void writeJson(
       final StringBuilder builder, final List<T> properties) {
     for (int i = 0; i < properties.size(); i++) {
@@ -98,26 +162,50 @@ public class ObjectValue extends BaseValue {
     }
   }
 
+  /**
+   * Decodes the declared and undeclared properties. If the object is read with all of its declared
+   * properties, it is written by copying the bytes read until it is changed, so the buffer of the
+   * reader must stay unchanged until the object is reset or changed.
+   */
   @Override
   public void read(final MsgPackReader reader) {
+    final int offset = reader.getOffset();
     final int mapSize = reader.readMapHeader();
+    declaredKeys.rewind();
+    invalidateEncodedLength();
+
+    final boolean lazy = lazyDecoding;
+    int decodedCount = 0;
+    boolean duplicateKeys = false;
+    source.wrap(reader.getBuffer());
+    Arrays.fill(decodedProperties, false);
 
     for (int i = 0; i < mapSize; ++i) {
       decodedKey.read(reader);
 
-      BaseProperty<? extends BaseValue> prop = null;
+      final int index = declaredKeys.lookup(decodedKey.getValue(), 0, decodedKey.getLength());
+      final BaseProperty<? extends BaseValue> prop;
 
-      for (final BaseProperty<?> declaredProperty : declaredProperties) {
-        final StringValue declaredKey = declaredProperty.getKey();
+      if (index >= 0) {
+        prop = declaredProperties.get(index);
+      } else {
+        prop = newUndeclaredProperty(decodedKey);
+      }
 
-        if (declaredKey.equals(decodedKey)) {
-          prop = declaredProperty;
-          break;
+      if (index >= 0) {
+        if (decodedProperties[index]) {
+          duplicateKeys = true;
+        } else {
+          decodedProperties[index] = true;
+          decodedCount++;
         }
-      }
 
-      if (prop == null) {
-        prop = newUndeclaredProperty(decodedKey);
+        if (lazy) {
+          final int valueOffset = reader.getOffset();
+          reader.skipValue();
+          prop.defer(lazyReader, source, valueOffset, reader.getOffset() - valueOffset);
+          continue;
+        }
       }
 
       try {
@@ -128,12 +216,26 @@ public class ObjectValue extends BaseValue {
     }
 
     // verify that all required properties are set
-    for (final BaseProperty<?> prop : declaredProperties) {
+    for (int i = 0; i < declaredProperties.size(); i++) {
+      final BaseProperty<?> prop = declaredProperties.get(i);
+      if (lazy && !decodedProperties[i]) {
+        // a deferred value of a previous read would refer to a source that is gone
+        prop.reset();
+      }
+
       if (!prop.hasValue()) {
         throw new RuntimeException(
             String.format("Property '%s' has no valid value", prop.getKey()));
       }
     }
+
+    // otherwise writing adds default values or drops duplicates, which differs from the source;
+    // either way the length is cached, so that changes of nested values reach this object
+    if (decodedCount == declaredProperties.size() && !duplicateKeys) {
+      setEncodedSource(source, offset, reader.getOffset() - offset);
+    } else {
+      getEncodedLength();
+    }
   }
 
   /**
@@ -144,6 +246,10 @@ public class ObjectValue extends BaseValue {
    */
   @Override
   public void write(final MsgPackWriter writer) {
+    if (writeEncodedSource(writer)) {
+      return;
+    }
+
     final int size = declaredProperties.size() + undeclaredProperties.size();
 
     writer.writeMapHeader(size);
@@ -158,14 +264,22 @@ public class ObjectValue extends BaseValue {
     }
   }
 
+  /**
+   * The length is cached until a property of this object changes, so repeated calls (e.g. by {@link
+   * com.anyilanxin.msgpack.UnpackedObject#getLength()} before writing) are cheap.
+   */
   @Override
   public int getEncodedLength() {
-    final int size = declaredProperties.size() + undeclaredProperties.size();
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      final int size = declaredProperties.size() + undeclaredProperties.size();
 
-    int length = MsgPackWriter.getEncodedMapHeaderLenght(size);
-    length += getEncodedLength(declaredProperties);
-    length += getEncodedLength(undeclaredProperties);
+      length = MsgPackWriter.getEncodedMapHeaderLenght(size);
+      length += getEncodedLength(declaredProperties);
+      length += getEncodedLength(undeclaredProperties);
 
+      setCachedEncodedLength(length);
+    }
     return length;
   }
 
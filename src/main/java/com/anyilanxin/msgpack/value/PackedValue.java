@@ -16,6 +16,8 @@
  */
 package com.anyilanxin.msgpack.value;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
+import com.anyilanxin.msgpack.json.MsgPackToJsonTranscoder;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -26,6 +28,9 @@ public class PackedValue extends BaseValue {
   private final DirectBuffer buffer = new UnsafeBuffer(0, 0);
   private int length;
 
+  /** created on first use, only needed to write the packed value as JSON */
+  private MsgPackToJsonTranscoder transcoder;
+
   public PackedValue() {}
 
   public PackedValue(DirectBuffer defaultValue, int offset, int length) {
@@ -35,6 +40,7 @@ public class PackedValue extends BaseValue {
   public void wrap(DirectBuffer buff, int offset, int length) {
     this.buffer.wrap(buff, offset, length);
     this.length = length;
+    invalidateEncodedLength();
   }
 
   public DirectBuffer getValue() {
@@ -45,6 +51,7 @@ public class PackedValue extends BaseValue {
   public void reset() {
     buffer.wrap(0, 0);
     length = 0;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -74,6 +81,19 @@ public class PackedValue extends BaseValue {
     builder.append(")]");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    if (length == 0) {
+      writer.writeNull();
+      return;
+    }
+
+    if (transcoder == null) {
+      transcoder = new MsgPackToJsonTranscoder();
+    }
+    transcoder.transcode(buffer, 0, length, writer);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
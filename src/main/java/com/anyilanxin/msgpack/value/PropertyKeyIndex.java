@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.value;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.contentsEqual;
+
+import java.util.Arrays;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+
+/**
+ * Open-addressing table over the key bytes of the declared properties of an {@link ObjectValue}.
+ *
+ * <p>Producers usually write keys in declaration order, so a lookup first compares against the
+ * property following the previously matched one and only hashes the key when that guess misses.
+ */
+final class PropertyKeyIndex {
+  private static final int INITIAL_SLOTS = 16;
+
+  private DirectBuffer[] keys = new DirectBuffer[0];
+  private int[] keyLengths = new int[0];
+  private int[] hashes = new int[0];
+  private int size;
+
+  /** slot -> property index + 1; 0 marks an empty slot */
+  private int[] slots = new int[INITIAL_SLOTS];
+
+  private int expectedIndex;
+
+  void add(final StringValue key) {
+    if (size == keys.length) {
+      final int capacity = Math.max(8, size * 2);
+      keys = Arrays.copyOf(keys, capacity);
+      keyLengths = Arrays.copyOf(keyLengths, capacity);
+      hashes = Arrays.copyOf(hashes, capacity);
+    }
+
+    final int index = size++;
+    keys[index] = key.getValue();
+    keyLengths[index] = key.getLength();
+    hashes[index] = hash(key.getValue(), 0, key.getLength());
+
+    if (size * 2 > slots.length) {
+      slots = new int[BitUtil.findNextPositivePowerOfTwo(size * 2)];
+      for (int i = 0; i < size; i++) {
+        insert(i);
+      }
+    } else {
+      insert(index);
+    }
+  }
+
+  /** Restarts the declaration order guess, to be called before decoding a new map. */
+  void rewind() {
+    expectedIndex = 0;
+  }
+
+  /**
+   * @return the index of the declared property with the given key, or -1 if there is none
+   */
+  int lookup(final DirectBuffer buffer, final int offset, final int length) {
+    final int expected = expectedIndex;
+    if (expected < size && matches(expected, buffer, offset, length)) {
+      expectedIndex = expected + 1;
+      return expected;
+    }
+
+    final int hash = hash(buffer, offset, length);
+    final int mask = slots.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      final int entry = slots[slot];
+      if (entry == 0) {
+        return -1;
+      }
+
+      final int index = entry - 1;
+      if (hashes[index] == hash && matches(index, buffer, offset, length)) {
+        expectedIndex = index + 1;
+        return index;
+      }
+    }
+  }
+
+  private void insert(final int index) {
+    final int hash = hashes[index];
+    final int mask = slots.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      final int entry = slots[slot];
+      if (entry == 0) {
+        slots[slot] = index + 1;
+        return;
+      }
+
+      // the first declaration of a key wins, like the linear scan did before
+      if (hashes[entry - 1] == hash && matches(entry - 1, keys[index], 0, keyLengths[index])) {
+        return;
+      }
+    }
+  }
+
+  private boolean matches(
+      final int index, final DirectBuffer buffer, final int offset, final int length) {
+    return keyLengths[index] == length && contentsEqual(keys[index], 0, buffer, offset, length);
+  }
+
+  private static int hash(final DirectBuffer buffer, final int offset, final int length) {
+    long hash = length;
+    int i = 0;
+    for (; i + Long.BYTES <= length; i += Long.BYTES) {
+      hash = (hash ^ buffer.getLong(offset + i)) * 0x9E3779B97F4A7C15L;
+    }
+    for (; i < length; i++) {
+      hash = (hash ^ buffer.getByte(offset + i)) * 0x9E3779B97F4A7C15L;
+    }
+    return (int) (hash ^ (hash >>> 32));
+  }
+}
@@ -14,6 +14,7 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedArrayHeaderLenght;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.HashSet;
@@ -44,6 +45,7 @@ public final class SetValue<T extends BaseValue> extends BaseValue {
   @Override
   public void reset() {
     set.clear();
+    invalidateEncodedLength();
   }
 
   public boolean isEmpty() {
@@ -65,6 +67,15 @@ public final class SetValue<T extends BaseValue> extends BaseValue {
     builder.append("]");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartArray();
+    for (final T value : set) {
+      value.writeJSON(writer);
+    }
+    writer.writeEndArray();
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeArrayHeader(set.size());
@@ -79,17 +90,24 @@ public final class SetValue<T extends BaseValue> extends BaseValue {
 
     final var size = reader.readArrayHeader();
     for (int i = 0; i < size; i++) {
-      final var value = valueFactory.get();
+      final var value = newItem();
       value.read(reader);
       set.add(value);
     }
+
+    // cached, so that changes of nested values reach the containers of this set
+    getEncodedLength();
   }
 
   @Override
   public int getEncodedLength() {
-    int length = getEncodedArrayHeaderLenght(set.size());
-    for (final T item : set) {
-      length += item.getEncodedLength();
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      length = getEncodedArrayHeaderLenght(set.size());
+      for (final T item : set) {
+        length += item.getEncodedLength();
+      }
+      setCachedEncodedLength(length);
     }
     return length;
   }
@@ -112,17 +130,25 @@ public final class SetValue<T extends BaseValue> extends BaseValue {
   }
 
   public SetValue<T> add(final Consumer<T> value) {
-    final T v = valueFactory.get();
+    final T v = newItem();
     value.accept(v);
     set.add(v);
+    invalidateEncodedLength();
     return this;
   }
 
   public void remove(final T value) {
     set.remove(value);
+    invalidateEncodedLength();
   }
 
   public int size() {
     return set.size();
   }
+
+  private T newItem() {
+    final T item = valueFactory.get();
+    item.setParent(this);
+    return item;
+  }
 }
@@ -12,6 +12,7 @@
  */
 package com.anyilanxin.msgpack.value;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
 import java.util.Objects;
@@ -32,6 +33,7 @@ public class ShortValue extends BaseValue {
 
   public void setValue(final short val) {
     value = val;
+    invalidateEncodedLength();
   }
 
   public short getValue() {
@@ -41,6 +43,7 @@ public class ShortValue extends BaseValue {
   @Override
   public void reset() {
     value = 0;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -48,6 +51,16 @@ public class ShortValue extends BaseValue {
     builder.append(value);
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeInteger(value);
+  }
+
+  @Override
+  public void writeJSONKey(final JsonWriter writer) {
+    writer.writeKey(value);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeInteger(value);
@@ -60,6 +73,7 @@ public class ShortValue extends BaseValue {
       throw new RuntimeException(String.format("Value doesn't fit into an short: %s.", longValue));
     }
     value = (short) longValue;
+    invalidateEncodedLength();
   }
 
   @Override
@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.value;
+
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedMapHeaderLenght;
+import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedStringLength;
+
+import com.anyilanxin.msgpack.json.JsonWriter;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.util.ByteScanner;
+import com.anyilanxin.msgpack.util.StringUtil;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Hashing;
+import org.agrona.collections.Object2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A map with string keys. Unlike {@code MapValue<StringValue, V>}, the keys are kept as views of
+ * their UTF-8 bytes in an {@link Object2ObjectHashMap} and looked up by bytes, and keys and values
+ * are recycled, so that reading, writing and looking up values doesn't allocate once the map has
+ * grown to its size.
+ *
+ * <p>Like {@link StringValue}, the keys wrap the memory they are read or put from, which must stay
+ * unchanged as long as the map is in use.
+ */
+public final class StringKeyMapValue<V extends BaseValue> extends BaseValue {
+  /** stored key -> the entry holding the key and its value */
+  private final Object2ObjectHashMap<DirectBuffer, Entry<V>> map;
+
+  private final List<Entry<V>> recycledEntries = new ArrayList<>();
+  private final List<V> recycledValues = new ArrayList<>();
+  private final Supplier<V> valueFactory;
+
+  /** equals the stored key of the same bytes, to look up keys without wrapping them for good */
+  private final UnsafeBuffer lookupKey = new UnsafeBuffer(0, 0);
+
+  public StringKeyMapValue(final Supplier<V> valueFactory) {
+    this(16, valueFactory);
+  }
+
+  public StringKeyMapValue(final int initialCapacity, final Supplier<V> valueFactory) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+    }
+    this.valueFactory = valueFactory;
+    map = new Object2ObjectHashMap<>(initialCapacity, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  @Override
+  public void reset() {
+    for (final Entry<V> entry : map.values()) {
+      recycledValues.add(entry.value);
+      entry.value = null;
+      recycledEntries.add(entry);
+    }
+    map.clear();
+    invalidateEncodedLength();
+  }
+
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  public boolean containsKey(final DirectBuffer key) {
+    return get(key) != null;
+  }
+
+  /**
+   * @return the value of the key, or null if the map doesn't contain the key
+   */
+  public V get(final DirectBuffer key) {
+    return get(key, 0, key.capacity());
+  }
+
+  /**
+   * @return the value of the key, or null if the map doesn't contain the key
+   */
+  public V get(final DirectBuffer key, final int offset, final int length) {
+    final Entry<V> entry = map.get(wrapKey(lookupKey, key, offset, length));
+    return entry != null ? entry.value : null;
+  }
+
+  /**
+   * Puts a new value for the key, replacing any previous value, and returns it to be filled in. The
+   * previous value is recycled.
+   */
+  public V put(final DirectBuffer key) {
+    return put(key, 0, key.capacity());
+  }
+
+  /**
+   * Puts a new value for the key, replacing any previous value, and returns it to be filled in. The
+   * previous value is recycled.
+   */
+  public V put(final DirectBuffer key, final int offset, final int length) {
+    final V value = newValue();
+    putValue(key, offset, length, value);
+    invalidateEncodedLength();
+    return value;
+  }
+
+  /**
+   * @return true if the map contained the key; its stored key and value are recycled
+   */
+  public boolean remove(final DirectBuffer key) {
+    final Entry<V> removed = map.remove(wrapKey(lookupKey, key, 0, key.capacity()));
+    if (removed == null) {
+      return false;
+    }
+
+    recycledValues.add(removed.value);
+    removed.value = null;
+    recycledEntries.add(removed);
+    invalidateEncodedLength();
+    return true;
+  }
+
+  /** The keys passed to the action are views of the stored keys, valid until the map changes. */
+  public void forEach(final BiConsumer<? super DirectBuffer, ? super V> action) {
+    for (final Entry<V> entry : map.values()) {
+      action.accept(entry.key, entry.value);
+    }
+  }
+
+  @Override
+  public void writeJSON(final StringBuilder builder) {
+    builder.append("{");
+    final Iterator<Entry<V>> entries = map.values().iterator();
+    while (entries.hasNext()) {
+      final Entry<V> entry = entries.next();
+      final DirectBuffer key = entry.key;
+      final String keyString = key.getStringWithoutLengthUtf8(0, key.capacity());
+      builder.append("\"");
+      if (ByteScanner.indexOfJsonEscape(key, 0, key.capacity()) == key.capacity()) {
+        builder.append(keyString);
+      } else {
+        StringUtil.appendJsonEscaped(builder, keyString);
+      }
+      builder.append("\"=");
+      entry.value.writeJSON(builder);
+      if (entries.hasNext()) {
+        builder.append(",");
+      }
+    }
+    builder.append("}");
+  }
+
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeStartObject();
+    for (final Entry<V> entry : map.values()) {
+      writer.writeKey(entry.key, 0, entry.key.capacity());
+      entry.value.writeJSON(writer);
+    }
+    writer.writeEndObject();
+  }
+
+  @Override
+  public void write(final MsgPackWriter writer) {
+    if (writeEncodedSource(writer)) {
+      return;
+    }
+
+    writer.writeMapHeader(map.size());
+    for (final Entry<V> entry : map.values()) {
+      writer.writeString(entry.key);
+      entry.value.write(writer);
+    }
+  }
+
+  @Override
+  public void read(final MsgPackReader reader) {
+    reset();
+
+    final DirectBuffer buffer = reader.getBuffer();
+    final int offset = reader.getOffset();
+    final int size = reader.readMapHeader();
+    for (int i = 0; i < size; i++) {
+      final int keyLength = reader.readStringLength();
+      final int keyOffset = reader.getOffset();
+      reader.skipBytes(keyLength);
+
+      final V value = newValue();
+      value.read(reader);
+      putValue(buffer, keyOffset, keyLength, value);
+    }
+
+    rememberSource(reader, offset);
+  }
+
+  @Override
+  public int getEncodedLength() {
+    int length = getCachedEncodedLength();
+    if (length == UNKNOWN_LENGTH) {
+      length = getEncodedMapHeaderLenght(map.size());
+      for (final Entry<V> entry : map.values()) {
+        length += getEncodedStringLength(entry.key.capacity());
+        length += entry.value.getEncodedLength();
+      }
+      setCachedEncodedLength(length);
+    }
+    return length;
+  }
+
+  @Override
+  public int hashCode() {
+    return map.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof final StringKeyMapValue<?> that)) {
+      return false;
+    }
+
+    return map.equals(that.map);
+  }
+
+  private void putValue(final DirectBuffer key, final int offset, final int length, final V value) {
+    final Entry<V> existing = map.get(wrapKey(lookupKey, key, offset, length));
+    if (existing != null) {
+      recycledValues.add(existing.value);
+      existing.value = value;
+    } else {
+      final Entry<V> entry = newEntry();
+      wrapKey(entry.key, key, offset, length);
+      entry.value = value;
+      map.put(entry.key, entry);
+    }
+  }
+
+  private Entry<V> newEntry() {
+    final int recycledSize = recycledEntries.size();
+    return recycledSize > 0 ? recycledEntries.remove(recycledSize - 1) : new Entry<>();
+  }
+
+  private static UnsafeBuffer wrapKey(
+      final UnsafeBuffer view, final DirectBuffer key, final int offset, final int length) {
+    if (length == 0) {
+      view.wrap(0, 0);
+    } else {
+      view.wrap(key, offset, length);
+    }
+    return view;
+  }
+
+  private V newValue() {
+    final int recycledSize = recycledValues.size();
+    if (recycledSize > 0) {
+      final V value = recycledValues.remove(recycledSize - 1);
+      value.reset();
+      return value;
+    }
+
+    final V value = valueFactory.get();
+    value.setParent(this);
+    return value;
+  }
+
+  /** A stored key with its value; equal by value, like the values of a map are compared. */
+  private static final class Entry<V extends BaseValue> {
+    private final UnsafeBuffer key = new UnsafeBuffer(0, 0);
+    private V value;
+
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return o instanceof final Entry<?> that && value.equals(that.value);
+    }
+  }
+}
@@ -18,9 +18,13 @@ package com.anyilanxin.msgpack.value;
 
 import static com.anyilanxin.msgpack.spec.MsgPackWriter.getEncodedStringLength;
 import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static com.anyilanxin.msgpack.util.StringUtil.appendJsonEscaped;
 
+import com.anyilanxin.msgpack.json.JsonWriter;
 import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackStreamReader;
 import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.util.ByteScanner;
 import java.util.Objects;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
@@ -54,12 +58,14 @@ public class StringValue extends BaseValue {
     bytes.wrap(0, 0);
     length = 0;
     hashCode = 0;
+    invalidateEncodedLength();
   }
 
   public void wrap(final byte[] bytes) {
     this.bytes.wrap(bytes);
     length = bytes.length;
     hashCode = 0;
+    invalidateEncodedLength();
   }
 
   public void wrap(final DirectBuffer buff) {
@@ -74,6 +80,7 @@ public class StringValue extends BaseValue {
     }
     this.length = length;
     hashCode = 0;
+    invalidateEncodedLength();
   }
 
   public void wrap(final StringValue anotherString) {
@@ -91,10 +98,24 @@ public class StringValue extends BaseValue {
   @Override
   public void writeJSON(final StringBuilder builder) {
     builder.append("\"");
-    builder.append(toString());
+    if (ByteScanner.indexOfJsonEscape(bytes, 0, length) == length) {
+      builder.append(toString());
+    } else {
+      appendJsonEscaped(builder, toString());
+    }
     builder.append("\"");
   }
 
+  @Override
+  public void writeJSON(final JsonWriter writer) {
+    writer.writeString(bytes, 0, length);
+  }
+
+  @Override
+  public void writeJSONKey(final JsonWriter writer) {
+    writer.writeKey(bytes, 0, length);
+  }
+
   @Override
   public String toString() {
     return bytes.getStringWithoutLengthUtf8(0, length);
@@ -111,6 +132,15 @@ public class StringValue extends BaseValue {
     wrap(buffer, offset, stringLength);
   }
 
+  /**
+   * Reads the next string from the stream. The value is only valid until the next read from the
+   * reader, so copy the bytes to retain them.
+   */
+  public void read(final MsgPackStreamReader reader) {
+    final int length = reader.readStringLength();
+    wrap(reader.readBytes(length), 0, length);
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     writer.writeString(bytes);
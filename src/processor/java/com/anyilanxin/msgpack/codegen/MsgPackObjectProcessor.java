@@ -0,0 +1,279 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.codegen;
+
+import com.anyilanxin.msgpack.codegen.UnpackedObjectSource.Property;
+import com.anyilanxin.msgpack.codegen.UnpackedObjectSource.PropertyType;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Generates an {@link com.anyilanxin.msgpack.UnpackedObject} subclass for each interface or record
+ * annotated with {@link MsgPackObject}. Unlike a subclass declaring its properties, the generated
+ * class reads, writes and measures its properties in straight-line code: keys are matched by a
+ * switch on their length followed by a comparison of their bytes, and values are kept in primitive
+ * fields, so no property is dispatched virtually on the hot paths.
+ *
+ * <p>The generated class is placed in the package of the annotated type. It implements the
+ * annotated interface, or converts from and to the annotated record. Each property is always
+ * written, properties missing when reading keep their zero value, and unknown properties are
+ * skipped rather than kept.
+ */
+@SupportedAnnotationTypes(MsgPackObjectProcessor.ANNOTATION)
+public final class MsgPackObjectProcessor extends AbstractProcessor {
+  /**
+   * the processed annotation; it is only referred to by name, so that the processor runs without
+   * the library on the processor path
+   */
+  static final String ANNOTATION = "com.anyilanxin.msgpack.codegen.MsgPackObject";
+
+  /** the class extended by the generated classes, whose methods the properties must not clash */
+  private static final String SUPERCLASS = "com.anyilanxin.msgpack.UnpackedObject";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(
+      final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    final TypeElement[] annotationTypes = annotations.toArray(new TypeElement[0]);
+    for (final Element element : roundEnv.getElementsAnnotatedWithAny(annotationTypes)) {
+      if (element.getKind() != ElementKind.INTERFACE && element.getKind() != ElementKind.RECORD) {
+        error(element, "@MsgPackObject must annotate an interface or a record");
+        continue;
+      }
+
+      final TypeElement type = (TypeElement) element;
+      if (type.getNestingKind() != NestingKind.TOP_LEVEL
+          && type.getNestingKind() != NestingKind.MEMBER) {
+        error(type, "@MsgPackObject must annotate a top level or member type");
+        continue;
+      }
+
+      final List<Property> properties = collectProperties(type);
+      if (properties != null) {
+        generate(type, properties);
+      }
+    }
+    return true;
+  }
+
+  private List<Property> collectProperties(final TypeElement type) {
+    final List<Property> properties = new ArrayList<>();
+    final Set<String> names = new HashSet<>();
+    boolean valid = true;
+
+    if (type.getKind() == ElementKind.RECORD) {
+      for (final RecordComponentElement component : type.getRecordComponents()) {
+        final Property property = toProperty(component, component.asType());
+        valid &= property != null;
+        properties.add(property);
+      }
+    } else {
+      // inherited accessors are properties as well, the ones of the annotated type come first
+      final Set<ExecutableElement> members =
+          new HashSet<>(
+              ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)));
+      final Set<ExecutableElement> methods = new LinkedHashSet<>();
+      collectMethods(type, methods);
+      for (final ExecutableElement method : methods) {
+        if (!members.contains(method) || !method.getModifiers().contains(Modifier.ABSTRACT)) {
+          continue;
+        }
+        if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) {
+          error(method, "@MsgPackObject accessors must not have parameters");
+          valid = false;
+          continue;
+        }
+        final Property property = toProperty(method, method.getReturnType());
+        valid &= property != null;
+        properties.add(property);
+      }
+    }
+
+    for (final Property property : properties) {
+      if (property != null && !names.add(property.name())) {
+        error(type, "Duplicate property '" + property.name() + "'");
+        valid = false;
+      }
+    }
+    if (valid && !checkClashes(type, properties)) {
+      valid = false;
+    }
+    if (properties.size() > Long.SIZE) {
+      error(type, "@MsgPackObject supports at most " + Long.SIZE + " properties");
+      valid = false;
+    }
+    return valid ? properties : null;
+  }
+
+  /** Adds the methods of the interface and of its super-interfaces, depth first. */
+  private void collectMethods(final TypeElement type, final Set<ExecutableElement> methods) {
+    methods.addAll(ElementFilter.methodsIn(type.getEnclosedElements()));
+    for (final TypeMirror superInterface : type.getInterfaces()) {
+      collectMethods((TypeElement) processingEnv.getTypeUtils().asElement(superInterface), methods);
+    }
+  }
+
+  /**
+   * Reports properties whose accessor or setters would clash with a method of the generated class
+   * or its superclass, e.g. a property named {@code reset}.
+   *
+   * @return true if there is no clash
+   */
+  private boolean checkClashes(final TypeElement type, final List<Property> properties) {
+    final TypeElement superclass = processingEnv.getElementUtils().getTypeElement(SUPERCLASS);
+    if (superclass == null) {
+      error(type, "@MsgPackObject requires " + SUPERCLASS + " on the class path");
+      return false;
+    }
+
+    final List<ExecutableElement> inherited = new ArrayList<>();
+    for (final ExecutableElement method :
+        ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(superclass))) {
+      if (!method.getModifiers().contains(Modifier.PRIVATE)) {
+        inherited.add(method);
+      }
+    }
+
+    boolean valid = true;
+    for (final Property property : properties) {
+      final String name = property.name();
+      final String setter = UnpackedObjectSource.setterName(name);
+      final String propertyType = property.type().qualifiedType;
+      final String clash;
+      if (propertyType.equals(PropertyType.STRING.qualifiedType)
+          && findMethod(inherited, setter, propertyType, "int", "int") != null) {
+        clash = setter + "(" + propertyType + ", int, int)";
+      } else if (findMethod(inherited, setter, propertyType) != null) {
+        clash = setter + "(" + propertyType + ")";
+      } else if (findMethod(inherited, name) != null
+          || (type.getKind() == ElementKind.RECORD && name.equals("toRecord"))) {
+        clash = name + "()";
+      } else {
+        continue;
+      }
+
+      error(
+          type,
+          "Property '" + name + "' clashes with the method " + clash + " of the generated class");
+      valid = false;
+    }
+    return valid;
+  }
+
+  private ExecutableElement findMethod(
+      final List<ExecutableElement> methods, final String name, final String... parameterTypes) {
+    for (final ExecutableElement method : methods) {
+      if (!method.getSimpleName().contentEquals(name)
+          || method.getParameters().size() != parameterTypes.length) {
+        continue;
+      }
+
+      boolean matches = true;
+      for (int i = 0; i < parameterTypes.length; i++) {
+        final TypeMirror parameter = method.getParameters().get(i).asType();
+        matches &=
+            processingEnv.getTypeUtils().erasure(parameter).toString().equals(parameterTypes[i]);
+      }
+      if (matches) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private Property toProperty(final Element element, final TypeMirror type) {
+    final PropertyType propertyType = PropertyType.of(type.toString());
+    if (propertyType == null) {
+      error(
+          element,
+          "Unsupported property type "
+              + type
+              + ", expected long, int, boolean, double or org.agrona.DirectBuffer");
+      return null;
+    }
+    return new Property(element.getSimpleName().toString(), propertyType);
+  }
+
+  /**
+   * @return the name() of the annotation, or an empty string if it is not set
+   */
+  private static String getGeneratedName(final TypeElement type) {
+    for (final AnnotationMirror annotation : type.getAnnotationMirrors()) {
+      final Element annotationType = annotation.getAnnotationType().asElement();
+      if (((TypeElement) annotationType).getQualifiedName().contentEquals(ANNOTATION)) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+            annotation.getElementValues().entrySet()) {
+          if (value.getKey().getSimpleName().contentEquals("name")) {
+            return (String) value.getValue().getValue();
+          }
+        }
+      }
+    }
+    return "";
+  }
+
+  private void generate(final TypeElement type, final List<Property> properties) {
+    final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+    final String packageName = packageElement.getQualifiedName().toString();
+    final String name = getGeneratedName(type);
+    final String className = name.isEmpty() ? "Unpacked" + type.getSimpleName() : name;
+    final String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+    final String source =
+        new UnpackedObjectSource(
+                packageName,
+                className,
+                type.getQualifiedName().toString(),
+                type.getKind() == ElementKind.RECORD,
+                properties)
+            .render();
+
+    try (final Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+      writer.write(source);
+    } catch (final IOException e) {
+      error(type, "Could not write " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private void error(final Element element, final String message) {
+    processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+  }
+}
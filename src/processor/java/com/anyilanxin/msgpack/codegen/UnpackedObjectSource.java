@@ -0,0 +1,548 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.codegen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+/** Renders the source of the class generated for a {@link MsgPackObject}. */
+final class UnpackedObjectSource {
+  private final String packageName;
+  private final String className;
+  private final String typeName;
+  private final boolean record;
+  private final List<Property> properties;
+  private final List<String> keyConstants = new ArrayList<>();
+  private final List<byte[]> encodedKeys = new ArrayList<>();
+
+  private final StringBuilder out = new StringBuilder();
+  private int indent;
+
+  UnpackedObjectSource(
+      final String packageName,
+      final String className,
+      final String typeName,
+      final boolean record,
+      final List<Property> properties) {
+    this.packageName = packageName;
+    this.className = className;
+    this.typeName = typeName;
+    this.record = record;
+    this.properties = properties;
+
+    final Set<String> constants = new HashSet<>();
+    for (final Property property : properties) {
+      String constant = "KEY_" + toConstantName(property.name());
+      while (!constants.add(constant)) {
+        constant += "_";
+      }
+      keyConstants.add(constant);
+      encodedKeys.add(encodeKey(property.name()));
+    }
+  }
+
+  String render() {
+    if (!packageName.isEmpty()) {
+      line("package %s;", packageName);
+      line();
+    }
+    line("import com.anyilanxin.msgpack.UnpackedObject;");
+    line("import com.anyilanxin.msgpack.json.JsonWriter;");
+    line("import com.anyilanxin.msgpack.spec.MsgPackReader;");
+    line("import com.anyilanxin.msgpack.spec.MsgPackWriter;");
+    line("import com.anyilanxin.msgpack.util.BufferUtil;");
+    line("import com.anyilanxin.msgpack.value.StringValue;");
+    line("import javax.annotation.processing.Generated;");
+    line("import org.agrona.DirectBuffer;");
+    line("import org.agrona.concurrent.UnsafeBuffer;");
+    line();
+    line("/** Reads and writes {@link %s} without declared properties. */", typeName);
+    line("@Generated(\"%s\")", MsgPackObjectProcessor.class.getName());
+    if (record) {
+      open("public final class %s extends UnpackedObject {", className);
+    } else {
+      open("public final class %s extends UnpackedObject implements %s {", className, typeName);
+    }
+    renderFields();
+    renderConstructor();
+    renderAccessors();
+    if (record) {
+      renderRecordConversion();
+    }
+    renderReset();
+    renderRead();
+    renderWrite();
+    renderEncodedLength();
+    renderJson();
+    renderEquality();
+    close("}");
+    return out.toString();
+  }
+
+  private void renderFields() {
+    for (int i = 0; i < properties.size(); i++) {
+      line("/** \"%s\" */", properties.get(i).name());
+      line(
+          "private static final UnsafeBuffer %s = new UnsafeBuffer(new byte[] {%s});",
+          keyConstants.get(i), toByteLiterals(encodedKeys.get(i)));
+    }
+    line();
+    line("/** the encoded length of the map header, of the keys and of the fixed size values */");
+    line("private static final int FIXED_LENGTH = %d;", fixedLength());
+    line();
+    line("private static final long ALL_PROPERTIES = 0x%xL;", allPropertiesMask());
+    line();
+    for (final Property property : properties) {
+      if (property.type() == PropertyType.STRING) {
+        line("private final StringValue %s = new StringValue();", property.name());
+      } else {
+        line("private %s %s;", property.type().javaType, property.name());
+      }
+    }
+  }
+
+  private void renderConstructor() {
+    line();
+    open("public %s() {", className);
+    line("super(0);");
+    for (final Property property : properties) {
+      if (property.type() == PropertyType.STRING) {
+        line("this.%s.setParent(this);", property.name());
+      }
+    }
+    close("}");
+  }
+
+  private void renderAccessors() {
+    for (final Property property : properties) {
+      final String name = property.name();
+      final String setter = setterName(name);
+      final PropertyType type = property.type();
+      line();
+      if (!record) {
+        line("@Override");
+      }
+      open("public %s %s() {", type.javaType, name);
+      line(type == PropertyType.STRING ? "return this.%s.getValue();" : "return this.%s;", name);
+      close("}");
+      line();
+      open("public %s %s(final %s value) {", className, setter, type.javaType);
+      if (type == PropertyType.STRING) {
+        line("this.%s.wrap(value);", name);
+      } else {
+        line("this.%s = value;", name);
+        line("invalidateEncodedLength();");
+      }
+      line("return this;");
+      close("}");
+      if (type == PropertyType.STRING) {
+        line();
+        open(
+            "public %s %s(final DirectBuffer buffer, final int offset, final int length) {",
+            className, setter);
+        line("this.%s.wrap(buffer, offset, length);", name);
+        line("return this;");
+        close("}");
+      }
+    }
+  }
+
+  private void renderRecordConversion() {
+    line();
+    open("public %s copyFrom(final %s record) {", className, typeName);
+    for (final Property property : properties) {
+      final String name = property.name();
+      if (property.type() == PropertyType.STRING) {
+        line("this.%s.wrap(record.%s());", name, name);
+      } else {
+        line("this.%s = record.%s();", name, name);
+      }
+    }
+    line("invalidateEncodedLength();");
+    line("return this;");
+    close("}");
+    line();
+    line("/** Creates the record, copying the strings so that it outlives this object. */");
+    open("public %s toRecord() {", typeName);
+    final List<String> arguments = new ArrayList<>();
+    for (final Property property : properties) {
+      final String name = property.name();
+      arguments.add(
+          property.type() == PropertyType.STRING
+              ? "BufferUtil.cloneBuffer(this.%1$s.getValue(), 0, this.%1$s.getLength())"
+                  .formatted(name)
+              : "this." + name);
+    }
+    line("return new %s(", typeName);
+    for (int i = 0; i < arguments.size(); i++) {
+      line("    %s%s", arguments.get(i), i < arguments.size() - 1 ? "," : ");");
+    }
+    if (arguments.isEmpty()) {
+      line("    );");
+    }
+    close("}");
+  }
+
+  private void renderReset() {
+    line();
+    line("@Override");
+    open("public void reset() {");
+    for (final Property property : properties) {
+      if (property.type() == PropertyType.STRING) {
+        line("this.%s.reset();", property.name());
+      } else {
+        line("this.%s = %s;", property.name(), property.type().zero);
+      }
+    }
+    line("invalidateEncodedLength();");
+    close("}");
+  }
+
+  private void renderRead() {
+    line();
+    line("@Override");
+    open("public void read(final MsgPackReader reader) {");
+    line("reset();");
+    line();
+    line("final DirectBuffer buffer = reader.getBuffer();");
+    line("final int offset = reader.getOffset();");
+    line("final int size = reader.readMapHeader();");
+    line("long decoded = 0;");
+    open("for (int i = 0; i < size; i++) {");
+    line("final int keyLength = reader.readStringLength();");
+    line("final int keyOffset = reader.getOffset();");
+    line("reader.skipBytes(keyLength);");
+    line();
+    open("switch (keyLength) {");
+    for (final var group : groupByKeyLength().entrySet()) {
+      final int keyLength = group.getKey();
+      open("case %d -> {", keyLength);
+      for (final int index : group.getValue()) {
+        final byte[] key = encodedKeys.get(index);
+        open(
+            "if (BufferUtil.contentsEqual(buffer, keyOffset, %s, %d, %d)) {",
+            keyConstants.get(index), key.length - keyLength, keyLength);
+        renderReadValue(properties.get(index));
+        line("decoded |= 0x%xL;", 1L << index);
+        line("continue;");
+        close("}");
+      }
+      close("}");
+    }
+    line("default -> {}");
+    close("}");
+    line("// unknown properties are skipped");
+    line("reader.skipValue();");
+    close("}");
+    line();
+    line("// otherwise writing adds the missing properties or drops the unknown ones;");
+    line("// either way the length is cached, so that changes of the strings reach the containers");
+    open("if (size == %d && decoded == ALL_PROPERTIES) {", properties.size());
+    line("rememberSource(reader, offset);");
+    close("} else {");
+    indent++;
+    line("getEncodedLength();");
+    close("}");
+    close("}");
+  }
+
+  private void renderReadValue(final Property property) {
+    final String name = property.name();
+    switch (property.type()) {
+      case LONG -> line("this.%s = reader.readInteger();", name);
+      case INT -> {
+        line("final long value = reader.readInteger();");
+        open("if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {");
+        line("throw new RuntimeException(");
+        line("    String.format(\"Value doesn't fit into an integer: %%s.\", value));");
+        close("}");
+        line("this.%s = (int) value;", name);
+      }
+      case BOOLEAN -> line("this.%s = reader.readBoolean();", name);
+      case DOUBLE -> line("this.%s = reader.readDouble();", name);
+      case STRING -> line("this.%s.read(reader);", name);
+    }
+  }
+
+  private void renderWrite() {
+    line();
+    line("@Override");
+    open("public void write(final MsgPackWriter writer) {");
+    open("if (writeEncodedSource(writer)) {");
+    line("return;");
+    close("}");
+    line();
+    line("writer.writeMapHeader(%d);", properties.size());
+    for (int i = 0; i < properties.size(); i++) {
+      final Property property = properties.get(i);
+      final String name = property.name();
+      line("writer.writeRaw(%s);", keyConstants.get(i));
+      switch (property.type()) {
+        case LONG, INT -> line("writer.writeInteger(this.%s);", name);
+        case BOOLEAN -> line("writer.writeBoolean(this.%s);", name);
+        case DOUBLE -> line("writer.writeFloat(this.%s);", name);
+        case STRING -> line("this.%s.write(writer);", name);
+      }
+    }
+    close("}");
+  }
+
+  private void renderEncodedLength() {
+    line();
+    line("@Override");
+    open("public int getEncodedLength() {");
+    line("int length = getCachedEncodedLength();");
+    open("if (length == UNKNOWN_LENGTH) {");
+    line("length = FIXED_LENGTH;");
+    for (final Property property : properties) {
+      final String name = property.name();
+      switch (property.type()) {
+        case LONG, INT -> line("length += MsgPackWriter.getEncodedLongValueLength(this.%s);", name);
+        case DOUBLE -> line("length += MsgPackWriter.getEncodedFloatValueLength(this.%s);", name);
+        case STRING -> line("length += this.%s.getEncodedLength();", name);
+        case BOOLEAN -> {}
+      }
+    }
+    line("setCachedEncodedLength(length);");
+    close("}");
+    line("return length;");
+    close("}");
+  }
+
+  private void renderJson() {
+    line();
+    line("@Override");
+    open("public void writeJSON(final StringBuilder builder) {");
+    line("builder.append('{');");
+    for (int i = 0; i < properties.size(); i++) {
+      final Property property = properties.get(i);
+      final String name = property.name();
+      final String key = (i > 0 ? ",\\\"" : "\\\"") + name + "\\\":";
+      if (property.type() == PropertyType.STRING) {
+        line("builder.append(\"%s\");", key);
+        line("this.%s.writeJSON(builder);", name);
+      } else {
+        line("builder.append(\"%s\").append(this.%s);", key, name);
+      }
+    }
+    line("builder.append('}');");
+    close("}");
+
+    line();
+    line("@Override");
+    open("public void writeJSON(final JsonWriter writer) {");
+    line("writer.writeStartObject();");
+    for (int i = 0; i < properties.size(); i++) {
+      final Property property = properties.get(i);
+      final String name = property.name();
+      final int keyLength = property.name().getBytes(StandardCharsets.UTF_8).length;
+      final String writeKey =
+          "writer.writeKey(%s, %d, %d)"
+              .formatted(keyConstants.get(i), encodedKeys.get(i).length - keyLength, keyLength);
+      switch (property.type()) {
+        case LONG, INT -> line("%s.writeInteger(this.%s);", writeKey, name);
+        case BOOLEAN -> line("%s.writeBoolean(this.%s);", writeKey, name);
+        case DOUBLE -> line("%s.writeFloat(this.%s);", writeKey, name);
+        case STRING -> {
+          line("%s;", writeKey);
+          line("this.%s.writeJSON(writer);", name);
+        }
+      }
+    }
+    line("writer.writeEndObject();");
+    close("}");
+  }
+
+  private void renderEquality() {
+    line();
+    line("/** All properties are always written. */");
+    line("@Override");
+    open("public boolean isEmpty() {");
+    line("return false;");
+    close("}");
+
+    line();
+    line("@Override");
+    open("public boolean equals(final Object o) {");
+    open("if (this == o) {");
+    line("return true;");
+    close("}");
+    open("if (!(o instanceof final %s that)) {", className);
+    line("return false;");
+    close("}");
+    if (properties.isEmpty()) {
+      line("return true;");
+    } else {
+      final List<String> comparisons = new ArrayList<>();
+      for (final Property property : properties) {
+        final String name = property.name();
+        comparisons.add(
+            switch (property.type()) {
+              case LONG, INT, BOOLEAN -> "this.%1$s == that.%1$s".formatted(name);
+              case DOUBLE -> "Double.compare(this.%1$s, that.%1$s) == 0".formatted(name);
+              case STRING -> "this.%1$s.equals(that.%1$s)".formatted(name);
+            });
+      }
+      line("return %s", comparisons.get(0) + (comparisons.size() == 1 ? ";" : ""));
+      for (int i = 1; i < comparisons.size(); i++) {
+        line("    && %s%s", comparisons.get(i), i == comparisons.size() - 1 ? ";" : "");
+      }
+    }
+    close("}");
+
+    line();
+    line("@Override");
+    open("public int hashCode() {");
+    line("int result = 0;");
+    for (final Property property : properties) {
+      line(
+          "result = 31 * result + %s;",
+          property.type() == PropertyType.STRING
+              ? "this." + property.name() + ".hashCode()"
+              : property.type().boxedType + ".hashCode(this." + property.name() + ")");
+    }
+    line("return result;");
+    close("}");
+  }
+
+  /** maps the length of the keys to the indexes of their properties, shortest keys first */
+  private TreeMap<Integer, List<Integer>> groupByKeyLength() {
+    final TreeMap<Integer, List<Integer>> groups = new TreeMap<>();
+    for (int i = 0; i < properties.size(); i++) {
+      final int keyLength = properties.get(i).name().getBytes(StandardCharsets.UTF_8).length;
+      groups.computeIfAbsent(keyLength, length -> new ArrayList<>()).add(i);
+    }
+    return groups;
+  }
+
+  private int fixedLength() {
+    final int size = properties.size();
+    int length = size < (1 << 4) ? 1 : size < (1 << 16) ? 3 : 5;
+    for (int i = 0; i < size; i++) {
+      length += encodedKeys.get(i).length;
+      if (properties.get(i).type() == PropertyType.BOOLEAN) {
+        length += 1;
+      }
+    }
+    return length;
+  }
+
+  private long allPropertiesMask() {
+    return properties.size() == Long.SIZE ? -1L : (1L << properties.size()) - 1;
+  }
+
+  /** the key as written by MsgPackWriter#writeString, i.e. the string header and its bytes */
+  private static byte[] encodeKey(final String key) {
+    final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+    final byte[] header;
+    if (bytes.length < (1 << 5)) {
+      header = new byte[] {(byte) (0xa0 | bytes.length)};
+    } else if (bytes.length < (1 << 8)) {
+      header = new byte[] {(byte) 0xd9, (byte) bytes.length};
+    } else {
+      header = new byte[] {(byte) 0xda, (byte) (bytes.length >> 8), (byte) bytes.length};
+    }
+
+    final byte[] encoded = new byte[header.length + bytes.length];
+    System.arraycopy(header, 0, encoded, 0, header.length);
+    System.arraycopy(bytes, 0, encoded, header.length, bytes.length);
+    return encoded;
+  }
+
+  private static String toByteLiterals(final byte[] bytes) {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < bytes.length; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(bytes[i]);
+    }
+    return builder.toString();
+  }
+
+  private static String toConstantName(final String name) {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < name.length(); i++) {
+      final char c = name.charAt(i);
+      if (Character.isUpperCase(c) && i > 0) {
+        builder.append('_');
+      }
+      builder.append(c);
+    }
+    return builder.toString().toUpperCase(Locale.ROOT);
+  }
+
+  private void line() {
+    out.append('\n');
+  }
+
+  private void line(final String format, final Object... args) {
+    out.append("  ".repeat(indent)).append(format.formatted(args)).append('\n');
+  }
+
+  private void open(final String format, final Object... args) {
+    line(format, args);
+    indent++;
+  }
+
+  private void close(final String text) {
+    indent--;
+    line(text);
+  }
+
+  static String setterName(final String property) {
+    return "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+  }
+
+  record Property(String name, PropertyType type) {}
+
+  enum PropertyType {
+    LONG("long", "long", "Long", "0"),
+    INT("int", "int", "Integer", "0"),
+    BOOLEAN("boolean", "boolean", "Boolean", "false"),
+    DOUBLE("double", "double", "Double", "0"),
+    STRING("DirectBuffer", "org.agrona.DirectBuffer", null, null);
+
+    /** the type of the accessor in the generated source */
+    final String javaType;
+
+    final String qualifiedType;
+    final String boxedType;
+    final String zero;
+
+    PropertyType(
+        final String javaType,
+        final String qualifiedType,
+        final String boxedType,
+        final String zero) {
+      this.javaType = javaType;
+      this.qualifiedType = qualifiedType;
+      this.boxedType = boxedType;
+      this.zero = zero;
+    }
+
+    static PropertyType of(final String typeName) {
+      for (final PropertyType type : values()) {
+        if (type.qualifiedType.equals(typeName)) {
+          return type;
+        }
+      }
+      return null;
+    }
+  }
+}
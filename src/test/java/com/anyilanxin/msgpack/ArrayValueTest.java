@@ -380,6 +380,55 @@ public class ArrayValueTest {
                 .isEqualTo("[{\"longProp\":1},{\"longProp\":2},{\"longProp\":3}]");
     }
 
+    @Test
+    public void shouldReuseItemsWhenDecodingAgain() {
+        // given
+        addIntValues(array, 1, 2, 3);
+        final DirectBuffer buffer = encode(array);
+        decode(array, buffer);
+        final List<IntegerValue> decodedItems = new ArrayList<>();
+        array.forEach(decodedItems::add);
+
+        // when
+        decode(array, buffer);
+
+        // then
+        assertIntValues(array, 1, 2, 3);
+        for (int i = 0; i < decodedItems.size(); i++) {
+            assertThat(array.get(i)).isSameAs(decodedItems.get(i));
+        }
+    }
+
+    @Test
+    public void shouldGrowPoolWhenDecodingLargerArray() {
+        // given
+        addIntValues(array, 1, 2);
+        final DirectBuffer smallBuffer = encode(array);
+        addIntValues(array, 3, 4, 5);
+        final DirectBuffer largeBuffer = encode(array);
+        decode(array, smallBuffer);
+
+        // when
+        decode(array, largeBuffer);
+
+        // then
+        assertIntValues(array, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void shouldResetRecycledItemOnAdd() {
+        // given
+        addIntValues(array, 1);
+        final IntegerValue removed = array.remove(0);
+
+        // when
+        final IntegerValue added = array.add(0);
+
+        // then
+        assertThat(added).isSameAs(removed);
+        assertThat(added.getValue()).isEqualTo(0);
+    }
+
     // Helpers
 
     protected void addIntValues(final ArrayValue<IntegerValue> array, final Integer... values) {
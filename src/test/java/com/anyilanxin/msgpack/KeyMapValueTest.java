@@ -0,0 +1,295 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.json.JsonWriter;
+import com.anyilanxin.msgpack.property.IntKeyMapProperty;
+import com.anyilanxin.msgpack.property.LongKeyMapProperty;
+import com.anyilanxin.msgpack.property.StringKeyMapProperty;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.BaseValue;
+import com.anyilanxin.msgpack.value.IntKeyMapValue;
+import com.anyilanxin.msgpack.value.LongKeyMapValue;
+import com.anyilanxin.msgpack.value.LongValue;
+import com.anyilanxin.msgpack.value.MapValue;
+import com.anyilanxin.msgpack.value.StringKeyMapValue;
+import com.anyilanxin.msgpack.value.StringValue;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class KeyMapValueTest {
+
+    private final MsgPackWriter writer = new MsgPackWriter();
+    private final MsgPackReader reader = new MsgPackReader();
+
+    @Test
+    public void shouldEncodeAndDecodeLongKeys() {
+        // given
+        final LongKeyMapValue<LongValue> map = new LongKeyMapValue<>(LongValue::new);
+        map.put(Long.MAX_VALUE).setValue(1);
+        map.put(-1).setValue(2);
+        map.put(0).setValue(Long.MIN_VALUE);
+
+        // when
+        final DirectBuffer encoded = encode(map);
+        final LongKeyMapValue<LongValue> decoded = new LongKeyMapValue<>(LongValue::new);
+        decode(decoded, encoded);
+
+        // then
+        assertThat(map.getEncodedLength()).isEqualTo(encoded.capacity());
+        assertThat(decoded.size()).isEqualTo(3);
+        assertThat(decoded.get(Long.MAX_VALUE).getValue()).isEqualTo(1);
+        assertThat(decoded.get(-1).getValue()).isEqualTo(2);
+        assertThat(decoded.get(0).getValue()).isEqualTo(Long.MIN_VALUE);
+        assertThat(decoded.get(1)).isNull();
+        assertThat(decoded).isEqualTo(map);
+    }
+
+    @Test
+    public void shouldKeepLastOfDuplicateKeys() {
+        // given
+        final DirectBuffer encoded =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(3);
+                            w.writeInteger(1);
+                            w.writeInteger(10);
+                            w.writeInteger(2);
+                            w.writeInteger(20);
+                            w.writeInteger(1);
+                            w.writeInteger(30);
+                        });
+        final LongKeyMapValue<LongValue> map = new LongKeyMapValue<>(LongValue::new);
+
+        // when
+        decode(map, encoded);
+
+        // then
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(1).getValue()).isEqualTo(30);
+    }
+
+    @Test
+    public void shouldReencodeChangedValue() {
+        // given
+        final LongKeyMapValue<LongValue> map = new LongKeyMapValue<>(LongValue::new);
+        map.put(1).setValue(1);
+        map.put(2).setValue(2);
+        final LongKeyMapValue<LongValue> decoded = new LongKeyMapValue<>(LongValue::new);
+        decode(decoded, encode(map));
+
+        // when
+        decoded.get(1).setValue(Long.MAX_VALUE);
+        decoded.remove(2);
+        decoded.put(3).setValue(3);
+
+        // then
+        final DirectBuffer encoded = encode(decoded);
+        assertThat(decoded.getEncodedLength()).isEqualTo(encoded.capacity());
+        decode(map, encoded);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(1).getValue()).isEqualTo(Long.MAX_VALUE);
+        assertThat(map.get(3).getValue()).isEqualTo(3);
+        assertThat(map.containsKey(2)).isFalse();
+    }
+
+    @Test
+    public void shouldRecycleValues() {
+        // given
+        final LongKeyMapValue<LongValue> map = new LongKeyMapValue<>(LongValue::new);
+        map.put(1).setValue(1);
+        final DirectBuffer encoded = encode(map);
+        decode(map, encoded);
+        final LongValue value = map.get(1);
+
+        // when
+        decode(map, encoded);
+
+        // then
+        assertThat(map.get(1)).isSameAs(value);
+        assertThat(value.getValue()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectIntegerKeyOutOfRange() {
+        // given
+        final LongKeyMapValue<LongValue> map = new LongKeyMapValue<>(LongValue::new);
+        map.put(1L << 31).setValue(1);
+        final DirectBuffer encoded = encode(map);
+
+        // then
+        assertThatThrownBy(() -> decode(new IntKeyMapValue<>(LongValue::new), encoded))
+                .hasMessageContaining("Value doesn't fit into an integer");
+    }
+
+    @Test
+    public void shouldDecodeMapValueWithStringKeys() {
+        // given
+        final MapValue<StringValue, LongValue> mapValue =
+                new MapValue<>(StringValue::new, LongValue::new);
+        putString(mapValue, "foo", 1);
+        putString(mapValue, "", 2);
+        putString(mapValue, "ünïcödé", 3);
+        final StringKeyMapValue<LongValue> map = new StringKeyMapValue<>(LongValue::new);
+
+        // when
+        decode(map, encode(mapValue));
+
+        // then
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get(wrapString("foo")).getValue()).isEqualTo(1);
+        assertThat(map.get(wrapString("")).getValue()).isEqualTo(2);
+        assertThat(map.get(wrapString("ünïcödé")).getValue()).isEqualTo(3);
+        assertThat(map.get(wrapString("bar"))).isNull();
+        assertThat(map.getEncodedLength()).isEqualTo(mapValue.getEncodedLength());
+    }
+
+    @Test
+    public void shouldLookUpStringKeyAtOffset() {
+        // given
+        final StringKeyMapValue<LongValue> map = new StringKeyMapValue<>(LongValue::new);
+        map.put(wrapString("bar")).setValue(7);
+        final DirectBuffer key = wrapString("foobarbaz");
+
+        // then
+        assertThat(map.get(key, 3, 3).getValue()).isEqualTo(7);
+        assertThat(map.get(key, 3, 2)).isNull();
+    }
+
+    @Test
+    public void shouldReplaceValueOfStringKey() {
+        // given
+        final StringKeyMapValue<LongValue> map = new StringKeyMapValue<>(LongValue::new);
+        map.put(wrapString("foo")).setValue(1);
+
+        // when
+        map.put(wrapString("foo")).setValue(2);
+
+        // then
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(asMap(encode(map))).containsOnly(entry("foo", 2L));
+        assertThat(map.remove(wrapString("foo"))).isTrue();
+        assertThat(map.remove(wrapString("foo"))).isFalse();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldRecycleRemovedStringKey() {
+        // given
+        final StringKeyMapValue<LongValue> map = new StringKeyMapValue<>(LongValue::new);
+        map.put(wrapString("foo")).setValue(1);
+        final List<DirectBuffer> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+
+        // when
+        map.remove(wrapString("foo"));
+        map.put(wrapString("bar")).setValue(2);
+
+        // then
+        map.forEach((key, value) -> keys.add(key));
+        assertThat(keys).hasSize(2);
+        assertThat(keys.get(1)).isSameAs(keys.get(0));
+        assertThat(asMap(encode(map))).containsOnly(entry("bar", 2L));
+    }
+
+    @Test
+    public void shouldWriteJson() {
+        // given
+        final StringKeyMapValue<LongValue> stringKeys = new StringKeyMapValue<>(LongValue::new);
+        stringKeys.put(wrapString("a\"b")).setValue(1);
+        final IntKeyMapValue<LongValue> intKeys = new IntKeyMapValue<>(LongValue::new);
+        intKeys.put(-3).setValue(2);
+
+        // then
+        assertThat(toJson(stringKeys)).isEqualTo("{\"a\\\"b\":1}");
+        assertThat(toJson(intKeys)).isEqualTo("{\"-3\":2}");
+        assertThat(stringKeys.toString()).isEqualTo("{\"a\\\"b\"=1}");
+        assertThat(intKeys.toString()).isEqualTo("{-3=2}");
+    }
+
+    @Test
+    public void shouldMapKeyMapProperties() {
+        // given
+        final Record record = new Record();
+        record.byLong.put(Long.MAX_VALUE).setValue(1);
+        record.byInt.put(7).setValue(2);
+        record.byString.put(wrapString("foo")).setValue(3);
+
+        // when
+        final DirectBuffer encoded = createCopy(record);
+        final Record decoded = new Record();
+        decoded.wrap(encoded);
+
+        // then
+        assertThat(decoded.getLength()).isEqualTo(encoded.capacity());
+        assertThat(decoded.byLong.get(Long.MAX_VALUE).getValue()).isEqualTo(1);
+        assertThat(decoded.byInt.get(7).getValue()).isEqualTo(2);
+        assertThat(decoded.byString.get(wrapString("foo")).getValue()).isEqualTo(3);
+    }
+
+    private static void putString(
+            final MapValue<StringValue, LongValue> map, final String key, final long value) {
+        final StringValue keyValue = map.key();
+        keyValue.wrap(wrapString(key));
+        final LongValue valueValue = map.value();
+        valueValue.setValue(value);
+        map.put(keyValue, valueValue);
+    }
+
+    private static String toJson(final BaseValue value) {
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[256]);
+        final JsonWriter jsonWriter = new JsonWriter().wrap(buffer, 0);
+        value.writeJSON(jsonWriter);
+        return bufferAsString(buffer, 0, jsonWriter.getOffset());
+    }
+
+    private DirectBuffer encode(final BaseValue value) {
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[1024]);
+        writer.wrap(buffer, 0);
+        value.write(writer);
+        return new UnsafeBuffer(buffer, 0, writer.getOffset());
+    }
+
+    private void decode(final BaseValue value, final DirectBuffer buffer) {
+        reader.wrap(buffer, 0, buffer.capacity());
+        value.read(reader);
+    }
+
+    static final class Record extends UnpackedObject {
+        private final LongKeyMapProperty<LongValue> byLong =
+                new LongKeyMapProperty<>("byLong", LongValue::new);
+        private final IntKeyMapProperty<LongValue> byInt =
+                new IntKeyMapProperty<>("byInt", LongValue::new);
+        private final StringKeyMapProperty<LongValue> byString =
+                new StringKeyMapProperty<>("byString", LongValue::new);
+
+        Record() {
+            super(3);
+            declareProperty(byLong).declareProperty(byInt).declareProperty(byString);
+        }
+    }
+}
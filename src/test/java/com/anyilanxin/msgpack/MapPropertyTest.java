@@ -0,0 +1,281 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.property.MapProperty;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.value.LongValue;
+import com.anyilanxin.msgpack.value.MapValue;
+import com.anyilanxin.msgpack.value.StringValue;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class MapPropertyTest {
+
+    @Test
+    public void shouldComputeEncodedLength() {
+        // given
+        final MapPOJO pojo = new MapPOJO();
+
+        // when
+        pojo.put("foo", 1L);
+        pojo.put("bar", Long.MAX_VALUE);
+
+        // then
+        assertEncodedLength(pojo);
+    }
+
+    @Test
+    public void shouldSerializeWithExactSize() {
+        // given
+        final MapPOJO pojo = new MapPOJO();
+        pojo.put("foo", 1L);
+        pojo.put("bar", 123456L);
+
+        // when
+        final DirectBuffer copy = createCopy(pojo);
+
+        // then
+        final Map<String, Object> map = asMap(copy);
+        @SuppressWarnings("unchecked") final Map<String, Object> values = (Map<String, Object>) map.get("values");
+        assertThat(values).containsOnly(entry("foo", 1L), entry("bar", 123456L));
+    }
+
+    @Test
+    public void shouldUpdateLengthOnReplace() {
+        // given
+        final MapPOJO pojo = new MapPOJO();
+        pojo.put("foo", 1L);
+        pojo.getLength();
+
+        // when
+        pojo.put("foo", Long.MIN_VALUE);
+
+        // then
+        assertEncodedLength(pojo);
+        assertThat(pojo.values.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUpdateLengthOnRemove() {
+        // given
+        final MapPOJO pojo = new MapPOJO();
+        pojo.put("foo", 1L);
+        pojo.put("bar", Long.MAX_VALUE);
+        pojo.getLength();
+
+        // when
+        pojo.values.remove(new StringValue("bar"));
+
+        // then
+        assertEncodedLength(pojo);
+        assertThat(pojo.values.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUpdateLengthWhenEntryChanges() {
+        // given
+        final MapPOJO pojo = new MapPOJO();
+        pojo.put("foo", 1L);
+        pojo.getLength();
+
+        // when
+        pojo.values.get(new StringValue("foo")).setValue(Long.MAX_VALUE);
+
+        // then
+        assertEncodedLength(pojo);
+    }
+
+    @Test
+    public void shouldComputeLengthAfterRead() {
+        // given
+        final MapPOJO source = new MapPOJO();
+        source.put("foo", 1L);
+        source.put("bar", Long.MAX_VALUE);
+        final DirectBuffer buffer = createCopy(source);
+        final MapPOJO pojo = new MapPOJO();
+
+        // when
+        pojo.wrap(buffer);
+
+        // then
+        assertThat(pojo.getLength()).isEqualTo(buffer.capacity());
+        assertThat(pojo.values.get(new StringValue("bar")).getValue()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldComputeLengthAfterReset() {
+        // given
+        final MapPOJO pojo = new MapPOJO();
+        pojo.put("foo", 1L);
+        pojo.getLength();
+
+        // when
+        pojo.reset();
+
+        // then
+        assertEncodedLength(pojo);
+        assertThat(pojo.values.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldRecycleEntriesOnRead() {
+        // given
+        final MapPOJO source = new MapPOJO();
+        source.put("foo", 1L);
+        final DirectBuffer buffer = createCopy(source);
+        final MapPOJO pojo = new MapPOJO();
+        pojo.wrap(buffer);
+        final LongValue value = pojo.values.get(new StringValue("foo"));
+
+        // when
+        pojo.reset();
+        pojo.wrap(buffer);
+
+        // then
+        assertThat(pojo.values.get(new StringValue("foo"))).isSameAs(value);
+        assertThat(value.getValue()).isEqualTo(1L);
+        assertEncodedLength(pojo);
+    }
+
+    @Test
+    public void shouldKeepFirstKeyOfDuplicates() {
+        // given
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("values"));
+                            w.writeMapHeader(2);
+                            w.writeString(wrapString("foo"));
+                            w.writeInteger(1);
+                            w.writeString(wrapString("foo"));
+                            w.writeInteger(2);
+                        });
+        final MapPOJO pojo = new MapPOJO();
+
+        // when
+        pojo.wrap(buffer);
+        pojo.reset();
+        pojo.wrap(buffer);
+
+        // then
+        assertThat(pojo.values.size()).isEqualTo(1);
+        assertThat(pojo.values.get(new StringValue("foo")).getValue()).isEqualTo(2L);
+        assertEncodedLength(pojo);
+    }
+
+    @Test
+    public void shouldNotRecycleEntriesPutByCaller() {
+        // given
+        final MapValue<StringValue, LongValue> map =
+                new MapValue<>(StringValue::new, LongValue::new);
+        final StringValue key = new StringValue("foo");
+        final LongValue value = new LongValue(1);
+        map.put(key, value);
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("bar"));
+                            w.writeInteger(2);
+                        });
+
+        // when
+        map.reset();
+        map.read(new MsgPackReader().wrap(buffer, 0, buffer.capacity()));
+
+        // then
+        assertThat(key).isEqualTo(new StringValue("foo"));
+        assertThat(value.getValue()).isEqualTo(1L);
+        assertThat(map.get(new StringValue("bar")).getValue()).isEqualTo(2L);
+    }
+
+    @Test
+    public void shouldRecycleDisplacedAndRemovedEntries() {
+        // given
+        final MapValue<StringValue, LongValue> map =
+                new MapValue<>(StringValue::new, LongValue::new);
+        final StringValue storedKey = map.key();
+        storedKey.wrap(wrapString("foo"));
+        final LongValue firstValue = map.value();
+        map.put(storedKey, firstValue);
+        final StringValue equalKey = map.key();
+        equalKey.wrap(wrapString("foo"));
+        final LongValue secondValue = map.value();
+
+        // when
+        map.put(equalKey, secondValue);
+
+        // then
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(new StringValue("foo"))).isSameAs(secondValue);
+        assertThat(map.key()).isSameAs(equalKey);
+        assertThat(map.value()).isSameAs(firstValue);
+
+        // when
+        map.remove(new StringValue("foo"));
+
+        // then
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.value()).isSameAs(secondValue);
+        assertThat(map.key()).isSameAs(storedKey);
+    }
+
+    @Test
+    public void shouldNotLinkEntriesPutByCaller() {
+        // given
+        final MapValue<StringValue, LongValue> map =
+                new MapValue<>(StringValue::new, LongValue::new);
+        final StringValue key = new StringValue("foo");
+        final LongValue value = new LongValue(1);
+
+        // when
+        map.put(key, value);
+
+        // then
+        assertThat(key.getParent()).isNull();
+        assertThat(value.getParent()).isNull();
+        assertThat(map.get(new StringValue("foo"))).isSameAs(value);
+    }
+
+    private static void assertEncodedLength(final UnpackedObject object) {
+        final int length = object.getLength();
+        final int writtenLength = object.writeTo(new ExpandableArrayBuffer(), 0);
+        assertThat(length).isEqualTo(writtenLength);
+    }
+
+    static final class MapPOJO extends UnpackedObject {
+        private final MapProperty<StringValue, LongValue> values =
+                new MapProperty<>("values", StringValue::new, LongValue::new);
+
+        MapPOJO() {
+            super(1);
+            declareProperty(values);
+        }
+
+        void put(final String key, final long value) {
+            values.put((k) -> k.wrap(wrapString(key)), (v) -> v.setValue(value));
+        }
+    }
+}
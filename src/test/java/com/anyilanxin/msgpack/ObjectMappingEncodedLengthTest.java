@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.property.ArrayProperty;
+import com.anyilanxin.msgpack.property.ObjectProperty;
+import com.anyilanxin.msgpack.property.StringProperty;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.ArrayValue;
+import com.anyilanxin.msgpack.value.IntegerValue;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectMappingEncodedLengthTest {
+
+    @Test
+    public void shouldCacheEncodedLength() {
+        // given
+        final ArrayValue<CountingValue> array = new ArrayValue<>(CountingValue::new);
+        final CountingValue item = array.add();
+        array.getEncodedLength();
+
+        // when
+        array.getEncodedLength();
+        array.getEncodedLength();
+
+        // then
+        assertThat(item.lengthCalls).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldInvalidateWhenItemChanges() {
+        // given
+        final ArrayValue<CountingValue> array = new ArrayValue<>(CountingValue::new);
+        final CountingValue item = array.add();
+        final int length = array.getEncodedLength();
+
+        // when
+        item.setValue(Integer.MAX_VALUE);
+
+        // then
+        assertThat(array.getEncodedLength()).isEqualTo(length + 4);
+        assertThat(item.lengthCalls).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldInvalidateWhenNestedPropertyChanges() {
+        // given
+        final Record record = new Record();
+        record.name.setValue("foo");
+        record.nested.getValue().setLong(1);
+        assertEncodedLength(record);
+
+        // when
+        record.nested.getValue().setLong(Long.MAX_VALUE);
+
+        // then
+        assertEncodedLength(record);
+    }
+
+    @Test
+    public void shouldInvalidateWhenPropertyIsSet() {
+        // given
+        final Record record = new Record();
+        record.name.setValue("foo");
+        assertEncodedLength(record);
+
+        // when
+        record.name.setValue(wrapString("a longer name"));
+
+        // then
+        assertEncodedLength(record);
+    }
+
+    @Test
+    public void shouldInvalidateWhenArrayChanges() {
+        // given
+        final Record record = new Record();
+        record.name.setValue("foo");
+        assertEncodedLength(record);
+
+        // when - then
+        record.numbers.add().setValue(1);
+        assertEncodedLength(record);
+
+        record.numbers.add(0).setValue(Integer.MIN_VALUE);
+        assertEncodedLength(record);
+
+        final Iterator<IntegerValue> iterator = record.numbers.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEncodedLength(record);
+    }
+
+    @Test
+    public void shouldInvalidateOnReset() {
+        // given
+        final Record record = new Record();
+        record.name.setValue("a long name to reset");
+        record.numbers.add().setValue(1);
+        assertEncodedLength(record);
+
+        // when
+        record.reset();
+        record.name.setValue("foo");
+
+        // then
+        assertEncodedLength(record);
+    }
+
+    @Test
+    public void shouldInvalidateOnWrap() {
+        // given
+        final Record source = new Record();
+        source.name.setValue("a much longer name than before");
+        source.numbers.add().setValue(Integer.MAX_VALUE);
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final int length = source.writeTo(buffer, 0);
+
+        final Record record = new Record();
+        record.name.setValue("foo");
+        assertEncodedLength(record);
+
+        // when
+        record.wrap(buffer, 0, length);
+
+        // then
+        assertThat(record.getLength()).isEqualTo(length);
+    }
+
+    private static void assertEncodedLength(final UnpackedObject object) {
+        final int length = object.getLength();
+        final int writtenLength = object.writeTo(new ExpandableArrayBuffer(), 0);
+        assertThat(length).isEqualTo(writtenLength);
+    }
+
+    static final class Record extends UnpackedObject {
+        private final StringProperty name = new StringProperty("name");
+        private final ObjectProperty<POJONested> nested =
+                new ObjectProperty<>("nested", new POJONested());
+        private final ArrayProperty<IntegerValue> numbers =
+                new ArrayProperty<>("numbers", IntegerValue::new);
+
+        Record() {
+            super(3);
+            declareProperty(name).declareProperty(nested).declareProperty(numbers);
+        }
+    }
+
+    static final class CountingValue extends IntegerValue {
+        private int lengthCalls;
+
+        @Override
+        public int getEncodedLength() {
+            lengthCalls++;
+            return MsgPackWriter.getEncodedLongValueLength(getValue());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.POJO.POJOEnum;
+import com.anyilanxin.msgpack.json.JsonWriter;
+import com.anyilanxin.msgpack.property.ArrayProperty;
+import com.anyilanxin.msgpack.property.BinaryProperty;
+import com.anyilanxin.msgpack.property.BooleanProperty;
+import com.anyilanxin.msgpack.property.DoubleProperty;
+import com.anyilanxin.msgpack.property.EnumProperty;
+import com.anyilanxin.msgpack.property.MapProperty;
+import com.anyilanxin.msgpack.property.ObjectProperty;
+import com.anyilanxin.msgpack.property.PackedProperty;
+import com.anyilanxin.msgpack.property.StringProperty;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.ArrayValue;
+import com.anyilanxin.msgpack.value.BaseValue;
+import com.anyilanxin.msgpack.value.LongValue;
+import com.anyilanxin.msgpack.value.StringValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObjectMappingJsonTest {
+
+    @Test
+    public void shouldWriteJson() {
+        // given
+        final JsonPOJO pojo = new JsonPOJO();
+        pojo.string.setValue("quote\" backslash\\ newline\n ü");
+        pojo.binary.setValue(wrapBytes(1, 2, 3, 0xff));
+        pojo.enumProp.setValue(POJOEnum.BAR);
+        pojo.doubleProp.setValue(0.5);
+        pojo.bool.setValue(true);
+        pojo.array.add().setValue(1);
+        pojo.array.add().setValue(-2);
+        pojo.map.put((k) -> k.setValue(7), (v) -> v.wrap(wrapString("seven")));
+        pojo.packed.setValue(packedDocument(), 0, packedDocument().capacity());
+        pojo.object.getValue().setLong(24);
+
+        // when
+        final String json = writeJson(pojo);
+
+        // then
+        assertThat(json)
+                .isEqualTo(
+                        "{\"string\":\"quote\\\" backslash\\\\ newline\\n ü\","
+                                + "\"binary\":\"AQID/w==\",\"enumProp\":\"BAR\","
+                                + "\"doubleProp\":0.5,\"bool\":true,\"array\":[1,-2],"
+                                + "\"map\":{\"7\":\"seven\"},\"packed\":{\"a\":[1,null]},"
+                                + "\"object\":{\"foo\":24}}");
+    }
+
+    @Test
+    public void shouldWriteValidJsonOfDecodedObject() throws Exception {
+        // given
+        final JsonPOJO pojo = new JsonPOJO();
+        pojo.string.setValue("foo");
+        pojo.binary.setValue(wrapBytes(1));
+        pojo.array.add().setValue(3);
+        pojo.packed.setValue(packedDocument(), 0, packedDocument().capacity());
+        final ExpandableArrayBuffer encoded = new ExpandableArrayBuffer();
+        final int encodedLength = pojo.writeTo(encoded, 0);
+        final JsonPOJO decoded = new JsonPOJO();
+        decoded.wrap(encoded, 0, encodedLength);
+
+        // when
+        final String json = writeJson(decoded);
+
+        // then
+        assertThat(new ObjectMapper().readTree(json))
+                .isEqualTo(
+                        new ObjectMapper()
+                                .readTree(
+                                        "{\"string\":\"foo\",\"binary\":\"AQ==\",\"enumProp\":\"FOO\","
+                                                + "\"doubleProp\":1.5,\"bool\":false,\"array\":[3],"
+                                                + "\"map\":{},\"packed\":{\"a\":[1,null]},"
+                                                + "\"object\":{\"foo\":-1}}"));
+    }
+
+    @Test
+    public void shouldWriteJsonAtOffset() {
+        // given
+        final JsonPOJO pojo = new JsonPOJO();
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(8);
+        pojo.string.setValue("foo");
+        final String expected = writeJson(pojo);
+
+        // when
+        final int length = pojo.writeJSONTo(buffer, 5);
+
+        // then
+        assertThat(buffer.getStringWithoutLengthUtf8(5, length)).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldWriteSameJsonAsStringBuilderForSimpleObjects() {
+        // given
+        final POJONested pojo = new POJONested().setLong(42);
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+
+        // when
+        final int length = pojo.writeJSONTo(buffer, 0);
+
+        // then
+        assertThat(buffer.getStringWithoutLengthUtf8(0, length)).isEqualTo(pojo.toString());
+    }
+
+    @Test
+    public void shouldFallBackToStringBuilderJsonOfCustomValues() {
+        // given
+        final ArrayValue<CustomValue> array = new ArrayValue<>(CustomValue::new);
+        array.add();
+        array.add();
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(8);
+        final JsonWriter writer = new JsonWriter().wrap(buffer, 0);
+
+        // when
+        array.writeJSON(writer);
+
+        // then
+        final String custom = "{\"custom\":\"ü \uD83D\uDE00\"}";
+        assertThat(buffer.getStringWithoutLengthUtf8(0, writer.getWrittenLength()))
+                .isEqualTo("[" + custom + "," + custom + "]");
+    }
+
+    @Test
+    public void shouldEscapeStringsInToString() {
+        // given
+        final JsonPOJO pojo = new JsonPOJO();
+        pojo.string.setValue("quote\" backslash\\ newline\n bell\u0007 ü");
+
+        // when
+        final String json = pojo.toString();
+
+        // then
+        assertThat(json).contains("\"quote\\\" backslash\\\\ newline\\n bell\\u0007 ü\"");
+    }
+
+    private static String writeJson(final UnpackedObject pojo) {
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(8);
+        final int length = pojo.writeJSONTo(buffer, 0);
+        return buffer.getStringWithoutLengthUtf8(0, length);
+    }
+
+    private static DirectBuffer packedDocument() {
+        final DirectBuffer document =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("a"));
+                            w.writeArrayHeader(2);
+                            w.writeInteger(1);
+                            w.writeNil();
+                        });
+        return new UnsafeBuffer(document, 0, document.capacity());
+    }
+
+    /** A value which only knows how to write its JSON into a string builder. */
+    static final class CustomValue extends BaseValue {
+        @Override
+        public void writeJSON(final StringBuilder builder) {
+            builder.append("{\"custom\":\"ü \uD83D\uDE00\"}");
+        }
+
+        @Override
+        public void write(final MsgPackWriter writer) {
+            writer.writeNil();
+        }
+
+        @Override
+        public void read(final MsgPackReader reader) {
+            reader.skipValue();
+        }
+
+        @Override
+        public int getEncodedLength() {
+            return 1;
+        }
+
+        @Override
+        public void reset() {}
+    }
+
+    static final class JsonPOJO extends UnpackedObject {
+        private final StringProperty string = new StringProperty("string", "");
+        private final BinaryProperty binary = new BinaryProperty("binary");
+        private final EnumProperty<POJOEnum> enumProp =
+                new EnumProperty<>("enumProp", POJOEnum.class, POJOEnum.FOO);
+        private final DoubleProperty doubleProp = new DoubleProperty("doubleProp", 1.5);
+        private final BooleanProperty bool = new BooleanProperty("bool", false);
+        private final ArrayProperty<LongValue> array = new ArrayProperty<>("array", LongValue::new);
+        private final MapProperty<LongValue, StringValue> map =
+                new MapProperty<>("map", LongValue::new, StringValue::new);
+        private final PackedProperty packed = new PackedProperty("packed");
+        private final ObjectProperty<POJONested> object =
+                new ObjectProperty<>("object", new POJONested());
+
+        JsonPOJO() {
+            super(9);
+            declareProperty(string)
+                    .declareProperty(binary)
+                    .declareProperty(enumProp)
+                    .declareProperty(doubleProp)
+                    .declareProperty(bool)
+                    .declareProperty(array)
+                    .declareProperty(map)
+                    .declareProperty(packed)
+                    .declareProperty(object);
+        }
+    }
+}
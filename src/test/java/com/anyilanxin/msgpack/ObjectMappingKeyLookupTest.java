@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.property.LongProperty;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class ObjectMappingKeyLookupTest {
+
+    private static final int PROPERTY_COUNT = 40;
+
+    @Test
+    public void shouldDeserializeKeysInDeclarationOrder() {
+        // given
+        final List<Integer> order = declarationOrder();
+
+        // when
+        final WidePOJO pojo = decode(order);
+
+        // then
+        assertValues(pojo);
+    }
+
+    @Test
+    public void shouldDeserializeKeysInReverseOrder() {
+        // given
+        final List<Integer> order = declarationOrder();
+        Collections.reverse(order);
+
+        // when
+        final WidePOJO pojo = decode(order);
+
+        // then
+        assertValues(pojo);
+    }
+
+    @Test
+    public void shouldDeserializeKeysInRandomOrder() {
+        // given
+        final List<Integer> order = declarationOrder();
+        Collections.shuffle(order, new Random(7));
+
+        // when
+        final WidePOJO pojo = decode(order);
+
+        // then
+        assertValues(pojo);
+    }
+
+    @Test
+    public void shouldDistinguishKeysSharingPrefix() {
+        // given
+        final PrefixPOJO pojo = new PrefixPOJO();
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(4);
+                            w.writeString(wrapString("aVeryLongPropertyName"));
+                            w.writeInteger(1);
+                            w.writeString(wrapString("aVeryLongPropertyNam"));
+                            w.writeInteger(2);
+                            w.writeString(wrapString("a"));
+                            w.writeInteger(3);
+                            w.writeString(wrapString("aVeryLongPropertyNameX"));
+                            w.writeInteger(4);
+                        });
+
+        // when
+        pojo.wrap(buffer);
+
+        // then
+        assertThat(pojo.longName.getValue()).isEqualTo(1);
+        assertThat(pojo.shortName.getValue()).isEqualTo(3);
+
+        final Map<String, Object> serialized = asMap(createCopy(pojo));
+        assertThat(serialized)
+                .containsOnly(
+                        entry("aVeryLongPropertyName", 1L),
+                        entry("aVeryLongPropertyNam", 2L),
+                        entry("a", 3L),
+                        entry("aVeryLongPropertyNameX", 4L));
+    }
+
+    @Test
+    public void shouldReuseObjectWithDifferentKeyOrder() {
+        // given
+        final WidePOJO pojo = new WidePOJO();
+        final List<Integer> order = declarationOrder();
+        pojo.wrap(encode(order));
+
+        // when
+        Collections.shuffle(order, new Random(13));
+        pojo.wrap(encode(order));
+
+        // then
+        assertValues(pojo);
+    }
+
+    private static List<Integer> declarationOrder() {
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            order.add(i);
+        }
+        return order;
+    }
+
+    private static WidePOJO decode(final List<Integer> order) {
+        final WidePOJO pojo = new WidePOJO();
+        pojo.wrap(encode(order));
+        return pojo;
+    }
+
+    private static DirectBuffer encode(final List<Integer> order) {
+        return encodeMsgPack(
+                (w) -> {
+                    w.writeMapHeader(order.size());
+                    for (final int i : order) {
+                        w.writeString(wrapString(WidePOJO.key(i)));
+                        w.writeInteger(i * 1000L);
+                    }
+                });
+    }
+
+    private static void assertValues(final WidePOJO pojo) {
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            assertThat(pojo.props[i].getValue()).isEqualTo(i * 1000L);
+        }
+    }
+
+    static final class WidePOJO extends UnpackedObject {
+        private final LongProperty[] props = new LongProperty[PROPERTY_COUNT];
+
+        WidePOJO() {
+            super(PROPERTY_COUNT);
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                props[i] = new LongProperty(key(i));
+                declareProperty(props[i]);
+            }
+        }
+
+        static String key(final int i) {
+            return "processInstanceProperty" + i;
+        }
+    }
+
+    static final class PrefixPOJO extends UnpackedObject {
+        private final LongProperty longName = new LongProperty("aVeryLongPropertyName");
+        private final LongProperty shortName = new LongProperty("a");
+
+        PrefixPOJO() {
+            super(2);
+            declareProperty(longName).declareProperty(shortName);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.property.ArrayProperty;
+import com.anyilanxin.msgpack.property.LongProperty;
+import com.anyilanxin.msgpack.property.ObjectProperty;
+import com.anyilanxin.msgpack.property.StringProperty;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.IntegerValue;
+import com.anyilanxin.msgpack.value.LongValue;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class ObjectMappingLazyDecodingTest {
+
+    @Test
+    public void shouldDecodePropertyOnFirstAccess() {
+        // given
+        final LazyRecord record = new LazyRecord();
+
+        // when
+        record.wrap(encode(this::writeRecord));
+
+        // then
+        assertThat(record.id.reads).isZero();
+        assertThat(record.getId()).isEqualTo(7);
+        assertThat(record.getId()).isEqualTo(7);
+        assertThat(record.id.reads).isEqualTo(1);
+        assertThat(bufferAsString(record.name.getValue())).isEqualTo("foo");
+        assertThat(record.nested.getValue().getLong()).isEqualTo(5);
+        assertThat(record.numbers).extracting(IntegerValue::getValue).containsExactly(1, 2);
+    }
+
+    @Test
+    public void shouldWriteSourceOfUnmodifiedObject() {
+        // given
+        final LazyRecord record = new LazyRecord();
+        final DirectBuffer source = encode(this::writeRecord);
+        record.wrap(source);
+
+        // when
+        record.getId();
+        record.nested.getValue().getLong();
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written).isEqualTo(source);
+        assertThat(record.id.reads).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldWriteChangedProperty() {
+        // given
+        final LazyRecord record = new LazyRecord();
+        final DirectBuffer source = encode(this::writeRecord);
+        record.wrap(source);
+
+        // when
+        record.setId(Long.MAX_VALUE);
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written.capacity()).isEqualTo(record.getLength());
+        assertThat(record.id.reads).isZero();
+        assertThat(asMap(written))
+                .containsOnly(
+                        entry("id", Long.MAX_VALUE),
+                        entry("name", "foo"),
+                        entry("nested", Map.of("foo", 5L)),
+                        entry("numbers", "[1, 2]"),
+                        entry("retries", 3L));
+    }
+
+    @Test
+    public void shouldWriteChangeOfNestedObject() {
+        // given
+        final LazyRecord record = new LazyRecord();
+        record.wrap(encode(this::writeRecord));
+        final int length = record.getLength();
+
+        // when
+        record.nested.getValue().setLong(Long.MAX_VALUE);
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(record.getLength()).isEqualTo(length + 8);
+        assertThat(asMap(written)).contains(entry("nested", Map.of("foo", Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldAddToArrayAfterDecodingIt() {
+        // given
+        final LazyRecord record = new LazyRecord();
+        record.wrap(encode(this::writeRecord));
+
+        // when
+        record.numbers.add().setValue(3);
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(asMap(written)).contains(entry("numbers", "[1, 2, 3]"));
+    }
+
+    @Test
+    public void shouldWriteDefaultOfMissingProperty() {
+        // given
+        final LazyRecord record = new LazyRecord();
+
+        // when
+        record.wrap(
+                encode(
+                        (w) -> {
+                            w.writeMapHeader(4);
+                            writeRecordEntries(w);
+                        }));
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written.capacity()).isEqualTo(record.getLength());
+        assertThat(asMap(written)).hasSize(5).contains(entry("id", 7L), entry("retries", 3L));
+    }
+
+    @Test
+    public void shouldDecodeAgainAfterWrap() {
+        // given
+        final LazyRecord record = new LazyRecord();
+        record.wrap(encode(this::writeRecord));
+        record.getId();
+
+        // when
+        record.reset();
+        record.wrap(
+                encode(
+                        (w) -> {
+                            w.writeMapHeader(5);
+                            w.writeString(wrapString("id"));
+                            w.writeInteger(9);
+                            writeNameNestedNumbersAndRetries(w);
+                        }));
+
+        // then
+        assertThat(record.getId()).isEqualTo(9);
+        assertThat(record.id.reads).isEqualTo(2);
+    }
+
+    private static DirectBuffer encode(final Consumer<MsgPackWriter> writer) {
+        return encodeMsgPack(writer);
+    }
+
+    private void writeRecord(final MsgPackWriter writer) {
+        writer.writeMapHeader(5);
+        writeRecordEntries(writer);
+        writer.writeString(wrapString("retries"));
+        writer.writeInteger(3);
+    }
+
+    private void writeRecordEntries(final MsgPackWriter writer) {
+        // a non-canonical int64 encoding, which is only preserved by copying the source
+        writer.writeString(wrapString("id"));
+        writer.writeRaw(wrapBytes(0xd3, 0, 0, 0, 0, 0, 0, 0, 7));
+        writer.writeString(wrapString("name"));
+        writer.writeString(wrapString("foo"));
+        writer.writeString(wrapString("nested"));
+        writer.writeMapHeader(1);
+        writer.writeString(wrapString("foo"));
+        writer.writeInteger(5);
+        writer.writeString(wrapString("numbers"));
+        writer.writeArrayHeader(2);
+        writer.writeInteger(1);
+        writer.writeInteger(2);
+    }
+
+    private void writeNameNestedNumbersAndRetries(final MsgPackWriter writer) {
+        writer.writeString(wrapString("name"));
+        writer.writeString(wrapString("bar"));
+        writer.writeString(wrapString("nested"));
+        writer.writeMapHeader(0);
+        writer.writeString(wrapString("numbers"));
+        writer.writeArrayHeader(0);
+        writer.writeString(wrapString("retries"));
+        writer.writeInteger(1);
+    }
+
+    static final class LazyRecord extends UnpackedObject {
+        private final CountingProperty id = new CountingProperty("id");
+        private final StringProperty name = new StringProperty("name");
+        private final ObjectProperty<POJONested> nested =
+                new ObjectProperty<>("nested", new POJONested());
+        private final ArrayProperty<IntegerValue> numbers =
+                new ArrayProperty<>("numbers", IntegerValue::new);
+        private final LongProperty retries = new LongProperty("retries", 3L);
+
+        LazyRecord() {
+            super(5);
+            declareProperty(id)
+                    .declareProperty(name)
+                    .declareProperty(nested)
+                    .declareProperty(numbers)
+                    .declareProperty(retries)
+                    .setLazyDecoding(true);
+        }
+
+        long getId() {
+            return id.getValue();
+        }
+
+        void setId(final long value) {
+            id.setValue(value);
+        }
+    }
+
+    static final class CountingProperty extends LongProperty {
+        private int reads;
+
+        CountingProperty(final String key) {
+            super(key);
+            this.value = new CountingLongValue(this);
+        }
+    }
+
+    static final class CountingLongValue extends LongValue {
+        private final CountingProperty property;
+
+        CountingLongValue(final CountingProperty property) {
+            this.property = property;
+        }
+
+        @Override
+        public void read(final MsgPackReader reader) {
+            property.reads++;
+            super.read(reader);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.property.ArrayProperty;
+import com.anyilanxin.msgpack.property.LongProperty;
+import com.anyilanxin.msgpack.property.ObjectProperty;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class ObjectMappingPassthroughTest {
+
+    private static final int INT64_OVERHEAD = 8;
+
+    /** the offset of the value of "id", following the map header and the key */
+    private static final int ID_VALUE_OFFSET = 4;
+
+    @Test
+    public void shouldCopySourceOfUnmodifiedObject() {
+        // given
+        final Record record = new Record();
+        final DirectBuffer source = encodeMsgPack(ObjectMappingPassthroughTest::writeRecord);
+        record.wrap(source);
+
+        // when
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written).isEqualTo(source);
+    }
+
+    @Test
+    public void shouldCopyWrappedBufferUntilChanged() {
+        // given
+        final MutableDirectBuffer source =
+                encodeMsgPack(ObjectMappingPassthroughTest::writeRecord);
+        final Record record = new Record();
+        record.wrap(source);
+
+        // when the buffer is reused, although it must stay unchanged until the object changes
+        source.putByte(ID_VALUE_OFFSET, (byte) 9);
+
+        // then the decoded value is kept, but the object is still written from the buffer
+        assertThat(record.id.getValue()).isEqualTo(7L);
+        assertThat(asMap(createCopy(record))).contains(entry("id", 9L));
+
+        // when
+        record.id.setValue(7);
+
+        // then
+        assertThat(asMap(createCopy(record))).contains(entry("id", 7L));
+    }
+
+    @Test
+    public void shouldCopySourceOfUnmodifiedNestedValues() {
+        // given
+        final Record record = new Record();
+        final DirectBuffer source = encodeMsgPack(ObjectMappingPassthroughTest::writeRecord);
+        record.wrap(source);
+
+        // when
+        record.id.setValue(Long.MAX_VALUE);
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written.capacity())
+                .isEqualTo(record.getLength())
+                .isEqualTo(source.capacity() + INT64_OVERHEAD);
+        assertThat(asMap(written))
+                .containsOnly(
+                        entry("id", Long.MAX_VALUE),
+                        entry("nested", Map.of("foo", 5L)),
+                        entry("items", "[{foo=1}, {foo=2}]"));
+    }
+
+    @Test
+    public void shouldReencodeChangedArrayItem() {
+        // given
+        final Record record = new Record();
+        final DirectBuffer source = encodeMsgPack(ObjectMappingPassthroughTest::writeRecord);
+        record.wrap(source);
+
+        // when
+        record.items.iterator().next().setLong(3);
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written.capacity())
+                .isEqualTo(record.getLength())
+                .isEqualTo(source.capacity() - INT64_OVERHEAD);
+        assertThat(asMap(written)).contains(entry("items", "[{foo=3}, {foo=2}]"));
+    }
+
+    @Test
+    public void shouldReencodeObjectWithMissingProperty() {
+        // given
+        final Record record = new Record();
+        final DirectBuffer source =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("id"));
+                            w.writeInteger(7);
+                        });
+
+        // when
+        record.wrap(source);
+        final DirectBuffer written = createCopy(record);
+
+        // then
+        assertThat(written.capacity()).isEqualTo(record.getLength());
+        assertThat(asMap(written))
+                .containsOnly(
+                        entry("id", 7L), entry("nested", Map.of("foo", -1L)), entry("items", "[]"));
+    }
+
+    private static void writeRecord(final MsgPackWriter writer) {
+        writer.writeMapHeader(3);
+        writer.writeString(wrapString("id"));
+        writer.writeInteger(7);
+        // non-canonical int64 encodings are only preserved by copying the source
+        writer.writeString(wrapString("nested"));
+        writer.writeMapHeader(1);
+        writer.writeString(wrapString("foo"));
+        writer.writeRaw(wrapBytes(0xd3, 0, 0, 0, 0, 0, 0, 0, 5));
+        writer.writeString(wrapString("items"));
+        writer.writeArrayHeader(2);
+        writer.writeMapHeader(1);
+        writer.writeString(wrapString("foo"));
+        writer.writeRaw(wrapBytes(0xd3, 0, 0, 0, 0, 0, 0, 0, 1));
+        writer.writeMapHeader(1);
+        writer.writeString(wrapString("foo"));
+        writer.writeInteger(2);
+    }
+
+    static final class Record extends UnpackedObject {
+        private final LongProperty id = new LongProperty("id");
+        private final ObjectProperty<POJONested> nested =
+                new ObjectProperty<>("nested", new POJONested());
+        private final ArrayProperty<POJONested> items =
+                new ArrayProperty<>("items", POJONested::new);
+
+        Record() {
+            super(3);
+            declareProperty(id).declareProperty(nested).declareProperty(items);
+        }
+    }
+}
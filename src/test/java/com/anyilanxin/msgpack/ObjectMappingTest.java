@@ -19,6 +19,7 @@ package com.anyilanxin.msgpack;
 import com.anyilanxin.msgpack.POJO.POJOEnum;
 import com.anyilanxin.msgpack.execption.MsgpackPropertyException;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Rule;
@@ -106,6 +107,22 @@ public class ObjectMappingTest {
         assertThat(objectProp).containsExactly(entry("foo", 24L));
     }
 
+    @Test
+    public void shouldSerializeIntoExpandableBufferInSinglePass() {
+        // given
+        final MinimalPOJO pojo = new MinimalPOJO();
+        pojo.setLongProp(456456L);
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1);
+
+        // when
+        final int writtenLength = pojo.writeTo(buffer, 3);
+
+        // then
+        assertThat(writtenLength).isEqualTo(pojo.getLength());
+        final Map<String, Object> msgPackMap = MsgPackUtil.asMap(buffer, 3, writtenLength);
+        assertThat(msgPackMap).containsExactly(entry("longProp", 456456L));
+    }
+
     @Test
     public void shouldDeserializePOJO() {
         // given
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.property.DoubleArrayProperty;
+import com.anyilanxin.msgpack.property.IntArrayProperty;
+import com.anyilanxin.msgpack.property.LongArrayProperty;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.ArrayValue;
+import com.anyilanxin.msgpack.value.BaseValue;
+import com.anyilanxin.msgpack.value.DoubleArrayValue;
+import com.anyilanxin.msgpack.value.IntArrayValue;
+import com.anyilanxin.msgpack.value.LongArrayValue;
+import com.anyilanxin.msgpack.value.LongValue;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class PrimitiveArrayValueTest {
+
+    private static final long[] LONGS = {
+        0, 1, -1, -32, -33, 127, 128, 255, 256, -129, 65535, 65536, -32769,
+        Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    private final MsgPackWriter writer = new MsgPackWriter();
+    private final MsgPackReader reader = new MsgPackReader();
+
+    @Test
+    public void shouldEncodeLikeArrayValue() {
+        // given
+        final LongArrayValue array = new LongArrayValue().addAll(LONGS);
+        final ArrayValue<LongValue> boxedArray = new ArrayValue<>(LongValue::new);
+        for (final long value : LONGS) {
+            boxedArray.add().setValue(value);
+        }
+
+        // when
+        final DirectBuffer encoded = encode(array);
+
+        // then
+        assertThat(encoded).isEqualTo(encode(boxedArray));
+        assertThat(array.getEncodedLength()).isEqualTo(encoded.capacity());
+    }
+
+    @Test
+    public void shouldDecodeArrayValue() {
+        // given
+        final ArrayValue<LongValue> boxedArray = new ArrayValue<>(LongValue::new);
+        for (final long value : LONGS) {
+            boxedArray.add().setValue(value);
+        }
+        final LongArrayValue array = new LongArrayValue(0);
+
+        // when
+        decode(array, encode(boxedArray));
+
+        // then
+        assertThat(array.size()).isEqualTo(LONGS.length);
+        assertThat(array.toArray()).containsExactly(LONGS);
+        assertThat(array.getLong(LONGS.length - 1)).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    public void shouldReencodeChangedArray() {
+        // given
+        final LongArrayValue array = new LongArrayValue();
+        decode(array, encode(new LongArrayValue().addAll(1, 2, 3)));
+
+        // when
+        array.setLong(1, Long.MAX_VALUE);
+        array.remove(0);
+        array.add(4);
+
+        // then
+        final DirectBuffer encoded = encode(array);
+        assertThat(array.getEncodedLength()).isEqualTo(encoded.capacity());
+        decode(array, encoded);
+        assertThat(array.toArray()).containsExactly(Long.MAX_VALUE, 3, 4);
+    }
+
+    @Test
+    public void shouldRejectIndexOutOfBounds() {
+        // given
+        final LongArrayValue array = new LongArrayValue().addAll(1, 2, 3);
+
+        // then
+        assertThatThrownBy(() -> array.getLong(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> array.setLong(-1, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> array.remove(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void shouldRejectSizeExceedingInput() {
+        // given
+        final DirectBuffer encoded =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeArrayHeader(Integer.MAX_VALUE);
+                            w.writeInteger(1);
+                        });
+        final DirectBuffer truncated = new UnsafeBuffer(encoded, 0, 6);
+
+        // then
+        assertThatThrownBy(() -> decode(new LongArrayValue(), truncated))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("only 1 bytes remain");
+    }
+
+    @Test
+    public void shouldRejectIntegerOutOfRange() {
+        // given
+        final DirectBuffer encoded = encode(new LongArrayValue().addAll(1, 1L << 31));
+
+        // then
+        assertThatThrownBy(() -> decode(new IntArrayValue(), encoded))
+                .hasMessageContaining("Value doesn't fit into an integer");
+    }
+
+    @Test
+    public void shouldEncodeIntegers() {
+        // given
+        final IntArrayValue array = new IntArrayValue().addAll(Integer.MIN_VALUE, -1, 0, 300);
+
+        // when
+        final DirectBuffer encoded = encode(array);
+
+        // then
+        assertThat(encoded)
+                .isEqualTo(encode(new LongArrayValue().addAll(Integer.MIN_VALUE, -1, 0, 300)));
+        final IntArrayValue decoded = new IntArrayValue();
+        decode(decoded, encoded);
+        assertThat(decoded).isEqualTo(array);
+        assertThat(decoded.hashCode()).isEqualTo(array.hashCode());
+    }
+
+    @Test
+    public void shouldEncodeFloatingPointNumbers() {
+        // given
+        final DoubleArrayValue array = new DoubleArrayValue().addAll(0.5, 0.1, -1e300, Double.NaN);
+
+        // when
+        final DirectBuffer encoded = encode(array);
+
+        // then
+        assertThat(array.getEncodedLength())
+                .isEqualTo(encoded.capacity())
+                .isEqualTo(1 + 5 + 3 * 9);
+        final DoubleArrayValue decoded = new DoubleArrayValue();
+        decode(decoded, encoded);
+        assertThat(decoded.toArray()).containsExactly(0.5, 0.1, -1e300, Double.NaN);
+        assertThat(decoded.toString()).isEqualTo("[0.5,0.1,-1.0E300,NaN]");
+    }
+
+    @Test
+    public void shouldMapArrayProperties() {
+        // given
+        final Record record = new Record();
+        record.longs.add(Long.MAX_VALUE).add(-1);
+        record.ints.add(7);
+        record.doubles.add(0.25);
+
+        // when
+        final DirectBuffer encoded = createCopy(record);
+
+        // then
+        assertThat(asMap(encoded))
+                .containsOnly(
+                        entry("longs", "[9223372036854775807, -1]"),
+                        entry("ints", "[7]"),
+                        entry("doubles", "[0.25]"));
+
+        final Record decoded = new Record();
+        decoded.wrap(encoded);
+        assertThat(decoded.longs.toArray()).containsExactly(Long.MAX_VALUE, -1);
+        assertThat(decoded.ints.getInt(0)).isEqualTo(7);
+        assertThat(decoded.doubles.getDouble(0)).isEqualTo(0.25);
+    }
+
+    @Test
+    public void shouldMapEmptyArrayProperties() {
+        // given
+        final Record record = new Record();
+
+        // when
+        final DirectBuffer encoded = createCopy(record);
+
+        // then
+        assertThat(asMap(encoded))
+                .isEqualTo(Map.of("longs", "[]", "ints", "[]", "doubles", "[]"));
+    }
+
+    private DirectBuffer encode(final BaseValue value) {
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[1024]);
+        writer.wrap(buffer, 0);
+        value.write(writer);
+        return new UnsafeBuffer(buffer, 0, writer.getOffset());
+    }
+
+    private void decode(final BaseValue value, final DirectBuffer buffer) {
+        reader.wrap(buffer, 0, buffer.capacity());
+        value.read(reader);
+    }
+
+    static final class Record extends UnpackedObject {
+        private final LongArrayProperty longs = new LongArrayProperty("longs");
+        private final IntArrayProperty ints = new IntArrayProperty("ints");
+        private final DoubleArrayProperty doubles = new DoubleArrayProperty("doubles");
+
+        Record() {
+            super(3);
+            declareProperty(longs).declareProperty(ints).declareProperty(doubles);
+        }
+    }
+}
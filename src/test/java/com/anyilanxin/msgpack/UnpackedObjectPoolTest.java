@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UnpackedObjectPoolTest {
+
+    @Test
+    public void shouldReuseReleasedObject() {
+        // given
+        final UnpackedObjectPool<DefaultValuesPOJO> pool =
+                new UnpackedObjectPool<>(() -> new DefaultValuesPOJO(-1));
+        final DefaultValuesPOJO object = pool.acquire();
+        object.setDefaultValueProperty(7);
+
+        // when
+        pool.release(object);
+        final DefaultValuesPOJO reused = pool.acquire();
+
+        // then
+        assertThat(reused).isSameAs(object);
+        assertThat(reused.getDefaultValueProperty()).isEqualTo(-1);
+        assertThat(pool.getMissCount()).isEqualTo(1);
+        assertThat(pool.getHitCount()).isEqualTo(1);
+        assertThat(pool.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void shouldShareObjectsBeyondLocalCapacity() throws Exception {
+        // given
+        final UnpackedObjectPool<MinimalPOJO> pool =
+                new UnpackedObjectPool<>(MinimalPOJO::new, 1, 4, 2);
+        final MinimalPOJO first = pool.acquire();
+        final MinimalPOJO second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        // when
+        final MinimalPOJO[] acquired = new MinimalPOJO[1];
+        final Thread thread = new Thread(() -> acquired[0] = pool.acquire());
+        thread.start();
+        thread.join();
+
+        // then
+        assertThat(acquired[0]).isSameAs(second);
+        assertThat(pool.acquire()).isSameAs(first);
+    }
+
+    @Test
+    public void shouldDropObjectsIfFull() {
+        // given
+        final UnpackedObjectPool<MinimalPOJO> pool =
+                new UnpackedObjectPool<>(MinimalPOJO::new, 0, 2, 1);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            pool.release(new MinimalPOJO());
+        }
+
+        // then
+        assertThat(pool.getDropCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUseSharedPoolFromVirtualThreads() throws Exception {
+        // given
+        final UnpackedObjectPool<MinimalPOJO> pool = new UnpackedObjectPool<>(MinimalPOJO::new);
+        final MinimalPOJO object = new MinimalPOJO();
+        Thread.ofVirtual().start(() -> pool.release(object)).join();
+
+        // when
+        final MinimalPOJO[] acquired = new MinimalPOJO[1];
+        Thread.ofVirtual().start(() -> acquired[0] = pool.acquire()).join();
+
+        // then
+        assertThat(acquired[0]).isSameAs(object);
+        assertThat(pool.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotHandOutObjectTwice() throws Exception {
+        // given
+        final UnpackedObjectPool<MinimalPOJO> pool =
+                new UnpackedObjectPool<>(MinimalPOJO::new, 2, 16, 4);
+        final Set<MinimalPOJO> inUse =
+                Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        final AtomicBoolean handedOutTwice = new AtomicBoolean();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            executor.execute(
+                    () -> {
+                        awaitQuietly(start);
+                        for (int i = 0; i < 10_000; i++) {
+                            final MinimalPOJO object = pool.acquire();
+                            if (!inUse.add(object)) {
+                                handedOutTwice.set(true);
+                            }
+                            inUse.remove(object);
+                            pool.release(object);
+                        }
+                    });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // then
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(handedOutTwice).isFalse();
+        assertThat(pool.getHitCount() + pool.getMissCount()).isEqualTo(threads * 10_000L);
+    }
+
+    @Test
+    public void shouldRejectIllegalCapacities() {
+        assertThatThrownBy(() -> new UnpackedObjectPool<>(MinimalPOJO::new, -1, 4, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new UnpackedObjectPool<>(MinimalPOJO::new, 1, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new UnpackedObjectPool<>(MinimalPOJO::new, 1, 2, 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("shared capacity of at least 4");
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
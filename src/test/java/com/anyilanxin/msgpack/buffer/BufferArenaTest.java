@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.buffer;
+
+import com.anyilanxin.msgpack.POJO;
+import com.anyilanxin.msgpack.POJO.POJOEnum;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BufferArenaTest {
+
+    private final UnsafeBuffer view = new UnsafeBuffer(0, 0);
+
+    @Test
+    public void shouldCopyIntoAlignedSlots() {
+        // given
+        final BufferArena arena = new BufferArena(64, false);
+        final UnsafeBuffer other = new UnsafeBuffer(0, 0);
+
+        // when
+        arena.copy(wrapString("foo"), 0, 3, view);
+        arena.copy(wrapString("barbaz"), 3, 3, other);
+
+        // then
+        assertThat(bufferAsString(view)).isEqualTo("foo");
+        assertThat(bufferAsString(other)).isEqualTo("baz");
+        assertThat(other.addressOffset() - view.addressOffset()).isEqualTo(8);
+        assertThat(arena.getAllocatedBytes()).isEqualTo(6);
+        assertThat(arena.getCapacity()).isEqualTo(64);
+    }
+
+    @Test
+    public void shouldAllocateFurtherChunks() {
+        // given
+        final BufferArena arena = new BufferArena(64, true);
+
+        // when
+        arena.allocate(60, view);
+        arena.allocate(10, view);
+        arena.allocate(100, view);
+
+        // then
+        assertThat(view.capacity()).isEqualTo(100);
+        assertThat(arena.getCapacity()).isEqualTo(64 + 64 + 100);
+        assertThat(arena.getAllocatedBytes()).isEqualTo(170);
+    }
+
+    @Test
+    public void shouldReuseChunksAfterReset() {
+        // given
+        final BufferArena arena = new BufferArena(64, false);
+        arena.allocate(100, view);
+        arena.allocate(60, view);
+
+        // when
+        arena.reset();
+        arena.allocate(60, view);
+        arena.allocate(60, view);
+
+        // then
+        assertThat(arena.getAllocatedBytes()).isEqualTo(120);
+        assertThat(arena.getCapacity()).isEqualTo(164);
+    }
+
+    @Test
+    public void shouldRejectIllegalLengths() {
+        assertThatThrownBy(() -> new BufferArena(0, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BufferArena().allocate(-1, view))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldDecodeObjectFromArena() {
+        // given
+        final POJO source = new POJO();
+        source.setEnum(POJOEnum.BAR);
+        source.setLong(12);
+        source.setInt(13);
+        source.setString(wrapString("foo"));
+        source.setBinary(wrapString("bar"));
+        source.setPacked(wrapBytes(0x2a));
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[source.getLength() + 4]);
+        source.write(buffer, 4);
+        final DirectBuffer expected = createCopy(source);
+        final BufferArena arena = new BufferArena();
+        final POJO pojo = new POJO();
+
+        // when
+        pojo.wrap(buffer, 4, source.getLength(), arena);
+        buffer.setMemory(0, buffer.capacity(), (byte) 0);
+
+        // then
+        assertThat(bufferAsString(pojo.getString())).isEqualTo("foo");
+        assertThat(createCopy(pojo)).isEqualTo(expected);
+        assertThat(arena.getAllocatedBytes()).isEqualTo(source.getLength());
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.codegen;
+
+import com.anyilanxin.msgpack.UnpackedObject;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.anyilanxin.msgpack.value.ArrayValue;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.createCopy;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class MsgPackObjectProcessorTest {
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteLikeDeclaredProperties() {
+        // given
+        final UnpackedOrder order = newOrder();
+        final OrderPOJO pojo = new OrderPOJO().set(7, 3, true, 1.5, "alice", "");
+
+        // when
+        final DirectBuffer encoded = createCopy(order);
+
+        // then
+        assertThat(encoded).isEqualTo(write(pojo));
+        assertThat(order.getLength()).isEqualTo(encoded.capacity());
+    }
+
+    @Test
+    public void shouldReadWhatDeclaredPropertiesWrite() {
+        // given
+        final OrderPOJO pojo = new OrderPOJO().set(-8, 250, false, 0.1, "bob", "fragile");
+        final UnpackedOrder order = new UnpackedOrder();
+
+        // when
+        order.wrap(write(pojo));
+
+        // then
+        assertThat(order.id()).isEqualTo(-8);
+        assertThat(order.quantity()).isEqualTo(250);
+        assertThat(order.express()).isFalse();
+        assertThat(order.price()).isEqualTo(0.1);
+        assertThat(bufferAsString(order.customer())).isEqualTo("bob");
+        assertThat(bufferAsString(order.note())).isEqualTo("fragile");
+        assertThat(order.isBulk()).isTrue();
+    }
+
+    @Test
+    public void shouldBeReadByDeclaredProperties() {
+        // given
+        final UnpackedOrder order = newOrder();
+        final OrderPOJO pojo = new OrderPOJO();
+
+        // when
+        pojo.wrap(createCopy(order));
+
+        // then
+        assertThat(pojo.getId()).isEqualTo(7);
+        assertThat(pojo.getQuantity()).isEqualTo(3);
+        assertThat(pojo.isExpress()).isTrue();
+        assertThat(pojo.getPrice()).isEqualTo(1.5);
+        assertThat(bufferAsString(pojo.getCustomer())).isEqualTo("alice");
+        assertThat(pojo.getNote().capacity()).isZero();
+    }
+
+    @Test
+    public void shouldSkipUnknownAndDefaultMissingProperties() {
+        // given
+        final MutableDirectBuffer encoded =
+                encodeMsgPack(
+                        w -> {
+                            w.writeMapHeader(3);
+                            w.writeString(wrapString("unknown"));
+                            w.writeArrayHeader(2);
+                            w.writeInteger(1);
+                            w.writeString(wrapString("nested"));
+                            w.writeString(wrapString("id"));
+                            w.writeInteger(42);
+                            w.writeString(wrapString("idx"));
+                            w.writeBoolean(true);
+                        });
+        final UnpackedOrder order = newOrder();
+
+        // when
+        order.wrap(encoded);
+
+        // then
+        assertThat(order.id()).isEqualTo(42);
+        assertThat(order.quantity()).isZero();
+        assertThat(order.express()).isFalse();
+        assertThat(order.customer().capacity()).isZero();
+        assertThat(asMap(createCopy(order)))
+                .hasSize(6)
+                .contains(entry("id", 42L), entry("quantity", 0L), entry("customer", ""))
+                .doesNotContainKeys("unknown", "idx");
+    }
+
+    @Test
+    public void shouldWriteSourceUntilChanged() {
+        // given
+        final MutableDirectBuffer encoded =
+                encodeMsgPack(
+                        w -> {
+                            w.writeMapHeader(6);
+                            w.writeString(wrapString("note"));
+                            w.writeString(wrapString("-"));
+                            w.writeString(wrapString("price"));
+                            w.writeFloat(2.0);
+                            w.writeString(wrapString("customer"));
+                            w.writeString(wrapString("carol"));
+                            w.writeString(wrapString("express"));
+                            w.writeBoolean(true);
+                            w.writeString(wrapString("quantity"));
+                            w.writeInteger(5);
+                            w.writeString(wrapString("id"));
+                            w.writeInteger(1);
+                        });
+        final UnpackedOrder order = new UnpackedOrder();
+        order.wrap(encoded);
+
+        // when
+        final DirectBuffer unchanged = createCopy(order);
+        order.setQuantity(6);
+        final DirectBuffer changed = createCopy(order);
+
+        // then
+        assertThat(unchanged).isEqualTo(encoded);
+        assertThat(changed).isNotEqualTo(encoded);
+        assertThat(order.getLength()).isEqualTo(changed.capacity());
+        assertThat(asMap(changed))
+                .containsOnly(
+                        entry("id", 1L),
+                        entry("quantity", 6L),
+                        entry("express", true),
+                        entry("price", 2.0),
+                        entry("customer", "carol"),
+                        entry("note", "-"));
+    }
+
+    @Test
+    public void shouldInvalidateLengthOnChange() {
+        // given
+        final UnpackedOrder order = newOrder();
+        final int length = order.getLength();
+
+        // when
+        order.setId(1L << 40).setCustomer(wrapString("alice and bob"));
+
+        // then
+        assertThat(order.getLength()).isEqualTo(length + 8 + 8);
+        assertThat(order.getLength()).isEqualTo(createCopy(order).capacity());
+    }
+
+    @Test
+    public void shouldInvalidateContainerOnChangeOfPartiallyDecodedObject() {
+        // given
+        final MutableDirectBuffer encoded =
+                encodeMsgPack(
+                        w -> {
+                            w.writeArrayHeader(1);
+                            w.writeMapHeader(2);
+                            w.writeString(wrapString("id"));
+                            w.writeInteger(1);
+                            w.writeString(wrapString("customer"));
+                            w.writeString(wrapString("bob"));
+                        });
+        final ArrayValue<UnpackedOrder> orders = new ArrayValue<>(UnpackedOrder::new);
+        orders.read(new MsgPackReader().wrap(encoded, 0, encoded.capacity()));
+
+        // when
+        orders.get(0).setCustomer(wrapString("alice-longer-name"));
+
+        // then
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        orders.write(writer);
+        assertThat(orders.getEncodedLength()).isEqualTo(writer.getOffset());
+
+        final ArrayValue<UnpackedOrder> decoded = new ArrayValue<>(UnpackedOrder::new);
+        decoded.read(new MsgPackReader().wrap(buffer, 0, writer.getOffset()));
+        assertThat(bufferAsString(decoded.get(0).customer())).isEqualTo("alice-longer-name");
+    }
+
+    @Test
+    public void shouldRejectIntegerOutOfRange() {
+        // given
+        final MutableDirectBuffer encoded =
+                encodeMsgPack(
+                        w -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("quantity"));
+                            w.writeInteger(1L << 32);
+                        });
+        final UnpackedOrder order = new UnpackedOrder();
+
+        // then
+        assertThatThrownBy(() -> order.wrap(encoded))
+                .hasRootCauseMessage("Value doesn't fit into an integer: 4294967296.");
+    }
+
+    @Test
+    public void shouldResetOnRead() {
+        // given
+        final UnpackedOrder order = newOrder();
+        final MutableDirectBuffer encoded =
+                encodeMsgPack(
+                        w -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("note"));
+                            w.writeString(wrapString("again"));
+                        });
+
+        // when
+        order.wrap(encoded);
+
+        // then
+        assertThat(order.id()).isZero();
+        assertThat(order.customer().capacity()).isZero();
+        assertThat(bufferAsString(order.note())).isEqualTo("again");
+    }
+
+    @Test
+    public void shouldWriteJsonLikeDeclaredProperties() {
+        // given
+        final UnpackedOrder order = newOrder().setNote(wrapString("say \"hi\""));
+        final OrderPOJO pojo = new OrderPOJO().set(7, 3, true, 1.5, "alice", "say \"hi\"");
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final ExpandableArrayBuffer pojoBuffer = new ExpandableArrayBuffer();
+
+        // when
+        final int length = order.writeJSONTo(buffer, 0);
+        final int pojoLength = pojo.writeJSONTo(pojoBuffer, 0);
+
+        // then
+        assertThat(order.toString()).isEqualTo(pojo.toString());
+        assertThat(buffer.getStringWithoutLengthUtf8(0, length))
+                .isEqualTo(pojoBuffer.getStringWithoutLengthUtf8(0, pojoLength))
+                .isEqualTo(
+                        "{\"id\":7,\"quantity\":3,\"express\":true,\"price\":1.5,"
+                                + "\"customer\":\"alice\",\"note\":\"say \\\"hi\\\"\"}");
+    }
+
+    @Test
+    public void shouldCompareProperties() {
+        // given
+        final UnpackedOrder order = newOrder();
+        final UnpackedOrder other = new UnpackedOrder();
+        other.wrap(createCopy(order));
+
+        // then
+        assertThat(other).isEqualTo(order).hasSameHashCodeAs(order);
+        assertThat(other.setPrice(1.25)).isNotEqualTo(order);
+    }
+
+    @Test
+    public void shouldConvertRecord() {
+        // given
+        final PointObject point = new PointObject();
+        point.copyFrom(new Point(-1, 2, wrapString("origin")));
+        final PointObject copy = new PointObject();
+
+        // when
+        copy.wrap(createCopy(point));
+        final Point record = copy.toRecord();
+
+        // then
+        assertThat(record.x()).isEqualTo(-1);
+        assertThat(record.y()).isEqualTo(2);
+        assertThat(bufferAsString(record.label())).isEqualTo("origin");
+        assertThat(asMap(createCopy(point)))
+                .containsOnly(entry("x", -1L), entry("y", 2L), entry("label", "origin"));
+    }
+
+    @Test
+    public void shouldMapInheritedAccessors() {
+        // given
+        final UnpackedParcel parcel =
+                new UnpackedParcel().setWeight(3).setVersion(2).setLabel(wrapString("fragile"));
+
+        // when
+        final DirectBuffer encoded = createCopy(parcel);
+        final UnpackedParcel decoded = new UnpackedParcel();
+        decoded.wrap(encoded);
+
+        // then
+        assertThat(asMap(encoded))
+                .containsOnly(entry("weight", 3L), entry("version", 2L), entry("label", "fragile"));
+        assertThat(decoded.version()).isEqualTo(2);
+        assertThat(bufferAsString(decoded.label())).isEqualTo("fragile");
+    }
+
+    @Test
+    public void shouldRejectPropertiesClashingWithInheritedMethods() throws IOException {
+        // when
+        final List<String> errors =
+                compile(
+                        "import com.anyilanxin.msgpack.codegen.MsgPackObject;",
+                        "@MsgPackObject interface Clash {",
+                        "  long reset();",
+                        "  int getLength();",
+                        "  boolean lazyDecoding();",
+                        "  long id();",
+                        "}");
+
+        // then
+        assertThat(errors)
+                .hasSize(3)
+                .anyMatch(e -> e.contains("'reset' clashes with the method reset()"))
+                .anyMatch(e -> e.contains("'getLength' clashes with the method getLength()"))
+                .anyMatch(
+                        e ->
+                                e.contains(
+                                        "'lazyDecoding' clashes with the method"
+                                                + " setLazyDecoding(boolean)"));
+    }
+
+    /** runs the processor on the given lines of Clash.java, returning the reported errors */
+    private List<String> compile(final String... lines) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaFileObject source =
+                new SimpleJavaFileObject(URI.create("string:///Clash.java"), Kind.SOURCE) {
+                    @Override
+                    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                        return String.join("\n", lines);
+                    }
+                };
+        final String output = temporaryFolder.newFolder().getPath();
+        final CompilationTask task =
+                compiler.getTask(
+                        null,
+                        null,
+                        diagnostics,
+                        List.of(
+                                "-proc:only",
+                                "-classpath",
+                                System.getProperty("java.class.path"),
+                                "-s",
+                                output,
+                                "-d",
+                                output),
+                        null,
+                        List.of(source));
+        task.setProcessors(List.of(new MsgPackObjectProcessor()));
+        task.call();
+
+        return diagnostics.getDiagnostics().stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(d -> d.getMessage(Locale.ROOT))
+                .toList();
+    }
+
+    /** writes in a single pass, as the encoded length of declared doubles is not exact */
+    private static DirectBuffer write(final UnpackedObject object) {
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final int length = object.writeTo(buffer, 0);
+        return new UnsafeBuffer(buffer, 0, length);
+    }
+
+    private static UnpackedOrder newOrder() {
+        return new UnpackedOrder()
+                .setId(7)
+                .setQuantity(3)
+                .setExpress(true)
+                .setPrice(1.5)
+                .setCustomer(wrapString("alice"));
+    }
+}
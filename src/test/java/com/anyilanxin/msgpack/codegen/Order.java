@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.codegen;
+
+import org.agrona.DirectBuffer;
+
+@MsgPackObject
+public interface Order {
+
+    long id();
+
+    int quantity();
+
+    boolean express();
+
+    double price();
+
+    DirectBuffer customer();
+
+    DirectBuffer note();
+
+    default boolean isBulk() {
+        return quantity() > 100;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.codegen;
+
+import com.anyilanxin.msgpack.UnpackedObject;
+import com.anyilanxin.msgpack.property.BooleanProperty;
+import com.anyilanxin.msgpack.property.DoubleProperty;
+import com.anyilanxin.msgpack.property.IntegerProperty;
+import com.anyilanxin.msgpack.property.LongProperty;
+import com.anyilanxin.msgpack.property.StringProperty;
+import org.agrona.DirectBuffer;
+
+/** Declares the properties of {@link Order}, to compare with the generated class. */
+public class OrderPOJO extends UnpackedObject {
+
+    private final LongProperty id = new LongProperty("id");
+    private final IntegerProperty quantity = new IntegerProperty("quantity");
+    private final BooleanProperty express = new BooleanProperty("express");
+    private final DoubleProperty price = new DoubleProperty("price");
+    private final StringProperty customer = new StringProperty("customer");
+    private final StringProperty note = new StringProperty("note");
+
+    public OrderPOJO() {
+        super(6);
+        declareProperty(id)
+                .declareProperty(quantity)
+                .declareProperty(express)
+                .declareProperty(price)
+                .declareProperty(customer)
+                .declareProperty(note);
+    }
+
+    public long getId() {
+        return id.getValue();
+    }
+
+    public int getQuantity() {
+        return quantity.getValue();
+    }
+
+    public boolean isExpress() {
+        return express.getValue();
+    }
+
+    public double getPrice() {
+        return price.getValue();
+    }
+
+    public DirectBuffer getCustomer() {
+        return customer.getValue();
+    }
+
+    public DirectBuffer getNote() {
+        return note.getValue();
+    }
+
+    public OrderPOJO set(
+            final long id,
+            final int quantity,
+            final boolean express,
+            final double price,
+            final String customer,
+            final String note) {
+        this.id.setValue(id);
+        this.quantity.setValue(quantity);
+        this.express.setValue(express);
+        this.price.setValue(price);
+        this.customer.setValue(customer);
+        this.note.setValue(note);
+        return this;
+    }
+}
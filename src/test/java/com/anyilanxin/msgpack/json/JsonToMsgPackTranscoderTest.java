@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.json;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonToMsgPackTranscoderTest {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper MSGPACK_MAPPER = new ObjectMapper(new MessagePackFactory());
+
+    private final JsonToMsgPackTranscoder transcoder = new JsonToMsgPackTranscoder();
+
+    @Test
+    public void shouldTranscodeAllTypes() throws Exception {
+        assertTranscodesLikeJackson(
+                "{\"int\": -129, \"zero\": 0, \"max\": 9223372036854775807,"
+                        + " \"double\": 0.1, \"exp\": -1.5e-7, \"bigExp\": 1E300,"
+                        + " \"true\": true, \"false\": false, \"nil\": null,"
+                        + " \"string\": \"foo\", \"array\": [1, [], {}]}");
+    }
+
+    @Test
+    public void shouldTranscodeLargeContainers() throws Exception {
+        // given
+        final StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 70_000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"k").append(i).append("\":[").append(i);
+            json.append(i % 20 == 0 ? ",1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16]" : "]");
+        }
+        json.append("}");
+
+        // then
+        assertTranscodesLikeJackson(json.toString());
+    }
+
+    @Test
+    public void shouldTranscodeDeeplyNestedArrays() throws Exception {
+        assertTranscodesLikeJackson("[".repeat(100) + "]".repeat(100));
+    }
+
+    @Test
+    public void shouldUnescapeStrings() throws Exception {
+        assertTranscodesLikeJackson(
+                "[\"quote\\\" backslash\\\\ slash\\/ tab\\t newline\\n\","
+                        + " \"\\u00fc \\u20ac \\ud83d\\ude00 \\u0041\", \"raw ü €\"]");
+    }
+
+    @Test
+    public void shouldReplaceUnpairedSurrogate() throws Exception {
+        assertTranscodesLikeJackson("\"a\\ud83db\"");
+    }
+
+    @Test
+    public void shouldTranscodeNumbers() throws Exception {
+        assertTranscodesLikeJackson(
+                "[0, -0, 1, -1, 127, 128, -32, -33, 65535, 4294967296, -9223372036854775808,"
+                        + " 0.5, -0.0, 1e22, 1e23, 123456789012345678, 0.000001, 3.141592653589793,"
+                        + " 2.2250738585072014E-308, 1.7976931348623157e308, 4.9e-324,"
+                        + " 0.1234567890123456789, 12345678901234567890.5]");
+    }
+
+    @Test
+    public void shouldWriteIntegerBeyondLongAsFloat() {
+        // when
+        final DirectBuffer msgPack = transcode("18446744073709551616");
+
+        // then
+        assertThat(msgPack.getByte(0)).isEqualTo((byte) 0xca);
+        assertThat(msgPack.getFloat(1, java.nio.ByteOrder.BIG_ENDIAN)).isEqualTo(0x1p64f);
+    }
+
+    @Test
+    public void shouldTranscodeAtOffset() {
+        // given
+        final byte[] json = "xx[1,2]yy".getBytes(StandardCharsets.UTF_8);
+        // room for the reserved 32-bit header, which is compacted to a single byte afterwards
+        final MutableDirectBuffer msgPack = new UnsafeBuffer(new byte[10]);
+
+        // when
+        final int length = transcoder.transcode(new UnsafeBuffer(json), 2, 5, msgPack, 3);
+
+        // then
+        assertThat(length).isEqualTo(3);
+        assertThat(msgPack.getByte(3)).isEqualTo((byte) 0x92);
+        assertThat(msgPack.getByte(4)).isEqualTo((byte) 1);
+        assertThat(msgPack.getByte(5)).isEqualTo((byte) 2);
+    }
+
+    @Test
+    public void shouldRejectMalformedJson() {
+        assertMalformed("", "unexpected end of input");
+        assertMalformed("{\"a\" 1}", "expected ':'");
+        assertMalformed("{1: 2}", "expected a string key");
+        assertMalformed("[1,]", "unexpected character ']'");
+        assertMalformed("[1 2]", "expected ','");
+        assertMalformed("[1", "unexpected end of input");
+        assertMalformed("\"abc", "unexpected end of input");
+        assertMalformed("\"a\\x\"", "invalid escape sequence '\\x'");
+        assertMalformed("\"\\u12g4\"", "invalid unicode escape sequence");
+        assertMalformed("\"a\tb\"", "unescaped control character in string");
+        assertMalformed("tru", "unexpected end of input");
+        assertMalformed("nul1", "expected 'null'");
+        assertMalformed("-", "expected a digit");
+        assertMalformed("1.", "expected a digit after the decimal point");
+        assertMalformed("1e+", "expected a digit in the exponent");
+        assertMalformed("01", "unexpected content after the value");
+        assertMalformed("{} {}", "unexpected content after the value");
+    }
+
+    @Test
+    public void shouldReportOffsetOfMalformedJson() {
+        assertThatThrownBy(() -> transcode("[true, fals]"))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessage("Malformed JSON at offset 7: expected 'false'");
+    }
+
+    private void assertMalformed(final String json, final String reason) {
+        assertThatThrownBy(() -> transcode(json))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining(reason);
+    }
+
+    private void assertTranscodesLikeJackson(final String json) throws Exception {
+        // when
+        final DirectBuffer msgPack = transcode(json);
+
+        // then
+        final byte[] actual = new byte[msgPack.capacity()];
+        msgPack.getBytes(0, actual);
+        final byte[] expected = MSGPACK_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(json));
+        assertThat(MSGPACK_MAPPER.readTree(actual)).isEqualTo(MSGPACK_MAPPER.readTree(expected));
+        assertThat(actual.length).isLessThanOrEqualTo(expected.length);
+    }
+
+    private DirectBuffer transcode(final String json) {
+        final DirectBuffer jsonBuffer = wrapString(json);
+        final ExpandableArrayBuffer msgPack = new ExpandableArrayBuffer(16);
+        final int length = transcoder.transcode(jsonBuffer, 0, jsonBuffer.capacity(), msgPack, 0);
+        return new UnsafeBuffer(Arrays.copyOf(msgPack.byteArray(), length));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.json;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsArray;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapArray;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MsgPackToJsonTranscoderTest {
+
+    private final MsgPackToJsonTranscoder transcoder = new MsgPackToJsonTranscoder();
+
+    @Test
+    public void shouldTranscodeAllTypes() {
+        // given
+        final DirectBuffer msgPack = encodeMsgPack(MsgPackToJsonTranscoderTest::writeAllTypes);
+
+        // when
+        final String json = transcode(msgPack);
+
+        // then
+        assertThat(json)
+                .isEqualTo(
+                        "{\"int\":-129,\"max\":9223372036854775807,\"uint64\":18446744073709551615,"
+                                + "\"double\":0.1,\"float\":0.5,\"bool\":true,\"nil\":null,"
+                                + "\"string\":\"foo\",\"binary\":\"AQID/w==\","
+                                + "\"array\":[1,[],{}],\"1\":\"integer key\"}");
+    }
+
+    @Test
+    public void shouldTranscodeLikeJackson() throws Exception {
+        // given
+        final DirectBuffer msgPack =
+                encodeMsgPack(
+                        (w) -> {
+                            writeAllTypes(w);
+                            w.writeMapHeader(2);
+                        });
+        final DirectBuffer document = encodeMsgPack(MsgPackToJsonTranscoderTest::writeEscapes);
+
+        // then
+        assertThat(transcode(document)).isEqualTo(transcodeWithJackson(document));
+        assertThat(transcode(msgPack)).startsWith("{\"int\":-129");
+    }
+
+    @Test
+    public void shouldEscapeStrings() {
+        // given
+        final DirectBuffer msgPack = encodeMsgPack(MsgPackToJsonTranscoderTest::writeEscapes);
+
+        // when
+        final String json = transcode(msgPack);
+
+        // then
+        assertThat(json).isEqualTo("[\"quote\\\" backslash\\\\ tab\\t newline\\n bell\\u0007 ü/\"]");
+    }
+
+    @Test
+    public void shouldWriteBase64WithPadding() {
+        for (int length = 0; length < 8; length++) {
+            // given
+            final byte[] data = new byte[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = (byte) (i * 37);
+            }
+            final DirectBuffer msgPack = encodeMsgPack((w) -> w.writeBinary(wrapArray(data)));
+
+            // when
+            final String json = transcode(msgPack);
+
+            // then
+            assertThat(json).isEqualTo("\"" + java.util.Base64.getEncoder().encodeToString(data) + "\"");
+        }
+    }
+
+    @Test
+    public void shouldTranscodeIntoStreamInChunks() {
+        // given
+        final DirectBuffer msgPack = encodeMsgPack(MsgPackToJsonTranscoderTest::writeAllTypes);
+        final String expected = transcode(msgPack);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        final int length = transcoder.transcode(msgPack, 0, msgPack.capacity(), outputStream);
+
+        // then
+        assertThat(length).isEqualTo(expected.length());
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldTranscodeLongStringIntoStream() {
+        // given
+        final String text = "a\"b".repeat(10_000);
+        final ExpandableArrayBuffer msgPack = new ExpandableArrayBuffer();
+        final MsgPackWriter writer = new MsgPackWriter().wrap(msgPack, 0);
+        writer.writeString(wrapString(text));
+        final int msgPackLength = writer.getOffset();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        transcoder.transcode(msgPack, 0, msgPackLength, outputStream);
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .isEqualTo("\"" + text.replace("\"", "\\\"") + "\"");
+    }
+
+    @Test
+    public void shouldFailIfBufferIsTooSmall() {
+        // given
+        final DirectBuffer msgPack = encodeMsgPack(MsgPackToJsonTranscoderTest::writeAllTypes);
+
+        // then
+        assertThatThrownBy(
+                        () -> transcoder.transcode(msgPack, 0, msgPack.capacity(), new UnsafeBuffer(new byte[16]), 0))
+                .isInstanceOf(MsgpackWriterException.class);
+    }
+
+    @Test
+    public void shouldRejectExtension() {
+        // given
+        final DirectBuffer msgPack = wrapBytes(0xd4, 0x01, 0x02);
+
+        // then
+        assertThatThrownBy(() -> transcode(msgPack))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("FIXEXT1");
+    }
+
+    private String transcode(final DirectBuffer msgPack) {
+        final ExpandableArrayBuffer json = new ExpandableArrayBuffer(8);
+        final int length = transcoder.transcode(msgPack, 0, msgPack.capacity(), json, 0);
+        return json.getStringWithoutLengthUtf8(0, length);
+    }
+
+    private static String transcodeWithJackson(final DirectBuffer msgPack) throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (final JsonParser parser = new MessagePackFactory().createParser(bufferAsArray(msgPack));
+                final JsonGenerator generator = new JsonFactory().createGenerator(outputStream)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void writeAllTypes(final MsgPackWriter writer) {
+        writer.writeMapHeader(11);
+        writer.writeString(wrapString("int"));
+        writer.writeInteger(-129);
+        writer.writeString(wrapString("max"));
+        writer.writeInteger(Long.MAX_VALUE);
+        writer.writeString(wrapString("uint64"));
+        writer.writeRaw(wrapBytes(0xcf, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff));
+        writer.writeString(wrapString("double"));
+        writer.writeFloat(0.1);
+        writer.writeString(wrapString("float"));
+        writer.writeFloat(0.5);
+        writer.writeString(wrapString("bool"));
+        writer.writeBoolean(true);
+        writer.writeString(wrapString("nil"));
+        writer.writeNil();
+        writer.writeString(wrapString("string"));
+        writer.writeString(wrapString("foo"));
+        writer.writeString(wrapString("binary"));
+        writer.writeBinary(wrapBytes(1, 2, 3, 0xff));
+        writer.writeString(wrapString("array"));
+        writer.writeArrayHeader(3);
+        writer.writeInteger(1);
+        writer.writeArrayHeader(0);
+        writer.writeMapHeader(0);
+        writer.writeInteger(1);
+        writer.writeString(wrapString("integer key"));
+    }
+
+    private static void writeEscapes(final MsgPackWriter writer) {
+        writer.writeArrayHeader(1);
+        writer.writeString(wrapString("quote\" backslash\\ tab\t newline\n bell\u0007 ü/"));
+    }
+}
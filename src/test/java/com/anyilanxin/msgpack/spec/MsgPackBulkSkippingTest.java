@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MsgPackBulkSkippingTest {
+
+    private final MsgPackReader reader = new MsgPackReader();
+
+    @Test
+    public void shouldSkipArrayOfFixInts() {
+        for (int size = 0; size < 100; size++) {
+            // given
+            final int items = size;
+            final DirectBuffer buffer =
+                    encode(
+                            (w) -> {
+                                w.writeArrayHeader(items);
+                                for (int i = 0; i < items; i++) {
+                                    w.writeInteger(i % 2 == 0 ? i : -(i % 32) - 1);
+                                }
+                                // fixints following the array must not be skipped with it
+                                w.writeInteger(1).writeInteger(2);
+                            });
+
+            // then
+            assertSkipsFirstValue(buffer, 2);
+        }
+    }
+
+    @Test
+    public void shouldSkipArrayOfFloats() {
+        for (int size = 0; size < 40; size++) {
+            // given
+            final int items = size;
+            final DirectBuffer buffer =
+                    encode(
+                            (w) -> {
+                                w.writeArrayHeader(items);
+                                for (int i = 0; i < items; i++) {
+                                    w.writeFloat(i + 0.1);
+                                }
+                                w.writeFloat(1.1).writeFloat(2.1);
+                            });
+
+            // then
+            assertSkipsFirstValue(buffer, 18);
+        }
+    }
+
+    @Test
+    public void shouldSkipRunsOfEveryFixedSizeFormat() {
+        final long[] values = {
+            200, -100, 60_000, -30_000, 4_000_000_000L, -2_000_000_000, Long.MAX_VALUE
+        };
+        for (final long value : values) {
+            // given
+            final int valueLength = MsgPackWriter.getEncodedLongValueLength(value);
+            final DirectBuffer buffer =
+                    encode(
+                            (w) -> {
+                                w.writeArrayHeader(30);
+                                for (int i = 0; i < 30; i++) {
+                                    w.writeInteger(value);
+                                }
+                                w.writeInteger(value).writeInteger(value);
+                            });
+
+            // then
+            assertSkipsFirstValue(buffer, 2 * valueLength);
+        }
+    }
+
+    @Test
+    public void shouldSkipMixedValues() {
+        // given
+        final Random random = new Random(3);
+        final DirectBuffer buffer =
+                encode(
+                        (w) -> {
+                            w.writeMapHeader(500);
+                            for (int i = 0; i < 500; i++) {
+                                w.writeInteger(i);
+                                writeRandomValue(w, random);
+                            }
+                            w.writeNil();
+                        });
+
+        // then
+        assertSkipsFirstValue(buffer, 1);
+    }
+
+    @Test
+    public void shouldSkipFixIntsInDirectBuffer() {
+        // given
+        final DirectBuffer heap =
+                encode(
+                        (w) -> {
+                            w.writeArrayHeader(50);
+                            for (int i = 0; i < 50; i++) {
+                                w.writeInteger(i);
+                            }
+                            w.writeInteger(1);
+                        });
+        final UnsafeBuffer direct = new UnsafeBuffer(ByteBuffer.allocateDirect(heap.capacity()));
+        direct.putBytes(0, heap, 0, heap.capacity());
+
+        // then
+        assertSkipsFirstValue(direct, 1);
+    }
+
+    @Test
+    public void shouldNotSkipBeyondTruncatedBuffer() {
+        // given
+        final DirectBuffer complete =
+                encode(
+                        (w) -> {
+                            w.writeArrayHeader(100);
+                            for (int i = 0; i < 100; i++) {
+                                w.writeInteger(i);
+                            }
+                        });
+        final DirectBuffer truncated = new UnsafeBuffer(complete, 0, 50);
+
+        // when
+        reader.wrap(truncated, 0, truncated.capacity());
+        try {
+            reader.skipValue();
+        } catch (final RuntimeException e) {
+            // reading beyond the buffer may fail, but must not skip further
+        }
+
+        // then
+        assertThat(reader.getOffset()).isLessThanOrEqualTo(51);
+    }
+
+    private void assertSkipsFirstValue(final DirectBuffer buffer, final int trailingLength) {
+        reader.wrap(buffer, 0, buffer.capacity());
+        reader.skipValue();
+        assertThat(reader.getOffset()).isEqualTo(buffer.capacity() - trailingLength);
+    }
+
+    private static void writeRandomValue(final MsgPackWriter writer, final Random random) {
+        switch (random.nextInt(5)) {
+            case 0 -> writer.writeInteger(random.nextInt(128));
+            case 1 -> writer.writeInteger(random.nextLong() >> random.nextInt(64));
+            case 2 -> writer.writeFloat(random.nextDouble());
+            case 3 -> {
+                writer.writeArrayHeader(20);
+                for (int i = 0; i < 20; i++) {
+                    writer.writeInteger(random.nextInt(3) == 0 ? 1000 : i);
+                }
+            }
+            default -> writer.writeString(new UnsafeBuffer(new byte[random.nextInt(10)]));
+        }
+    }
+
+    private static DirectBuffer encode(final Consumer<MsgPackWriter> values) {
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        values.accept(writer);
+        // an offset into the array, to exercise the wrap adjustment of the vectorized scan
+        final UnsafeBuffer shifted = new UnsafeBuffer(new byte[writer.getOffset() + 3]);
+        shifted.putBytes(3, buffer, 0, writer.getOffset());
+        return new UnsafeBuffer(shifted, 3, writer.getOffset());
+    }
+}
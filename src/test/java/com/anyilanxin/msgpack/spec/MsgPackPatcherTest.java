@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.asMap;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class MsgPackPatcherTest {
+
+    private static final DirectBuffer STATUS = wrapString("status");
+    private static final DirectBuffer RETRIES = wrapString("retries");
+    private static final DirectBuffer META = wrapString("meta");
+    private static final DirectBuffer TIMESTAMP = wrapString("timestamp");
+    private static final DirectBuffer ACTIVE = wrapString("active");
+    private static final DirectBuffer RATIO = wrapString("ratio");
+
+    private final MsgPackPatcher patcher = new MsgPackPatcher();
+
+    @Test
+    public void shouldOverwriteInt64SlotInPlace() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+
+        // when
+        final boolean found = patcher.seek(META, TIMESTAMP);
+        final boolean inPlace = patcher.setInteger(42);
+
+        // then
+        assertThat(found).isTrue();
+        assertThat(inPlace).isTrue();
+        assertThat(patcher.getLength()).isEqualTo(length);
+        assertThat(asMap(buffer, 0, length))
+                .contains(entry("meta", Map.of("timestamp", 42L)), entry("retries", 1L));
+    }
+
+    @Test
+    public void shouldSwitchSignednessWithinSlot() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(META, TIMESTAMP);
+
+        // when
+        final boolean inPlace = patcher.setInteger(-1);
+
+        // then
+        assertThat(inPlace).isTrue();
+        assertThat(asMap(buffer, 0, length)).contains(entry("meta", Map.of("timestamp", -1L)));
+    }
+
+    @Test
+    public void shouldSpliceValueNotFittingSlot() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(RETRIES);
+
+        // when
+        final boolean inPlace = patcher.setInteger(Integer.MAX_VALUE);
+
+        // then
+        assertThat(inPlace).isFalse();
+        assertThat(patcher.getLength()).isEqualTo(length + 4);
+        assertThat(asMap(buffer, 0, patcher.getLength()))
+                .containsOnly(
+                        entry("status", "CREATED"),
+                        entry("retries", (long) Integer.MAX_VALUE),
+                        entry("meta", Map.of("timestamp", 1_000L)),
+                        entry("active", false),
+                        entry("ratio", 0.5d));
+    }
+
+    @Test
+    public void shouldShrinkDocumentWhenReplacingString() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(STATUS);
+
+        // when
+        patcher.setInteger(3);
+
+        // then
+        assertThat(patcher.getLength()).isEqualTo(length - 7);
+        assertThat(asMap(buffer, 0, patcher.getLength()))
+                .contains(entry("status", 3L), entry("active", false));
+    }
+
+    @Test
+    public void shouldOverwriteBooleanInPlace() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(ACTIVE);
+
+        // when
+        final boolean inPlace = patcher.setBoolean(true);
+
+        // then
+        assertThat(inPlace).isTrue();
+        assertThat(asMap(buffer, 0, length)).contains(entry("active", true));
+    }
+
+    @Test
+    public void shouldSpliceFloatNotRepresentableAsFloat32() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(RATIO);
+
+        // when
+        final boolean inPlace = patcher.setFloat(0.1d);
+
+        // then
+        assertThat(inPlace).isFalse();
+        assertThat(patcher.getLength()).isEqualTo(length + 4);
+        assertThat(asMap(buffer, 0, patcher.getLength())).contains(entry("ratio", 0.1d));
+    }
+
+    @Test
+    public void shouldGrowExpandableBuffer() {
+        // given
+        final MutableDirectBuffer buffer = new ExpandableArrayBuffer(16);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(RETRIES);
+
+        // when
+        patcher.setInteger(Long.MAX_VALUE);
+
+        // then
+        assertThat(patcher.getLength()).isEqualTo(length + 8);
+        assertThat(asMap(buffer, 0, patcher.getLength())).contains(entry("retries", Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldFailWhenDocumentExceedsCapacity() {
+        // given
+        final MutableDirectBuffer source = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(source);
+        final MutableDirectBuffer buffer = new UnsafeBuffer(source, 0, length);
+        patcher.wrap(buffer, 0, length);
+        patcher.seek(RETRIES);
+
+        // then
+        assertThatThrownBy(() -> patcher.setInteger(Long.MAX_VALUE))
+                .isInstanceOf(MsgpackWriterException.class)
+                .hasMessageContaining("grow the document by 8 bytes");
+    }
+
+    @Test
+    public void shouldNotFindMissingKey() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int length = writeDocument(buffer);
+        patcher.wrap(buffer, 0, length);
+
+        // when
+        final boolean found = patcher.seek(META, RETRIES);
+
+        // then
+        assertThat(found).isFalse();
+        assertThat(patcher.seek(STATUS, RETRIES)).isFalse();
+        assertThatThrownBy(() -> patcher.setInteger(1)).isInstanceOf(MsgpackWriterException.class);
+    }
+
+    @Test
+    public void shouldSkipNonStringKeys() {
+        // given
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[32]);
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        writer.writeMapHeader(2);
+        writer.writeInteger(6);
+        writer.writeRaw(wrapBytes(0xcc, 1));
+        writer.writeString(RETRIES);
+        writer.writeRaw(wrapBytes(0xcc, 2));
+        patcher.wrap(buffer, 0, writer.getOffset());
+
+        // when
+        patcher.seek(RETRIES);
+        final boolean inPlace = patcher.setInteger(200);
+
+        // then
+        assertThat(inPlace).isTrue();
+        assertThat(buffer.getByte(patcher.getValueOffset() + 1)).isEqualTo((byte) 200);
+    }
+
+    private static int writeDocument(final MutableDirectBuffer buffer) {
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        writer.writeMapHeader(5);
+        writer.writeString(STATUS);
+        writer.writeString(wrapString("CREATED"));
+        writer.writeString(RETRIES);
+        writer.writeInteger(1);
+        writer.writeString(META);
+        writer.writeMapHeader(1);
+        writer.writeString(TIMESTAMP);
+        writer.writeRaw(wrapBytes(0xd3, 0, 0, 0, 0, 0, 0, 0x03, 0xe8));
+        writer.writeString(ACTIVE);
+        writer.writeBoolean(false);
+        writer.writeString(RATIO);
+        writer.writeFloat(0.5d);
+        return writer.getOffset();
+    }
+}
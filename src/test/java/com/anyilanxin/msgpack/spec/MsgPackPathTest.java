@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MsgPackPathTest {
+
+    private final MsgPackPathFinder finder = new MsgPackPathFinder();
+
+    @Test
+    public void shouldFindNestedValue() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+        final MsgPackPath path = MsgPackPath.compile("a.b[3].c");
+
+        // when
+        final boolean found = finder.find(path, document, 0, document.capacity());
+
+        // then
+        assertThat(found).isTrue();
+        final MsgPackToken token = finder.readToken();
+        assertThat(token.getType()).isEqualTo(MsgPackType.INTEGER);
+        assertThat(token.getIntegerValue()).isEqualTo(7);
+        assertThat(finder.getValueLength()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFindContainer() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+
+        // when
+        final boolean found = find("a.b", document);
+
+        // then
+        assertThat(found).isTrue();
+        final MsgPackToken token = finder.readToken();
+        assertThat(token.getType()).isEqualTo(MsgPackType.ARRAY);
+        assertThat(token.getSize()).isEqualTo(4);
+        assertThat(finder.getValueOffset() + finder.getValueLength())
+                .isEqualTo(document.capacity());
+    }
+
+    @Test
+    public void shouldFindValueAtOffset() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[document.capacity() + 10]);
+        buffer.putBytes(10, document, 0, document.capacity());
+
+        // when
+        final boolean found =
+                finder.find(MsgPackPath.compile("a.b[3].c"), buffer, 10, document.capacity());
+
+        // then
+        assertThat(found).isTrue();
+        assertThat(buffer.getByte(finder.getValueOffset())).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void shouldFindRootValue() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+
+        // when
+        final boolean found = find("", document);
+
+        // then
+        assertThat(found).isTrue();
+        assertThat(finder.getValueLength()).isEqualTo(document.capacity());
+    }
+
+    @Test
+    public void shouldReusePathAcrossDocuments() {
+        // given
+        final MsgPackPath path = MsgPackPath.compile("a.b[3].c");
+
+        for (int i = 0; i < 3; i++) {
+            // when
+            final DirectBuffer document = encodeDocument(i);
+            finder.find(path, document, 0, document.capacity());
+
+            // then
+            assertThat(finder.readToken().getIntegerValue()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void shouldNotFindMissingValues() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+
+        // then
+        assertThat(find("a.x", document)).isFalse();
+        assertThat(find("a.b[4]", document)).isFalse();
+        assertThat(find("a[0]", document)).isFalse();
+        assertThat(find("a.b.c", document)).isFalse();
+        assertThat(finder.getValueOffset()).isEqualTo(-1);
+        assertThat(finder.readToken()).isSameAs(MsgPackToken.NIL);
+    }
+
+    @Test
+    public void shouldFindQuotedKey() {
+        // given
+        final DirectBuffer document =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(2);
+                            w.writeInteger(1);
+                            w.writeArrayHeader(0);
+                            w.writeString(wrapString("x.y[0]"));
+                            w.writeString(wrapString("foo"));
+                        });
+
+        // when
+        final boolean found = find("[\"x.y[0]\"]", document);
+
+        // then
+        assertThat(found).isTrue();
+        assertThat(bufferAsString(finder.readToken().getValueBuffer())).isEqualTo("foo");
+    }
+
+    @Test
+    public void shouldRejectMalformedPaths() {
+        assertThatThrownBy(() -> MsgPackPath.compile("a..b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("empty key");
+        assertThatThrownBy(() -> MsgPackPath.compile("a."))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MsgPackPath.compile("a[1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MsgPackPath.compile("a[]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MsgPackPath.compile("a[x]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MsgPackPath.compile("a[1]b"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MsgPackPath.compile("a['b]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MsgPackPath.compile("[\"a]\""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unclosed quote");
+    }
+
+    @Test
+    public void shouldPatchValueAtPath() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[document.capacity()]);
+        buffer.putBytes(0, document, 0, document.capacity());
+        final MsgPackPatcher patcher = new MsgPackPatcher().wrap(buffer, 0, buffer.capacity());
+
+        // when
+        patcher.seek(MsgPackPath.compile("a.b[3].c"));
+        patcher.setInteger(9);
+
+        // then
+        finder.find(MsgPackPath.compile("a.b[3].c"), buffer, 0, buffer.capacity());
+        assertThat(finder.readToken().getIntegerValue()).isEqualTo(9);
+    }
+
+    private boolean find(final String path, final DirectBuffer document) {
+        return finder.find(MsgPackPath.compile(path), document, 0, document.capacity());
+    }
+
+    /** {"z": {"c": 0}, "a": {"b": [1, "two", {"c": -1}, {"d": 0, "c": value}]}} */
+    private static DirectBuffer encodeDocument(final long value) {
+        return encodeMsgPack(
+                (w) -> {
+                    w.writeMapHeader(2);
+                    w.writeString(wrapString("z"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("c"));
+                    w.writeInteger(0);
+                    w.writeString(wrapString("a"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("b"));
+                    w.writeArrayHeader(4);
+                    w.writeInteger(1);
+                    w.writeString(wrapString("two"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("c"));
+                    w.writeInteger(-1);
+                    w.writeMapHeader(2);
+                    w.writeString(wrapString("d"));
+                    w.writeInteger(0);
+                    w.writeString(wrapString("c"));
+                    w.writeInteger(value);
+                });
+    }
+}
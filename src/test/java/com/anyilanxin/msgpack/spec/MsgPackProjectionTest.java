@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MsgPackProjectionTest {
+
+    private final MsgPackReader reader = new MsgPackReader();
+
+    @Test
+    public void shouldExtractAllPathsInOnePass() {
+        // given
+        final MsgPackProjection projection =
+                MsgPackProjection.compile("id", "meta.type", "items[1]", "items[3].name", "missing");
+        final MsgPackProjection.Result result = projection.newResult();
+        final DirectBuffer document = encodeDocument();
+
+        // when
+        final int found = project(projection, document, result);
+
+        // then
+        assertThat(found).isEqualTo(4);
+        assertThat(reader.getOffset()).isEqualTo(document.capacity());
+        assertThat(readInteger(document, result, 0)).isEqualTo(42);
+        assertThat(readString(document, result, 1)).isEqualTo("order");
+        assertThat(readString(document, result, 2)).isEqualTo("b");
+        assertThat(readString(document, result, 3)).isEqualTo("d");
+        assertThat(result.isFound(4)).isFalse();
+        assertThat(result.getOffset(4)).isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldExtractContainerAndNestedValue() {
+        // given
+        final MsgPackProjection projection = MsgPackProjection.compile("meta", "meta.type");
+        final MsgPackProjection.Result result = projection.newResult();
+        final DirectBuffer document = encodeDocument();
+
+        // when
+        project(projection, document, result);
+
+        // then
+        reader.wrap(document, result.getOffset(0), result.getLength(0));
+        assertThat(reader.readMapHeader()).isEqualTo(2);
+        reader.skipValues(4);
+        assertThat(reader.hasNext()).isFalse();
+        assertThat(readString(document, result, 1)).isEqualTo("order");
+    }
+
+    @Test
+    public void shouldDistinguishKeysSharingPrefix() {
+        // given
+        final MsgPackProjection projection = MsgPackProjection.compile("item", "items[0]", "i");
+        final MsgPackProjection.Result result = projection.newResult();
+        final DirectBuffer document = encodeDocument();
+
+        // when
+        final int found = project(projection, document, result);
+
+        // then
+        assertThat(found).isEqualTo(1);
+        assertThat(readString(document, result, 1)).isEqualTo("a");
+    }
+
+    @Test
+    public void shouldUseFirstOccurrenceOfDuplicateKey() {
+        // given
+        final MsgPackProjection projection = MsgPackProjection.compile("a", "b");
+        final MsgPackProjection.Result result = projection.newResult();
+        final DirectBuffer document =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(3);
+                            w.writeString(wrapString("a"));
+                            w.writeInteger(1);
+                            w.writeString(wrapString("a"));
+                            w.writeInteger(2);
+                            w.writeString(wrapString("b"));
+                            w.writeInteger(3);
+                        });
+
+        // when
+        final int found = project(projection, document, result);
+
+        // then
+        assertThat(found).isEqualTo(2);
+        assertThat(readInteger(document, result, 0)).isEqualTo(1);
+        assertThat(readInteger(document, result, 1)).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldReuseResult() {
+        // given
+        final MsgPackProjection projection = MsgPackProjection.compile("id", "meta.type");
+        final MsgPackProjection.Result result = projection.newResult();
+        final DirectBuffer document = encodeDocument();
+        project(projection, document, result);
+
+        // when
+        final DirectBuffer other =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(1);
+                            w.writeString(wrapString("id"));
+                            w.writeInteger(7);
+                        });
+        final int found = project(projection, other, result);
+
+        // then
+        assertThat(found).isEqualTo(1);
+        assertThat(readInteger(other, result, 0)).isEqualTo(7);
+        assertThat(result.isFound(1)).isFalse();
+    }
+
+    @Test
+    public void shouldSkipValuesOfUnexpectedType() {
+        // given
+        final MsgPackProjection projection = MsgPackProjection.compile("id.x", "items.x", "meta[0]");
+        final MsgPackProjection.Result result = projection.newResult();
+        final DirectBuffer document = encodeDocument();
+
+        // when
+        final int found = project(projection, document, result);
+
+        // then
+        assertThat(found).isZero();
+        assertThat(reader.getOffset()).isEqualTo(document.capacity());
+    }
+
+    @Test
+    public void shouldRejectResultOfOtherProjection() {
+        // given
+        final MsgPackProjection projection = MsgPackProjection.compile("id");
+        final MsgPackProjection.Result result = MsgPackProjection.compile("a", "b").newResult();
+
+        // then
+        assertThatThrownBy(() -> projection.project(reader, result))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int project(
+            final MsgPackProjection projection,
+            final DirectBuffer document,
+            final MsgPackProjection.Result result) {
+        reader.wrap(document, 0, document.capacity());
+        return projection.project(reader, result);
+    }
+
+    private long readInteger(
+            final DirectBuffer document, final MsgPackProjection.Result result, final int path) {
+        reader.wrap(document, result.getOffset(path), result.getLength(path));
+        return reader.readInteger();
+    }
+
+    private String readString(
+            final DirectBuffer document, final MsgPackProjection.Result result, final int path) {
+        reader.wrap(document, result.getOffset(path), result.getLength(path));
+        return bufferAsString(reader.readToken().getValueBuffer());
+    }
+
+    /** {"id": 42, "meta": {"type": "order", "tags": [1, 2]}, "items": ["a", "b", "c", {"name": "d"}]} */
+    private static DirectBuffer encodeDocument() {
+        return encodeMsgPack(
+                (w) -> {
+                    w.writeMapHeader(3);
+                    w.writeString(wrapString("id"));
+                    w.writeInteger(42);
+                    w.writeString(wrapString("meta"));
+                    w.writeMapHeader(2);
+                    w.writeString(wrapString("type"));
+                    w.writeString(wrapString("order"));
+                    w.writeString(wrapString("tags"));
+                    w.writeArrayHeader(2);
+                    w.writeInteger(1);
+                    w.writeInteger(2);
+                    w.writeString(wrapString("items"));
+                    w.writeArrayHeader(4);
+                    w.writeString(wrapString("a"));
+                    w.writeString(wrapString("b"));
+                    w.writeString(wrapString("c"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("name"));
+                    w.writeString(wrapString("d"));
+                });
+    }
+}
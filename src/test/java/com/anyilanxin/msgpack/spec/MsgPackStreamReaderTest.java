@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.value.StringValue;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static com.anyilanxin.msgpack.spec.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsArray;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MsgPackStreamReaderTest {
+
+    private static final int WINDOW_SIZE = 16;
+
+    private final MsgPackStreamReader reader = new MsgPackStreamReader(WINDOW_SIZE);
+
+    @Test
+    public void shouldReadValuesAcrossRefills() {
+        // given
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (p) -> {
+                            p.packMapHeader(2);
+                            p.packString("foo");
+                            p.packLong(Long.MAX_VALUE);
+                            p.packString("bar");
+                            p.packArrayHeader(3);
+                            p.packInt(-1);
+                            p.packDouble(1.5);
+                            p.packBoolean(true);
+                        });
+        reader.wrap(trickle(buffer));
+
+        // when - then
+        assertThat(reader.readMapHeader()).isEqualTo(2);
+        assertThat(readString()).isEqualTo("foo");
+        assertThat(reader.readInteger()).isEqualTo(Long.MAX_VALUE);
+        assertThat(readString()).isEqualTo("bar");
+        assertThat(reader.readArrayHeader()).isEqualTo(3);
+        assertThat(reader.readInteger()).isEqualTo(-1);
+        assertThat(reader.readDouble()).isEqualTo(1.5);
+        assertThat(reader.readBoolean()).isTrue();
+        assertThat(reader.hasNext()).isFalse();
+        assertThat(reader.getPosition()).isEqualTo(buffer.capacity());
+    }
+
+    @Test
+    public void shouldCopyStringStraddlingRefill() {
+        // given
+        final String text = "a string that is longer than the window";
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (p) -> {
+                            p.packString(text);
+                            p.packString(text);
+                        });
+        reader.wrap(new ByteArrayInputStream(bufferAsArray(buffer)));
+
+        // when
+        final StringValue first = new StringValue();
+        first.read(reader);
+        final String firstText = first.toString();
+        final StringValue second = new StringValue();
+        second.read(reader);
+
+        // then
+        assertThat(firstText).isEqualTo(text);
+        assertThat(second.toString()).isEqualTo(text);
+    }
+
+    @Test
+    public void shouldReadTokensFromChannel() {
+        // given
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (p) -> {
+                            p.packArrayHeader(2);
+                            p.packString("foo");
+                            p.packBinaryHeader(3);
+                            p.writePayload(new byte[] {1, 2, 3});
+                        });
+        reader.wrap(Channels.newChannel(new ByteArrayInputStream(bufferAsArray(buffer))));
+
+        // when - then
+        MsgPackToken token = reader.readToken();
+        assertThat(token.getType()).isEqualTo(MsgPackType.ARRAY);
+        assertThat(token.getSize()).isEqualTo(2);
+
+        token = reader.readToken();
+        assertThat(token.getType()).isEqualTo(MsgPackType.STRING);
+        assertThat(bufferAsString(token.getValueBuffer())).isEqualTo("foo");
+        assertThat(token.getTotalLength()).isEqualTo(4);
+
+        token = reader.readToken();
+        assertThat(token.getType()).isEqualTo(MsgPackType.BINARY);
+        assertThat(bufferAsArray(token.getValueBuffer())).containsExactly(1, 2, 3);
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldRejectNonBlockingChannel() throws IOException {
+        // given
+        final Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+
+        try {
+            // then
+            assertThatThrownBy(() -> reader.wrap(pipe.source()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("blocking");
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    @Test
+    public void shouldFailIfChannelReadsNoBytes() {
+        // given
+        final ReadableByteChannel channel =
+                new ReadableByteChannel() {
+                    @Override
+                    public int read(final ByteBuffer dst) {
+                        return 0;
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void close() {}
+                };
+        reader.wrap(channel);
+
+        // then
+        assertThatThrownBy(reader::readInteger)
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("no bytes were read");
+    }
+
+    @Test
+    public void shouldSkipValuesLargerThanWindow() {
+        // given
+        final DirectBuffer buffer =
+                encodeMsgPack(
+                        (p) -> {
+                            p.packMapHeader(2);
+                            p.packString("nested");
+                            p.packArrayHeader(20);
+                            for (int i = 0; i < 20; i++) {
+                                p.packLong(i * 100_000L);
+                            }
+                            p.packString("blob");
+                            p.packBinaryHeader(100);
+                            p.writePayload(new byte[100]);
+                            p.packInt(42);
+                        });
+        reader.wrap(trickle(buffer));
+
+        // when
+        reader.skipValue();
+
+        // then
+        assertThat(reader.readInteger()).isEqualTo(42);
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldThrowOnUnexpectedEndOfStream() {
+        // given
+        final DirectBuffer buffer = encodeMsgPack((p) -> p.packLong(Long.MAX_VALUE));
+        final byte[] truncated = new byte[buffer.capacity() - 1];
+        buffer.getBytes(0, truncated);
+        reader.wrap(new ByteArrayInputStream(truncated));
+
+        // when - then
+        assertThatThrownBy(reader::readInteger)
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("Unexpected end of stream");
+    }
+
+    @Test
+    public void shouldWrapExceptionOfStream() {
+        // given
+        reader.wrap(
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("broken");
+                    }
+                });
+
+        // when - then
+        assertThatThrownBy(reader::readMapHeader)
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasRootCauseMessage("broken");
+    }
+
+    @Test
+    public void shouldRejectTooSmallWindow() {
+        assertThatThrownBy(() -> new MsgPackStreamReader(4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String readString() {
+        final int length = reader.readStringLength();
+        return new String(bufferAsArray(reader.readBytes(length)), StandardCharsets.UTF_8);
+    }
+
+    /** hands out at most three bytes per read, to force values across refills */
+    private static InputStream trickle(final DirectBuffer buffer) {
+        return new FilterInputStream(new ByteArrayInputStream(bufferAsArray(buffer))) {
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import static com.anyilanxin.msgpack.MsgPackUtil.encodeMsgPack;
+import static com.anyilanxin.msgpack.util.BufferUtil.bufferAsString;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapBytes;
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MsgPackTapeTest {
+
+    private final MsgPackTape tape = new MsgPackTape();
+
+    @Test
+    public void shouldIndexValuesInDocumentOrder() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+
+        // when
+        tape.wrap(document, 0, document.capacity());
+
+        // then
+        assertThat(tape.getEntryCount()).isEqualTo(19);
+        assertThat(tape.getType(0)).isEqualTo(MsgPackType.MAP);
+        assertThat(tape.getChildCount(0)).isEqualTo(2);
+        assertThat(tape.getOffset(0)).isEqualTo(0);
+        assertThat(tape.getLength(0)).isEqualTo(document.capacity());
+        assertThat(tape.getNextSibling(0)).isEqualTo(19);
+
+        // "z" and {"c": 0}
+        assertThat(tape.getType(1)).isEqualTo(MsgPackType.STRING);
+        assertThat(tape.getNextSibling(1)).isEqualTo(2);
+        assertThat(tape.getType(2)).isEqualTo(MsgPackType.MAP);
+        assertThat(tape.getLength(2)).isEqualTo(4);
+        assertThat(tape.getNextSibling(2)).isEqualTo(5);
+        assertThat(tape.getType(5)).isEqualTo(MsgPackType.STRING);
+        assertThat(bufferAsString(tape.readToken(5).getValueBuffer())).isEqualTo("a");
+    }
+
+    @Test
+    public void shouldSkipSiblings() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+        tape.wrap(document, 0, document.capacity());
+        final int array = tape.find(MsgPackPath.compile("a.b"));
+
+        // when
+        final int first = tape.getArrayItem(array, 0);
+        final int last = tape.getArrayItem(array, 3);
+
+        // then
+        assertThat(tape.getType(array)).isEqualTo(MsgPackType.ARRAY);
+        assertThat(tape.getChildCount(array)).isEqualTo(4);
+        assertThat(tape.getNextSibling(tape.getNextSibling(tape.getNextSibling(first))))
+                .isEqualTo(last);
+        assertThat(tape.getChildCount(last)).isEqualTo(2);
+        assertThat(tape.getArrayItem(array, 4)).isEqualTo(MsgPackTape.NONE);
+        assertThat(tape.getArrayItem(last, 0)).isEqualTo(MsgPackTape.NONE);
+    }
+
+    @Test
+    public void shouldFindValueByPath() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+
+        // when
+        tape.wrap(document, 0, document.capacity());
+
+        // then
+        final int entry = tape.find(MsgPackPath.compile("a.b[3].c"));
+        assertThat(tape.readToken(entry).getIntegerValue()).isEqualTo(7);
+        assertThat(tape.find(MsgPackPath.compile(""))).isEqualTo(0);
+        assertThat(tape.find(MsgPackPath.compile("a.x"))).isEqualTo(MsgPackTape.NONE);
+        assertThat(tape.find(MsgPackPath.compile("a.b[4]"))).isEqualTo(MsgPackTape.NONE);
+        assertThat(tape.find(MsgPackPath.compile("a[0]"))).isEqualTo(MsgPackTape.NONE);
+        assertThat(tape.find(MsgPackPath.compile("a.b.c"))).isEqualTo(MsgPackTape.NONE);
+    }
+
+    @Test
+    public void shouldLookUpKeysOfLargeMap() {
+        // given
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            keys.add("key" + i);
+        }
+        keys.add("");
+        keys.add("k");
+        keys.add("été");
+        keys.add("a long key that spans more than a single word");
+        Collections.shuffle(keys, new Random(42));
+        final DirectBuffer document = encodeMap(keys);
+
+        // when
+        tape.wrap(document, 0, document.capacity());
+
+        // then
+        for (int i = 0; i < keys.size(); i++) {
+            final int value = tape.getMapValue(0, wrapString(keys.get(i)));
+            assertThat(tape.readToken(value).getIntegerValue()).isEqualTo(i);
+        }
+        assertThat(tape.getMapValue(0, wrapString("key200"))).isEqualTo(MsgPackTape.NONE);
+        assertThat(tape.getMapValue(0, wrapString("ke"))).isEqualTo(MsgPackTape.NONE);
+        assertThat(tape.getMapValue(0, wrapString("ÿ"))).isEqualTo(MsgPackTape.NONE);
+    }
+
+    @Test
+    public void shouldFindFirstOfDuplicateKeys() {
+        // given
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add(i % 2 == 0 ? "even" : "odd" + i);
+        }
+
+        // when
+        final DirectBuffer document = encodeMap(keys);
+        tape.wrap(document, 0, document.capacity());
+
+        // then
+        final int value = tape.getMapValue(0, wrapString("even"));
+        assertThat(tape.readToken(value).getIntegerValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldScanMapWithOtherKeys() {
+        // given
+        final DirectBuffer document =
+                encodeMsgPack(
+                        (w) -> {
+                            w.writeMapHeader(10);
+                            w.writeInteger(-1);
+                            w.writeString(wrapString("integer key"));
+                            for (int i = 0; i < 9; i++) {
+                                w.writeString(wrapString("key" + i));
+                                w.writeInteger(i);
+                            }
+                        });
+
+        // when
+        tape.wrap(document, 0, document.capacity());
+
+        // then
+        final int value = tape.getMapValue(0, wrapString("key8"));
+        assertThat(tape.readToken(value).getIntegerValue()).isEqualTo(8);
+        assertThat(tape.getMapValue(0, wrapString("integer key"))).isEqualTo(MsgPackTape.NONE);
+    }
+
+    @Test
+    public void shouldIndexValueAtOffset() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[document.capacity() + 20]);
+        buffer.putBytes(10, document, 0, document.capacity());
+
+        // when
+        tape.wrap(buffer, 10, document.capacity() + 10);
+
+        // then
+        assertThat(tape.getEntryCount()).isEqualTo(19);
+        final int entry = tape.find(MsgPackPath.compile("a.b[3].c"));
+        assertThat(buffer.getByte(10 + tape.getOffset(entry))).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void shouldReuseTape() {
+        // given
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add("key" + i);
+        }
+        final DirectBuffer largeDocument = encodeMap(keys);
+        final DirectBuffer document = encodeDocument(3);
+        tape.wrap(largeDocument, 0, largeDocument.capacity());
+
+        // when
+        tape.wrap(document, 0, document.capacity());
+
+        // then
+        assertThat(tape.getEntryCount()).isEqualTo(19);
+        final int entry = tape.find(MsgPackPath.compile("a.b[3].c"));
+        assertThat(tape.readToken(entry).getIntegerValue()).isEqualTo(3);
+        assertThatThrownBy(() -> tape.getType(19)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void shouldRejectTruncatedDocument() {
+        // given
+        final DirectBuffer document = encodeDocument(7);
+
+        // then
+        assertThatThrownBy(() -> tape.wrap(document, 0, document.capacity() - 1))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("reached the end of the document");
+    }
+
+    @Test
+    public void shouldRejectTruncatedValue() {
+        // given
+        final DirectBuffer string = wrapBytes(0xaa, 0x68, 0x69);
+        final DirectBuffer array = wrapBytes(0x92, 0x01, 0xa5, 0x78);
+
+        // then
+        assertThatThrownBy(() -> tape.wrap(string, 0, string.capacity()))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("reached the end of the document");
+        assertThatThrownBy(() -> tape.wrap(array, 0, array.capacity()))
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessageContaining("reached the end of the document");
+    }
+
+    /** a map of the given keys to their positions */
+    private static DirectBuffer encodeMap(final List<String> keys) {
+        final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[keys.size() * 64]);
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        writer.writeMapHeader(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            writer.writeString(wrapString(keys.get(i)));
+            writer.writeInteger(i);
+        }
+        return new UnsafeBuffer(buffer, 0, writer.getOffset());
+    }
+
+    /** {"z": {"c": 0}, "a": {"b": [1, "two", {"c": -1}, {"d": 0, "c": value}]}} */
+    private static DirectBuffer encodeDocument(final long value) {
+        return encodeMsgPack(
+                (w) -> {
+                    w.writeMapHeader(2);
+                    w.writeString(wrapString("z"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("c"));
+                    w.writeInteger(0);
+                    w.writeString(wrapString("a"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("b"));
+                    w.writeArrayHeader(4);
+                    w.writeInteger(1);
+                    w.writeString(wrapString("two"));
+                    w.writeMapHeader(1);
+                    w.writeString(wrapString("c"));
+                    w.writeInteger(-1);
+                    w.writeMapHeader(2);
+                    w.writeString(wrapString("d"));
+                    w.writeInteger(0);
+                    w.writeString(wrapString("c"));
+                    w.writeInteger(value);
+                });
+    }
+}
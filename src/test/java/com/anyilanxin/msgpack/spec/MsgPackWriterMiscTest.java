@@ -16,9 +16,16 @@
  */
 package com.anyilanxin.msgpack.spec;
 
+import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Test;
 
+import static com.anyilanxin.msgpack.util.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class MsgPackWriterMiscTest {
 
@@ -77,4 +84,114 @@ public class MsgPackWriterMiscTest {
         assertThat(MsgPackWriter.getEncodedStringLength(0xffff)).isEqualTo(3 + 0xffff);
         assertThat(MsgPackWriter.getEncodedStringLength(0x7fff_fffa)).isEqualTo(5 + 0x7fff_fffa);
     }
+
+    @Test
+    public void shouldGrowExpandableArrayBuffer() {
+        assertGrowsBuffer(new ExpandableArrayBuffer(4));
+    }
+
+    @Test
+    public void shouldGrowExpandableDirectByteBuffer() {
+        assertGrowsBuffer(new ExpandableDirectByteBuffer(4));
+    }
+
+    @Test
+    public void shouldFailOnOverflowOfFixedBuffer() {
+        // given
+        final MsgPackWriter writer = new MsgPackWriter();
+        writer.wrap(new UnsafeBuffer(new byte[4]), 0);
+        writer.writeInteger(1);
+
+        // when - then
+        assertThatThrownBy(() -> writer.writeInteger(Long.MAX_VALUE))
+                .isInstanceOf(MsgpackWriterException.class)
+                .hasMessage("Expected to write 9 bytes at offset 1, but buffer capacity is 4");
+    }
+
+    @Test
+    public void shouldFillFixedBufferExactly() {
+        // given
+        final MsgPackWriter writer = new MsgPackWriter();
+        writer.wrap(new UnsafeBuffer(new byte[10]), 1);
+
+        // when
+        writer.writeInteger(Long.MAX_VALUE);
+
+        // then
+        assertThat(writer.getWrittenLength()).isEqualTo(9);
+    }
+
+    @Test
+    public void shouldCompactReservedHeaders() {
+        // given
+        final MutableDirectBuffer buffer = new ExpandableArrayBuffer();
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        final int mapOffset = writer.getOffset();
+        writer.reserveMapHeader();
+        writer.writeString(wrapString("a"));
+        final int arrayOffset = writer.getOffset();
+        writer.reserveArrayHeader();
+        for (int i = 0; i < 20; i++) {
+            writer.writeInteger(i);
+        }
+
+        // when
+        writer.writeReservedArrayHeader(arrayOffset, 20);
+        writer.compactReservedHeader(arrayOffset);
+        writer.writeReservedMapHeader(mapOffset, 1);
+        writer.compactReservedHeader(mapOffset);
+
+        // then
+        final MutableDirectBuffer expected = new ExpandableArrayBuffer();
+        final MsgPackWriter expectedWriter = new MsgPackWriter().wrap(expected, 0);
+        expectedWriter.writeMapHeader(1).writeString(wrapString("a")).writeArrayHeader(20);
+        for (int i = 0; i < 20; i++) {
+            expectedWriter.writeInteger(i);
+        }
+        final int length = expectedWriter.getWrittenLength();
+        assertThat(writer.getWrittenLength()).isEqualTo(length);
+        final byte[] actualBytes = new byte[length];
+        final byte[] expectedBytes = new byte[length];
+        buffer.getBytes(0, actualBytes);
+        expected.getBytes(0, expectedBytes);
+        assertThat(actualBytes).isEqualTo(expectedBytes);
+    }
+
+    @Test
+    public void shouldRejectCompactingNonReservedHeader() {
+        // given
+        final MsgPackWriter writer = new MsgPackWriter().wrap(new ExpandableArrayBuffer(), 0);
+        writer.writeMapHeader(1);
+
+        // when - then
+        assertThatThrownBy(() -> writer.compactReservedHeader(0))
+                .isInstanceOf(MsgpackWriterException.class)
+                .hasMessageContaining("Expected a reserved map or array header at offset 0");
+    }
+
+    private static void assertGrowsBuffer(final MutableDirectBuffer buffer) {
+        // given
+        final MsgPackWriter writer = new MsgPackWriter();
+        writer.wrap(buffer, 2);
+
+        // when
+        writer.writeArrayHeader(3);
+        writer.writeString(wrapString("a string longer than the initial capacity"));
+        writer.writeInteger(Long.MIN_VALUE);
+        writer.writeFloat(0.1);
+
+        // then
+        final int expectedLength = 1 + MsgPackWriter.getEncodedStringLength(41) + 9 + 9;
+        assertThat(writer.getWrittenLength()).isEqualTo(expectedLength);
+        assertThat(writer.getOffset()).isEqualTo(2 + expectedLength);
+        assertThat(buffer.capacity()).isGreaterThanOrEqualTo(writer.getOffset());
+
+        final MsgPackReader reader = new MsgPackReader();
+        reader.wrap(buffer, 2, expectedLength);
+        assertThat(reader.readArrayHeader()).isEqualTo(3);
+        assertThat(reader.readStringLength()).isEqualTo(41);
+        reader.skipBytes(41);
+        assertThat(reader.readInteger()).isEqualTo(Long.MIN_VALUE);
+        assertThat(reader.readDouble()).isEqualTo(0.1);
+    }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.spec;
+
+import com.anyilanxin.msgpack.execption.MsgpackWriterException;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MsgPackWriterStreamTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    private final MsgPackWriter writer = new MsgPackWriter();
+
+    @Test
+    public void shouldWriteSameBytesToStreamAsToBuffer() {
+        // given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        writer.wrap(outputStream, CHUNK_SIZE);
+        writeDocument(writer);
+        writer.flush();
+
+        // then
+        assertThat(outputStream.toByteArray()).isEqualTo(encodeToBuffer());
+        assertThat(writer.getWrittenLength()).isEqualTo(outputStream.size());
+    }
+
+    @Test
+    public void shouldWriteSameBytesToChannelAsToBuffer() {
+        // given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        writer.wrap(Channels.newChannel(outputStream), CHUNK_SIZE);
+        writeDocument(writer);
+        writer.flush();
+
+        // then
+        assertThat(outputStream.toByteArray()).isEqualTo(encodeToBuffer());
+    }
+
+    @Test
+    public void shouldPassLargeBinaryToStreamWithoutCopying() {
+        // given
+        final byte[] payload = new byte[CHUNK_SIZE * 4];
+        final List<byte[]> writtenArrays = new ArrayList<>();
+        final OutputStream outputStream =
+                new ByteArrayOutputStream() {
+                    @Override
+                    public void write(final byte[] b, final int off, final int len) {
+                        writtenArrays.add(b);
+                        super.write(b, off, len);
+                    }
+                };
+
+        // when
+        writer.wrap(outputStream, CHUNK_SIZE);
+        writer.writeBinary(new UnsafeBuffer(payload));
+        writer.flush();
+
+        // then
+        assertThat(writtenArrays).hasSize(2);
+        assertThat(writtenArrays.get(1)).isSameAs(payload);
+        assertThat(writer.getWrittenLength()).isEqualTo(2 + payload.length);
+    }
+
+    @Test
+    public void shouldFailIfWrittenLengthExceedsInteger() {
+        // given
+        final UnsafeBuffer payload = new UnsafeBuffer(new byte[1 << 26]);
+        writer.wrap(OutputStream.nullOutputStream(), CHUNK_SIZE);
+
+        // when
+        for (int i = 0; i < 32; i++) {
+            writer.writeRaw(payload);
+        }
+
+        // then
+        assertThatThrownBy(writer::getWrittenLength).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(writer::getOffset).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void shouldGatherChunkAndLargePayload() {
+        // given
+        final RecordingChannel channel = new RecordingChannel();
+        final UnsafeBuffer payload = new UnsafeBuffer(ByteBuffer.allocateDirect(CHUNK_SIZE * 4));
+        payload.setMemory(0, payload.capacity(), (byte) 7);
+
+        // when
+        writer.wrap(channel, CHUNK_SIZE);
+        writer.writeInteger(1);
+        writer.writeBinary(payload);
+        writer.flush();
+
+        // then
+        assertThat(channel.gatheringWrites).isEqualTo(1);
+        assertThat(channel.bytes.size()).isEqualTo(1 + 2 + payload.capacity());
+        assertThat(channel.bytes.toByteArray()[3]).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void shouldWriteReservedMapHeaderBeforeFlush() {
+        // given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.wrap(outputStream, CHUNK_SIZE);
+        writer.writeInteger(Long.MAX_VALUE);
+        writer.writeInteger(Long.MAX_VALUE);
+
+        // when
+        final int headerOffset = writer.getOffset();
+        writer.reserveMapHeader();
+        writer.writeInteger(1);
+        writer.writeInteger(2);
+        writer.writeReservedMapHeader(headerOffset, 1);
+        writer.flush();
+
+        // then
+        final MsgPackReader reader = new MsgPackReader();
+        reader.wrap(new UnsafeBuffer(outputStream.toByteArray()), 0, outputStream.size());
+        reader.skipValues(2);
+        assertThat(reader.readMapHeader()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotWriteReservedMapHeaderAfterFlush() {
+        // given
+        writer.wrap(new ByteArrayOutputStream(), CHUNK_SIZE);
+        final int headerOffset = writer.getOffset();
+        writer.reserveMapHeader();
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            writer.writeInteger(i);
+        }
+
+        // when - then
+        assertThatThrownBy(() -> writer.writeReservedMapHeader(headerOffset, CHUNK_SIZE / 2))
+                .isInstanceOf(MsgpackWriterException.class)
+                .hasMessageContaining("already flushed");
+    }
+
+    @Test
+    public void shouldWrapExceptionOfStream() {
+        // given
+        writer.wrap(
+                new OutputStream() {
+                    @Override
+                    public void write(final int b) throws IOException {
+                        throw new IOException("broken");
+                    }
+                },
+                CHUNK_SIZE);
+        writer.writeInteger(1);
+
+        // when - then
+        assertThatThrownBy(writer::flush)
+                .isInstanceOf(MsgpackWriterException.class)
+                .hasRootCauseMessage("broken");
+    }
+
+    private static byte[] encodeToBuffer() {
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final MsgPackWriter bufferWriter = new MsgPackWriter();
+        bufferWriter.wrap(buffer, 0);
+        writeDocument(bufferWriter);
+
+        final byte[] bytes = new byte[bufferWriter.getWrittenLength()];
+        buffer.getBytes(0, bytes);
+        return bytes;
+    }
+
+    private static void writeDocument(final MsgPackWriter writer) {
+        final UnsafeBuffer text = new UnsafeBuffer("a string longer than one chunk".getBytes());
+        final Consumer<Integer> writeEntry =
+                (i) -> {
+                    writer.writeString(text, 0, i % text.capacity());
+                    writer.writeInteger((long) i << (i % 48));
+                };
+
+        writer.writeMapHeader(100);
+        for (int i = 0; i < 100; i++) {
+            writeEntry.accept(i);
+        }
+        writer.writeArrayHeader(2);
+        writer.writeFloat(0.1);
+        writer.writeBoolean(true);
+    }
+
+    private static final class RecordingChannel implements GatheringByteChannel {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int gatheringWrites;
+
+        @Override
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+            gatheringWrites++;
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                written += write(srcs[i]);
+            }
+            return written;
+        }
+
+        @Override
+        public long write(final ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) {
+            final int remaining = src.remaining();
+            while (src.hasRemaining()) {
+                bytes.write(src.get());
+            }
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
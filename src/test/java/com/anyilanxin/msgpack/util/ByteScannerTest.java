@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.util;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteScannerTest {
+
+    private static final int LENGTH = 200;
+
+    @Test
+    public void shouldFindNonAsciiAtEveryPosition() {
+        for (int position = 0; position < LENGTH; position++) {
+            // given
+            final byte[] bytes = asciiBytes();
+            bytes[position] = (byte) 0xc3;
+
+            for (final DirectBuffer buffer : buffersOf(bytes)) {
+                // when
+                final int index = ByteScanner.indexOfNonAscii(buffer, 1, LENGTH + 1);
+
+                // then
+                assertThat(index).isEqualTo(position + 1);
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindEscapeAtEveryPosition() {
+        final byte[] escapes = {'"', '\\', '\n', 0, 0x1f};
+        for (final byte escape : escapes) {
+            for (int position = 0; position < LENGTH; position++) {
+                // given
+                final byte[] bytes = asciiBytes();
+                bytes[position] = escape;
+
+                for (final DirectBuffer buffer : buffersOf(bytes)) {
+                    // when
+                    final int index = ByteScanner.indexOfJsonEscape(buffer, 1, LENGTH + 1);
+
+                    // then
+                    assertThat(index).isEqualTo(position + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindNonFixIntAtEveryPosition() {
+        final byte[] nonFixInts = {(byte) 0x80, (byte) 0xc0, (byte) 0xcb, (byte) 0xdf};
+        for (final byte nonFixInt : nonFixInts) {
+            for (int position = 0; position < LENGTH; position++) {
+                // given
+                final byte[] bytes = new byte[LENGTH];
+                for (int i = 0; i < LENGTH; i++) {
+                    bytes[i] = (byte) (i % 2 == 0 ? i % 0x80 : 0xe0 + i % 0x20);
+                }
+                bytes[position] = nonFixInt;
+
+                for (final DirectBuffer buffer : buffersOf(bytes)) {
+                    // when
+                    final int index = ByteScanner.indexOfNonFixInt(buffer, 1, LENGTH + 1);
+
+                    // then
+                    assertThat(index).isEqualTo(position + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindFirstOfSeveralEscapes() {
+        // given
+        final byte[] bytes = asciiBytes();
+        bytes[70] = '"';
+        bytes[71] = 0x01;
+        bytes[100] = '\\';
+
+        for (final DirectBuffer buffer : buffersOf(bytes)) {
+            // when
+            final int index = ByteScanner.indexOfJsonEscape(buffer, 1, LENGTH + 1);
+
+            // then
+            assertThat(index).isEqualTo(71);
+        }
+    }
+
+    @Test
+    public void shouldNotEscapeNonAsciiOrSpace() {
+        // given
+        final byte[] bytes = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            bytes[i] = (byte) (i % 2 == 0 ? 0x80 + i % 0x80 : ' ' + i % 0x40);
+        }
+
+        for (final DirectBuffer buffer : buffersOf(bytes)) {
+            // when
+            final int index = ByteScanner.indexOfJsonEscape(buffer, 1, LENGTH + 1);
+
+            // then
+            assertThat(index).isEqualTo(LENGTH + 1);
+        }
+    }
+
+    @Test
+    public void shouldReturnEndIfNothingIsFound() {
+        for (final DirectBuffer buffer : buffersOf(asciiBytes())) {
+            assertThat(ByteScanner.indexOfNonAscii(buffer, 1, LENGTH + 1)).isEqualTo(LENGTH + 1);
+            assertThat(ByteScanner.indexOfJsonEscape(buffer, 1, LENGTH + 1)).isEqualTo(LENGTH + 1);
+            assertThat(ByteScanner.indexOfNonAscii(buffer, 5, 5)).isEqualTo(5);
+        }
+    }
+
+    private static byte[] asciiBytes() {
+        final byte[] bytes = new byte[LENGTH];
+        Arrays.fill(bytes, (byte) 'a');
+        return bytes;
+    }
+
+    /** the bytes at offset 1 of a heap buffer with wrap adjustment and of a direct buffer */
+    private static DirectBuffer[] buffersOf(final byte[] bytes) {
+        final byte[] padded = new byte[bytes.length + 10];
+        System.arraycopy(bytes, 0, padded, 4, bytes.length);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.put(1, bytes);
+        return new DirectBuffer[] {
+            new UnsafeBuffer(padded, 3, bytes.length + 2), new UnsafeBuffer(direct)
+        };
+    }
+}
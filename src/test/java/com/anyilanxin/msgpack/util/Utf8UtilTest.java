@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2025 anyilanxin zxh (anyilanxin@aliyun.com)
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ *
+ * Software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.msgpack.util;
+
+import com.anyilanxin.msgpack.execption.MsgpackReaderException;
+import com.anyilanxin.msgpack.spec.MsgPackReader;
+import com.anyilanxin.msgpack.spec.MsgPackWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Utf8UtilTest {
+
+    @Test
+    public void shouldAcceptValidUtf8() {
+        assertValid("");
+        assertValid("plain ascii, longer than a single vector of bytes to scan at once");
+        assertValid("ü € 😀 \u0080 ߿ ࠀ ￿ 𐀀 􏿿");
+        assertValid("a".repeat(100) + "ü" + "b".repeat(100) + "😀");
+    }
+
+    @Test
+    public void shouldRejectMalformedUtf8() {
+        assertInvalid(0x80);
+        assertInvalid(0xbf);
+        assertInvalid(0xc0, 0x80);
+        assertInvalid(0xc1, 0xbf);
+        assertInvalid(0xc3);
+        assertInvalid(0xc3, 0x41);
+        assertInvalid(0xe0, 0x80, 0x80);
+        assertInvalid(0xed, 0xa0, 0x80);
+        assertInvalid(0xe2, 0x82);
+        assertInvalid(0xf0, 0x80, 0x80, 0x80);
+        assertInvalid(0xf4, 0x90, 0x80, 0x80);
+        assertInvalid(0xf5, 0x80, 0x80, 0x80);
+        assertInvalid(0xf0, 0x9f, 0x98);
+        assertInvalid(0xff);
+    }
+
+    @Test
+    public void shouldAgreeWithDecoderOnRandomBytes() throws Exception {
+        final Random random = new Random(17);
+        for (int i = 0; i < 10_000; i++) {
+            // given
+            final byte[] bytes = new byte[random.nextInt(40)];
+            for (int j = 0; j < bytes.length; j++) {
+                // mostly ASCII with a few lead and continuation bytes
+                bytes[j] = (byte) (random.nextInt(4) == 0 ? 0x80 + random.nextInt(0x80) : 'a');
+            }
+
+            // then
+            assertThat(Utf8Util.isValidUtf8(new UnsafeBuffer(bytes), 0, bytes.length))
+                    .as("valid %s", Arrays.toString(bytes))
+                    .isEqualTo(isDecodable(bytes));
+        }
+    }
+
+    @Test
+    public void shouldValidateStringsWhenReading() {
+        // given
+        final DirectBuffer valid = encodeString(0x61, 0xc3, 0xbc);
+        final DirectBuffer invalid = encodeString(0x61, 0xc3, 0x41);
+        final MsgPackReader reader = new MsgPackReader().setValidateUtf8(true);
+
+        // then
+        reader.wrap(valid, 0, valid.capacity());
+        assertThat(reader.readStringLength()).isEqualTo(3);
+
+        reader.wrap(invalid, 0, invalid.capacity());
+        assertThatThrownBy(reader::readStringLength)
+                .isInstanceOf(MsgpackReaderException.class)
+                .hasMessage(
+                        "Expected a valid UTF-8 string of 3 bytes at offset 1, but it is malformed");
+    }
+
+    @Test
+    public void shouldNotValidateStringsByDefault() {
+        // given
+        final DirectBuffer invalid = encodeString(0x61, 0xc3, 0x41);
+        final MsgPackReader reader = new MsgPackReader();
+
+        // when
+        reader.wrap(invalid, 0, invalid.capacity());
+
+        // then
+        assertThat(reader.readStringLength()).isEqualTo(3);
+    }
+
+    private static void assertValid(final String string) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        assertThat(Utf8Util.isValidUtf8(new UnsafeBuffer(bytes), 0, bytes.length))
+                .as("valid '%s'", string)
+                .isTrue();
+    }
+
+    private static void assertInvalid(final int... bytes) {
+        final byte[] array = new byte[bytes.length + 2];
+        array[0] = 'a';
+        for (int i = 0; i < bytes.length; i++) {
+            array[i + 1] = (byte) bytes[i];
+        }
+        array[array.length - 1] = 'z';
+
+        assertThat(Utf8Util.isValidUtf8(new UnsafeBuffer(array), 1, bytes.length))
+                .as("valid %s", Arrays.toString(bytes))
+                .isFalse();
+    }
+
+    private static boolean isDecodable(final byte[] bytes) {
+        try {
+            StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes));
+            return true;
+        } catch (final CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static DirectBuffer encodeString(final int... bytes) {
+        final byte[] array = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            array[i] = (byte) bytes[i];
+        }
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+        final int length = writer.writeString(new UnsafeBuffer(array)).getWrittenLength();
+        return new UnsafeBuffer(buffer, 0, length);
+    }
+}